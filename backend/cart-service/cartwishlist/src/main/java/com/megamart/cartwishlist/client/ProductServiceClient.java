@@ -1,11 +1,15 @@
 package com.megamart.cartwishlist.client;
 
+import com.megamart.cartwishlist.dto.ProductBatchResponseDto;
 import com.megamart.cartwishlist.dto.ProductDto;
 import com.megamart.cartwishlist.dto.ProductDataDto;
 import com.megamart.cartwishlist.dto.ProductServiceResponseDto;
+import com.megamart.cartwishlist.exception.ProductUnavailableException;
+import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -13,11 +17,29 @@ import java.util.Optional;
 @FeignClient(name = "productservice")
 public interface ProductServiceClient {
 
+	int MAX_QUERY_IDS = 50;
+
 	@CircuitBreaker(name = "product-service", fallbackMethod = "serviceFallback")
 	@GetMapping("api/products/{productId}")
 	ProductServiceResponseDto getProductById(@PathVariable Long productId);
 
+	// An empty response means the product does not exist; null means productservice could not be asked
 	default ProductServiceResponseDto serviceFallback(Long productId, Exception ex) {
+		if (ex instanceof FeignException.NotFound) {
+			return new ProductServiceResponseDto();
+		}
+		return null;
+	}
+
+	@CircuitBreaker(name = "product-service", fallbackMethod = "batchFallback")
+	@GetMapping("api/products/batch")
+	ProductBatchResponseDto getProductsByIds(@RequestParam("ids") List<Long> ids);
+
+	@CircuitBreaker(name = "product-service", fallbackMethod = "batchFallback")
+	@PostMapping("api/products/batch")
+	ProductBatchResponseDto getProductsByIdsPost(@RequestBody List<Long> ids);
+
+	default ProductBatchResponseDto batchFallback(List<Long> ids, Exception ex) {
 
 		return null;
 	}
@@ -25,22 +47,35 @@ public interface ProductServiceClient {
 	@PostMapping("api/products/{productId}/stock")
 	Map<String, Object> updateStock(@PathVariable Long productId, @RequestBody Map<String, Integer> request);
 
+	@PostMapping("api/products/{productId}/cart-adds")
+	void recordCartAdd(@PathVariable Long productId);
+
+	default ProductBatchResponseDto getProducts(List<Long> ids) {
+		return ids.size() > MAX_QUERY_IDS ? getProductsByIdsPost(ids) : getProductsByIds(ids);
+	}
+
+	/**
+	 * Returns empty when the product does not exist and throws when productservice cannot tell.
+	 */
 	default Optional<ProductDto> getProduct(Long productId) {
+		ProductServiceResponseDto response;
 		try {
-			ProductServiceResponseDto response = getProductById(productId);
-			if (response != null && response.getData() != null) {
-				ProductDataDto data = response.getData();
-				return Optional.of(ProductDto.builder()
-					.productId(data.getId())
-					.name(data.getTitle())
-					.price(data.getPrice())
-					.stock(data.getStock())
-					.build());
-			}
-			return Optional.empty();
+			response = getProductById(productId);
 		} catch (Exception e) {
-
+			throw new ProductUnavailableException(productId);
+		}
+		if (response == null) {
+			throw new ProductUnavailableException(productId);
+		}
+		ProductDataDto data = response.getData();
+		if (data == null) {
 			return Optional.empty();
 		}
+		return Optional.of(ProductDto.builder()
+			.productId(data.getId())
+			.name(data.getTitle())
+			.price(data.getPrice())
+			.stock(data.getStock())
+			.build());
 	}
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.megamart.cartwishlist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponseDto {
+    private boolean success;
+    private Map<Long, ProductDataDto> data;
+    private String message;
+}
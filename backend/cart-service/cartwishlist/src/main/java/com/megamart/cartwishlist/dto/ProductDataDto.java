@@ -14,4 +14,5 @@ public class ProductDataDto {
     private String title;
     private BigDecimal price;
     private Integer stock;
+    private String thumbnail;
 }
\ No newline at end of file
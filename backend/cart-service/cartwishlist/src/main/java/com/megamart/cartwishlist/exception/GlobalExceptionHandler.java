@@ -96,6 +96,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 		));
 	}
 
+	@ExceptionHandler(ProductUnavailableException.class)
+	public ResponseEntity<Object> handleProductUnavailable(ProductUnavailableException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+			STATUS, HttpStatus.SERVICE_UNAVAILABLE.value(),
+			ERROR, ex.getMessage()
+		));
+	}
+
 	@Override
 	protected ResponseEntity<Object> handleHttpRequestMethodNotSupported(HttpRequestMethodNotSupportedException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
 		return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(Map.of(
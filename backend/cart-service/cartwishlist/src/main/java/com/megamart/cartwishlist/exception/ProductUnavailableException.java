@@ -0,0 +1,7 @@
+package com.megamart.cartwishlist.exception;
+
+public class ProductUnavailableException extends RuntimeException {
+	public ProductUnavailableException(Long productId) {
+		super("Product service is unavailable for product " + productId + ", please try again");
+	}
+}
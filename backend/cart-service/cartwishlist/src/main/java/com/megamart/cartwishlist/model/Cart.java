@@ -13,7 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(name = "uk_cart_user_id", columnNames = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,6 +27,11 @@ public class Cart {
 	@Column(name = "user_id", nullable = false)
 	private Long userId;
 
+	// Carts created before versioning start at 0 rather than null
+	@Version
+	@Column(name = "version", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+	private Long version;
+
 	@OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	@Builder.Default
 	private List<CartItem> items = new ArrayList<>();
@@ -1,10 +1,13 @@
 package com.megamart.cartwishlist.repository;
 
 import com.megamart.cartwishlist.model.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
+	// Every caller renders the items, so they come in the same query
+	@EntityGraph(attributePaths = "items")
 	Optional<Cart> findByUserId(Long userId);
 } 
\ No newline at end of file
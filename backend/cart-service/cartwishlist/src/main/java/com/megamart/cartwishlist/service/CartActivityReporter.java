@@ -0,0 +1,51 @@
+package com.megamart.cartwishlist.service;
+
+import com.megamart.cartwishlist.client.ProductServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells productservice about cart adds so they count towards trending products. Reports go out from one
+ * background thread and are dropped once {@code MAX_PENDING} are waiting, so a slow or unavailable productservice
+ * never holds up a cart request; a lost report only makes the trending scores slightly low.
+ */
+@Slf4j
+@Component
+public class CartActivityReporter {
+
+	private static final int MAX_PENDING = 1000;
+
+	private final ProductServiceClient productServiceClient;
+	private final Executor executor;
+
+	@Autowired
+	public CartActivityReporter(ProductServiceClient productServiceClient) {
+		this(productServiceClient, new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(MAX_PENDING), runnable -> {
+				Thread thread = new Thread(runnable, "cart-activity-reporter");
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.DiscardPolicy()));
+	}
+
+	CartActivityReporter(ProductServiceClient productServiceClient, Executor executor) {
+		this.productServiceClient = productServiceClient;
+		this.executor = executor;
+	}
+
+	public void cartAdd(Long productId) {
+		executor.execute(() -> {
+			try {
+				productServiceClient.recordCartAdd(productId);
+			} catch (Exception e) {
+				log.warn("Could not report cart add of product {}: {}", productId, e.getMessage());
+			}
+		});
+	}
+}
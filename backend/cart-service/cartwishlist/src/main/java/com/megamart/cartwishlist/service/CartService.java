@@ -4,16 +4,21 @@ import com.megamart.cartwishlist.dto.*;
 import com.megamart.cartwishlist.model.Cart;
 import com.megamart.cartwishlist.model.CartItem;
 import com.megamart.cartwishlist.repository.CartRepository;
-import com.megamart.cartwishlist.client.ProductServiceClient;
+import com.megamart.cartwishlist.exception.InsufficientStockException;
 import com.megamart.cartwishlist.exception.ItemNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,8 +26,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CartService {
 
+	private static final int MAX_ATTEMPTS = 3;
+
 	private final CartRepository cartRepository;
-	private final ProductServiceClient productServiceClient;
+	private final ProductPriceCache productPriceCache;
+	private final TransactionTemplate transactionTemplate;
+	private final CartActivityReporter cartActivityReporter;
 
 	protected Cart getOrCreateCart(Long userId) {
 		return cartRepository.findByUserId(userId).orElseGet(() -> {
@@ -31,101 +40,133 @@ public class CartService {
 		});
 	}
 
-	private void recalcCartTotal(Cart cart) {
-		BigDecimal total = cart.getItems().stream()
-			.map(CartItem::getLineTotal)
-			.reduce(BigDecimal.ZERO, BigDecimal::add);
-		cart.setTotal(total);
+	/**
+	 * Runs a cart mutation in its own transaction, again from a fresh read when another request changed the cart
+	 * first or created it at the same time.
+	 */
+	private <T> T mutate(Long userId, Supplier<T> mutation) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> mutation.get());
+			} catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+				if (attempt >= MAX_ATTEMPTS) throw e;
+				log.debug("Concurrent update of cart for user {}, retrying (attempt {})", userId, attempt);
+			}
+		}
+	}
+
+	// The cart row is versioned, so every mutation also touches it even when the total is unchanged
+	private void adjustTotal(Cart cart, BigDecimal removedLine, BigDecimal addedLine) {
+		cart.setTotal(cart.getTotal().subtract(removedLine).add(addedLine));
+		cart.setUpdatedAt(LocalDateTime.now());
 	}
 
-	@Transactional
+	@Transactional(readOnly = true)
 	public CartResponseDto getCart(Long userId) {
-		Cart cart = getOrCreateCart(userId);
-		recalcCartTotal(cart);
-		cartRepository.save(cart);
-		return toResponse(cart);
+		return cartRepository.findByUserId(userId)
+			.map(this::toResponse)
+			.orElseGet(() -> emptyCart(userId));
 	}
 
-	@Transactional
 	public CartResponseDto addItem(Long userId, AddItemRequestDto request) {
-		Cart cart = getOrCreateCart(userId);
-		CartItem existing = cart.getItems().stream()
-			.filter(i -> i.getProductId().equals(request.getProductId()))
-			.findFirst().orElse(null);
-
-		// Get product details and price
-		BigDecimal unitPrice = BigDecimal.valueOf(10.0); // Default price
-		try {
-			ProductDto product = productServiceClient.getProduct(request.getProductId()).orElse(null);
-			if (product != null) {
-				unitPrice = product.getPrice();
+		CartResponseDto response = mutate(userId, () -> {
+			Cart cart = getOrCreateCart(userId);
+			CartItem existing = cart.getItems().stream()
+				.filter(i -> i.getProductId().equals(request.getProductId()))
+				.findFirst().orElse(null);
+
+			int quantity = request.getQuantity() + (existing != null ? existing.getQuantity() : 0);
+			BigDecimal lineTotal = unitPrice(request.getProductId(), quantity).multiply(BigDecimal.valueOf(quantity));
+
+			if (existing != null) {
+				adjustTotal(cart, existing.getLineTotal(), lineTotal);
+				existing.setQuantity(quantity);
+				existing.setLineTotal(lineTotal);
+			} else {
+				CartItem item = CartItem.builder()
+					.cart(cart)
+					.productId(request.getProductId())
+					.quantity(quantity)
+					.lineTotal(lineTotal)
+					.build();
+				cart.getItems().add(item);
+				adjustTotal(cart, BigDecimal.ZERO, lineTotal);
 			}
-		} catch (Exception e) {
-			log.warn("Could not get product details for productId {}: {}", request.getProductId(), e.getMessage());
-		}
 
-		if (existing != null) {
-			existing.setQuantity(existing.getQuantity() + request.getQuantity());
-			existing.setLineTotal(unitPrice.multiply(BigDecimal.valueOf(existing.getQuantity())));
-		} else {
-			CartItem item = CartItem.builder()
-				.cart(cart)
-				.productId(request.getProductId())
-				.quantity(request.getQuantity())
-				.lineTotal(unitPrice.multiply(BigDecimal.valueOf(request.getQuantity())))
-				.build();
-			cart.getItems().add(item);
-		}
-		
-		recalcCartTotal(cart);
-		cartRepository.save(cart);
-		return toResponse(cart);
+			return toResponse(cartRepository.saveAndFlush(cart));
+		});
+		// Only once the add has committed, so retried attempts are reported once
+		cartActivityReporter.cartAdd(request.getProductId());
+		return response;
 	}
 
-	@Transactional
 	public CartResponseDto updateQuantity(Long userId, Long itemId, int quantity) {
-		Cart cart = getOrCreateCart(userId);
-		CartItem item = cart.getItems().stream()
-			.filter(i -> i.getId().equals(itemId))
-			.findFirst()
-			.orElseThrow(() -> new IllegalArgumentException("Item not found in cart"));
-
-		if (quantity < 1) throw new IllegalArgumentException("Quantity must be >= 1");
-		
-		// Get current product price
-		BigDecimal unitPrice = BigDecimal.valueOf(10.0); // Default price
-		try {
-			ProductDto product = productServiceClient.getProduct(item.getProductId()).orElse(null);
-			if (product != null) {
-				unitPrice = product.getPrice();
-			}
-		} catch (Exception e) {
-			log.warn("Could not get product details for productId {}: {}", item.getProductId(), e.getMessage());
-		}
-		
-		item.setQuantity(quantity);
-		item.setLineTotal(unitPrice.multiply(BigDecimal.valueOf(quantity)));
-		
-		recalcCartTotal(cart);
-		cartRepository.save(cart);
-		return toResponse(cart);
+		return mutate(userId, () -> {
+			Cart cart = cartRepository.findByUserId(userId)
+				.orElseThrow(() -> new IllegalArgumentException("Item not found in cart"));
+			CartItem item = cart.getItems().stream()
+				.filter(i -> i.getId().equals(itemId))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Item not found in cart"));
+
+			if (quantity < 1) throw new IllegalArgumentException("Quantity must be >= 1");
+
+			BigDecimal lineTotal = unitPrice(item.getProductId(), quantity).multiply(BigDecimal.valueOf(quantity));
+			adjustTotal(cart, item.getLineTotal(), lineTotal);
+			item.setQuantity(quantity);
+			item.setLineTotal(lineTotal);
+
+			return toResponse(cartRepository.saveAndFlush(cart));
+		});
 	}
 
-	@Transactional
 	public CartResponseDto removeItem(Long userId, Long itemId) {
-		Cart cart = getOrCreateCart(userId);
-		cart.getItems().removeIf(i -> i.getId().equals(itemId));
-		recalcCartTotal(cart);
-		cartRepository.save(cart);
-		return toResponse(cart);
+		return mutate(userId, () -> {
+			Cart cart = cartRepository.findByUserId(userId).orElse(null);
+			if (cart == null) return emptyCart(userId);
+
+			CartItem item = cart.getItems().stream()
+				.filter(i -> i.getId().equals(itemId))
+				.findFirst().orElse(null);
+			if (item == null) return toResponse(cart);
+
+			cart.getItems().remove(item);
+			adjustTotal(cart, item.getLineTotal(), BigDecimal.ZERO);
+			return toResponse(cartRepository.saveAndFlush(cart));
+		});
 	}
 
-	@Transactional
 	public void clearCart(Long userId) {
-		Cart cart = getOrCreateCart(userId);
-		cart.getItems().clear();
-		recalcCartTotal(cart);
-		cartRepository.save(cart);
+		mutate(userId, () -> {
+			cartRepository.findByUserId(userId).ifPresent(cart -> {
+				cart.getItems().clear();
+				cart.setTotal(BigDecimal.ZERO);
+				cart.setUpdatedAt(LocalDateTime.now());
+				cartRepository.saveAndFlush(cart);
+			});
+			return null;
+		});
+	}
+
+	// Served from the product cache; stock is only as fresh as the cached entry and is re-checked at checkout
+	private BigDecimal unitPrice(Long productId, int quantity) {
+		ProductDto product = productPriceCache.get(productId)
+			.orElseThrow(() -> new ItemNotFoundException("Product not found: " + productId));
+		if (product.getStock() != null && quantity > product.getStock()) {
+			throw new InsufficientStockException("Only " + product.getStock() + " left in stock for product " + productId);
+		}
+		return product.getPrice();
+	}
+
+	// A user without a cart row sees an empty cart; the row is only created by the first add
+	private CartResponseDto emptyCart(Long userId) {
+		return CartResponseDto.builder()
+			.userId(userId)
+			.total(BigDecimal.ZERO)
+			.items(List.of())
+			.totalItems(0)
+			.totalPrice(BigDecimal.ZERO)
+			.build();
 	}
 
 	private CartResponseDto toResponse(Cart cart) {
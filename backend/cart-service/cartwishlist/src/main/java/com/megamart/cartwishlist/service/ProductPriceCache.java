@@ -0,0 +1,54 @@
+package com.megamart.cartwishlist.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.megamart.cartwishlist.client.ProductServiceClient;
+import com.megamart.cartwishlist.dto.ProductDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Price and stock of the products carts refer to. An entry older than {@code ttl} is still served while one
+ * background call to productservice refreshes it; if that call fails the entry stays until {@code max-stale}.
+ * Products productservice reports as missing are remembered for {@code negative-ttl}. A product with no usable
+ * entry is fetched on the caller's thread, and a failure surfaces as
+ * {@link com.megamart.cartwishlist.exception.ProductUnavailableException}.
+ */
+@Component
+public class ProductPriceCache {
+
+	private final LoadingCache<Long, Optional<ProductDto>> products;
+
+	@Autowired
+	public ProductPriceCache(ProductServiceClient productServiceClient,
+							 @Value("${cartwishlist.product-cache.maximum-size:10000}") long maximumSize,
+							 @Value("${cartwishlist.product-cache.ttl:PT30S}") Duration ttl,
+							 @Value("${cartwishlist.product-cache.max-stale:PT10M}") Duration maxStale,
+							 @Value("${cartwishlist.product-cache.negative-ttl:PT10S}") Duration negativeTtl) {
+		this(productServiceClient, maximumSize, ttl, maxStale, negativeTtl, Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+
+	ProductPriceCache(ProductServiceClient productServiceClient, long maximumSize, Duration ttl, Duration maxStale,
+					  Duration negativeTtl, Ticker ticker, Executor executor) {
+		this.products = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.refreshAfterWrite(ttl)
+			.expireAfter(Expiry.writing((Long productId, Optional<ProductDto> product) ->
+				product.isPresent() ? maxStale : negativeTtl))
+			.ticker(ticker)
+			.executor(executor)
+			.build(productServiceClient::getProduct);
+	}
+
+	public Optional<ProductDto> get(Long productId) {
+		return products.get(productId);
+	}
+}
@@ -0,0 +1,40 @@
+package com.megamart.cartwishlist.service;
+
+import com.megamart.cartwishlist.client.ProductServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartActivityReporterTest {
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    private CartActivityReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        // Reports run on the calling thread so each test sees their outcome
+        reporter = new CartActivityReporter(productServiceClient, Runnable::run);
+    }
+
+    @Test
+    void cartAdd_ShouldReportToProductService() {
+        reporter.cartAdd(7L);
+
+        verify(productServiceClient).recordCartAdd(7L);
+    }
+
+    @Test
+    void cartAdd_WhenProductServiceFails_ShouldNotThrow() {
+        doThrow(new RuntimeException("connection refused")).when(productServiceClient).recordCartAdd(7L);
+
+        assertDoesNotThrow(() -> reporter.cartAdd(7L));
+    }
+}
@@ -1,7 +1,9 @@
 package com.megamart.cartwishlist.service;
 
-import com.megamart.cartwishlist.client.ProductServiceClient;
 import com.megamart.cartwishlist.dto.*;
+import com.megamart.cartwishlist.exception.InsufficientStockException;
+import com.megamart.cartwishlist.exception.ItemNotFoundException;
+import com.megamart.cartwishlist.exception.ProductUnavailableException;
 import com.megamart.cartwishlist.model.Cart;
 import com.megamart.cartwishlist.model.CartItem;
 import com.megamart.cartwishlist.repository.CartRepository;
@@ -11,6 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -27,7 +33,13 @@ class CartServiceTest {
     private CartRepository cartRepository;
 
     @Mock
-    private ProductServiceClient productServiceClient;
+    private ProductPriceCache productPriceCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CartActivityReporter cartActivityReporter;
 
     @InjectMocks
     private CartService cartService;
@@ -38,6 +50,9 @@ class CartServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+
         cart = Cart.builder()
                 .id(1L)
                 .userId(1L)
@@ -62,30 +77,32 @@ class CartServiceTest {
     }
 
     @Test
-    void getCart_WhenCartExists_ShouldReturnCart() {
+    void getCart_WhenCartExists_ShouldReturnCartWithoutWriting() {
+        cart.getItems().add(cartItem);
+        cart.setTotal(BigDecimal.valueOf(20.0));
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.getCart(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals(1L, result.getUserId());
+        assertEquals(BigDecimal.valueOf(20.0), result.getTotal());
         verify(cartRepository).findByUserId(1L);
-        verify(cartRepository).save(cart);
+        verifyNoMoreInteractions(cartRepository);
     }
 
     @Test
-    void getCart_WhenCartDoesNotExist_ShouldCreateNewCart() {
+    void getCart_WhenCartDoesNotExist_ShouldReturnEmptyCartWithoutCreating() {
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.getCart(1L);
 
-        assertNotNull(result);
+        assertNull(result.getId());
         assertEquals(1L, result.getUserId());
-        verify(cartRepository).findByUserId(1L);
-        verify(cartRepository, times(2)).save(any(Cart.class));
+        assertEquals(0, result.getTotalItems());
+        assertTrue(result.getItems().isEmpty());
+        verify(cartRepository, never()).save(any(Cart.class));
     }
 
     @Test
@@ -95,15 +112,16 @@ class CartServiceTest {
         request.setQuantity(2);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(productServiceClient.getProduct(1L)).thenReturn(Optional.of(productDto));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+        when(cartRepository.saveAndFlush(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.addItem(1L, request);
 
         assertNotNull(result);
         assertEquals(1, cart.getItems().size());
         assertEquals(2, cart.getItems().get(0).getQuantity());
-        verify(cartRepository).save(cart);
+        verify(cartRepository).saveAndFlush(cart);
+        verify(cartActivityReporter).cartAdd(1L);
     }
 
     @Test
@@ -115,33 +133,104 @@ class CartServiceTest {
         cart.getItems().add(cartItem);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(productServiceClient.getProduct(1L)).thenReturn(Optional.of(productDto));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+        when(cartRepository.saveAndFlush(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.addItem(1L, request);
 
         assertNotNull(result);
         assertEquals(1, cart.getItems().size());
         assertEquals(5, cart.getItems().get(0).getQuantity());
-        verify(cartRepository).save(cart);
+        verify(cartRepository).saveAndFlush(cart);
     }
 
     @Test
-    void addItem_WhenProductServiceFails_ShouldUseDefaultPrice() {
+    void addItem_WhenProductServiceUnavailable_ShouldFailWithoutSaving() {
         AddItemRequestDto request = new AddItemRequestDto();
         request.setProductId(1L);
         request.setQuantity(2);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(productServiceClient.getProduct(1L)).thenThrow(new RuntimeException("Service unavailable"));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(productPriceCache.get(1L)).thenThrow(new ProductUnavailableException(1L));
 
-        CartResponseDto result = cartService.addItem(1L, request);
+        assertThrows(ProductUnavailableException.class, () -> cartService.addItem(1L, request));
 
-        assertNotNull(result);
-        assertEquals(1, cart.getItems().size());
-        assertEquals(BigDecimal.valueOf(20.0), cart.getItems().get(0).getLineTotal());
-        verify(cartRepository).save(cart);
+        assertTrue(cart.getItems().isEmpty());
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
+        verifyNoInteractions(cartActivityReporter);
+    }
+
+    @Test
+    void addItem_WhenProductMissing_ShouldThrowNotFound() {
+        AddItemRequestDto request = new AddItemRequestDto();
+        request.setProductId(1L);
+        request.setQuantity(2);
+
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(productPriceCache.get(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ItemNotFoundException.class, () -> cartService.addItem(1L, request));
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
+    }
+
+    @Test
+    void addItem_WhenQuantityExceedsStock_ShouldThrow() {
+        AddItemRequestDto request = new AddItemRequestDto();
+        request.setProductId(1L);
+        request.setQuantity(99);
+        cart.getItems().add(cartItem);
+
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+
+        assertThrows(InsufficientStockException.class, () -> cartService.addItem(1L, request));
+        assertEquals(2, cartItem.getQuantity());
+    }
+
+    @Test
+    void addItem_ShouldAdjustTotalByLineDifference() {
+        AddItemRequestDto request = new AddItemRequestDto();
+        request.setProductId(1L);
+        request.setQuantity(1);
+        cart.getItems().add(cartItem);
+        cart.setTotal(BigDecimal.valueOf(25.0));
+
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+        when(cartRepository.saveAndFlush(cart)).thenReturn(cart);
+
+        cartService.addItem(1L, request);
+
+        assertEquals(0, BigDecimal.valueOf(35.0).compareTo(cart.getTotal()));
+    }
+
+    @Test
+    void addItem_WhenCartChangedConcurrently_ShouldRetryFromFreshRead() {
+        AddItemRequestDto request = new AddItemRequestDto();
+        request.setProductId(1L);
+        request.setQuantity(2);
+
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+        when(cartRepository.saveAndFlush(cart))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Cart.class, 1L))
+                .thenReturn(cart);
+
+        cartService.addItem(1L, request);
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(cartRepository, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    void removeItem_WhenNoCart_ShouldNotCreateOne() {
+        when(cartRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        CartResponseDto result = cartService.removeItem(1L, 1L);
+
+        assertTrue(result.getItems().isEmpty());
+        verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
     }
 
     @Test
@@ -149,15 +238,15 @@ class CartServiceTest {
         cart.getItems().add(cartItem);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(productServiceClient.getProduct(1L)).thenReturn(Optional.of(productDto));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(productPriceCache.get(1L)).thenReturn(Optional.of(productDto));
+        when(cartRepository.saveAndFlush(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.updateQuantity(1L, 1L, 5);
 
         assertNotNull(result);
         assertEquals(5, cartItem.getQuantity());
         assertEquals(BigDecimal.valueOf(50.0), cartItem.getLineTotal());
-        verify(cartRepository).save(cart);
+        verify(cartRepository).saveAndFlush(cart);
     }
 
     @Test
@@ -168,7 +257,7 @@ class CartServiceTest {
             cartService.updateQuantity(1L, 999L, 5);
         });
 
-        verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
     }
 
     @Test
@@ -181,7 +270,7 @@ class CartServiceTest {
             cartService.updateQuantity(1L, 1L, 0);
         });
 
-        verify(cartRepository, never()).save(any(Cart.class));
+        verify(cartRepository, never()).saveAndFlush(any(Cart.class));
     }
 
     @Test
@@ -189,13 +278,13 @@ class CartServiceTest {
         cart.getItems().add(cartItem);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(cartRepository.saveAndFlush(any(Cart.class))).thenReturn(cart);
 
         CartResponseDto result = cartService.removeItem(1L, 1L);
 
         assertNotNull(result);
         assertTrue(cart.getItems().isEmpty());
-        verify(cartRepository).save(cart);
+        verify(cartRepository).saveAndFlush(cart);
     }
 
     @Test
@@ -203,13 +292,13 @@ class CartServiceTest {
         cart.getItems().add(cartItem);
 
         when(cartRepository.findByUserId(1L)).thenReturn(Optional.of(cart));
-        when(cartRepository.save(any(Cart.class))).thenReturn(cart);
+        when(cartRepository.saveAndFlush(any(Cart.class))).thenReturn(cart);
 
         cartService.clearCart(1L);
 
         assertTrue(cart.getItems().isEmpty());
         assertEquals(BigDecimal.ZERO, cart.getTotal());
-        verify(cartRepository).save(cart);
+        verify(cartRepository).saveAndFlush(cart);
     }
 
     @Test
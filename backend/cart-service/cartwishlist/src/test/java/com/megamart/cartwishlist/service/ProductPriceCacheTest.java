@@ -0,0 +1,100 @@
+package com.megamart.cartwishlist.service;
+
+import com.megamart.cartwishlist.client.ProductServiceClient;
+import com.megamart.cartwishlist.dto.ProductDto;
+import com.megamart.cartwishlist.exception.ProductUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceCacheTest {
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ProductPriceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Refreshes run on the calling thread so each get sees their outcome
+        cache = new ProductPriceCache(productServiceClient, 100, Duration.ofSeconds(30), Duration.ofMinutes(10),
+                Duration.ofSeconds(10), nanos::get, Runnable::run);
+    }
+
+    @Test
+    void get_ShouldServeCachedEntryWithinTtl() {
+        when(productServiceClient.getProduct(1L)).thenReturn(Optional.of(product(10)));
+
+        cache.get(1L);
+        advance(Duration.ofSeconds(20));
+
+        assertEquals(BigDecimal.valueOf(10), cache.get(1L).orElseThrow().getPrice());
+        verify(productServiceClient, times(1)).getProduct(1L);
+    }
+
+    @Test
+    void get_AfterTtl_ShouldServeStaleWhileRefreshing() {
+        when(productServiceClient.getProduct(1L))
+                .thenReturn(Optional.of(product(10)))
+                .thenReturn(Optional.of(product(12)));
+
+        cache.get(1L);
+        advance(Duration.ofSeconds(31));
+
+        assertEquals(BigDecimal.valueOf(10), cache.get(1L).orElseThrow().getPrice());
+        assertEquals(BigDecimal.valueOf(12), cache.get(1L).orElseThrow().getPrice());
+    }
+
+    @Test
+    void get_WhenRefreshFails_ShouldKeepStaleEntryUntilMaxStale() {
+        when(productServiceClient.getProduct(1L))
+                .thenReturn(Optional.of(product(10)))
+                .thenThrow(new ProductUnavailableException(1L));
+
+        cache.get(1L);
+        advance(Duration.ofMinutes(5));
+        assertEquals(BigDecimal.valueOf(10), cache.get(1L).orElseThrow().getPrice());
+
+        advance(Duration.ofMinutes(6));
+        assertThrows(ProductUnavailableException.class, () -> cache.get(1L));
+    }
+
+    @Test
+    void get_ShouldRememberMissingProductsForNegativeTtl() {
+        when(productServiceClient.getProduct(2L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(product(5)));
+
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(2L).isEmpty());
+        advance(Duration.ofSeconds(11));
+
+        assertTrue(cache.get(2L).isPresent());
+        verify(productServiceClient, times(2)).getProduct(2L);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private ProductDto product(int price) {
+        return ProductDto.builder()
+                .productId(1L)
+                .name("Test Product")
+                .price(BigDecimal.valueOf(price))
+                .stock(10)
+                .build();
+    }
+}
@@ -1,27 +1,72 @@
 package com.megamart.order_payment_service.client;
 
+import com.megamart.order_payment_service.dto.BatchStockUpdateRequestDto;
+import com.megamart.order_payment_service.dto.ProductBatchResponseDto;
 import com.megamart.order_payment_service.dto.ProductResponseDto;
+import com.megamart.order_payment_service.dto.ReservationRequestDto;
+import com.megamart.order_payment_service.dto.ReservationResponseDto;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "productservice")
 public interface ProductServiceClient {
 
+    int MAX_QUERY_IDS = 50;
+
     @CircuitBreaker(name = "product-service", fallbackMethod = "serviceFallback")
     @GetMapping("/api/products/{productId}")
     ProductResponseDto getProductById(@PathVariable Long productId);
 
+    @CircuitBreaker(name = "product-service", fallbackMethod = "batchFallback")
+    @GetMapping("/api/products/batch")
+    ProductBatchResponseDto getProductsByIds(@RequestParam("ids") List<Long> ids);
+
+    @CircuitBreaker(name = "product-service", fallbackMethod = "batchFallback")
+    @PostMapping("/api/products/batch")
+    ProductBatchResponseDto getProductsByIdsPost(@RequestBody List<Long> ids);
+
     @CircuitBreaker(name = "product-service", fallbackMethod = "serviceFallbackMap")
     @PostMapping("/api/products/{productId}/stock")
     Map<String, Object> updateStock(@PathVariable Long productId, @RequestBody Map<String, Integer> request);
 
+    // No fallback: the caller must know whether the batch was applied, and productservice applies all lines or none
+    @CircuitBreaker(name = "product-service")
+    @PostMapping("/api/products/stock/batch")
+    Map<String, Object> updateStockBatch(@RequestBody BatchStockUpdateRequestDto request);
+
+    // Reservation calls have no fallback either: checkout must not continue without knowing the hold's state
+    @CircuitBreaker(name = "product-service")
+    @PostMapping("/api/products/reservations")
+    ReservationResponseDto createReservation(@RequestBody ReservationRequestDto request);
+
+    @CircuitBreaker(name = "product-service")
+    @GetMapping("/api/products/reservations/{reservationId}")
+    ReservationResponseDto getReservation(@PathVariable String reservationId);
+
+    @CircuitBreaker(name = "product-service")
+    @PostMapping("/api/products/reservations/{reservationId}/confirm")
+    ReservationResponseDto confirmReservation(@PathVariable String reservationId);
+
+    @CircuitBreaker(name = "product-service")
+    @PostMapping("/api/products/reservations/{reservationId}/release")
+    ReservationResponseDto releaseReservation(@PathVariable String reservationId);
+
     default ProductResponseDto serviceFallback(Long productId, Exception ex) {
 
         return null;
     }
 
+    default ProductBatchResponseDto batchFallback(List<Long> ids, Exception ex) {
+        return null;
+    }
+
+    default ProductBatchResponseDto getProducts(List<Long> ids) {
+        return ids.size() > MAX_QUERY_IDS ? getProductsByIdsPost(ids) : getProductsByIds(ids);
+    }
+
     default Map<String, Object> serviceFallbackMap(Long productId, Map<String, Integer> request, Exception ex) {
         return Map.of("error", "Product service unavailable");
     }
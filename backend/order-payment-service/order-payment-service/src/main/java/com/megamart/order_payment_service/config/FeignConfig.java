@@ -8,21 +8,27 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
 
 @Configuration
 // THIS IS THE NEW LINE: It scans your 'client' package to find Feign interfaces
 @EnableFeignClients(basePackages = "com.megamart.order_payment_service.client")
 public class FeignConfig {
 
+    // The gateway's identity headers are what the downstream services authenticate from, so they travel with the token
+    static final List<String> FORWARDED_HEADERS = List.of("Authorization", "X-User-ID", "X-User-Roles");
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return template -> {
             ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
             if (attributes != null) {
                 HttpServletRequest request = attributes.getRequest();
-                String authHeader = request.getHeader("Authorization");
-                if (authHeader != null) {
-                    template.header("Authorization", authHeader);
+                for (String name : FORWARDED_HEADERS) {
+                    String value = request.getHeader(name);
+                    if (value != null) {
+                        template.header(name, value);
+                    }
                 }
             }
         };
@@ -0,0 +1,14 @@
+package com.megamart.order_payment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateRequestDto {
+    private List<StockAdjustmentDto> items;
+}
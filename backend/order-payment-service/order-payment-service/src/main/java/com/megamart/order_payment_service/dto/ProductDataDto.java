@@ -16,4 +16,5 @@ public class ProductDataDto {
     private Integer stock;
     private String category;
     private String brand;
+    private String thumbnail;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.megamart.order_payment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationItemDto {
+    private Long productId;
+    private Integer quantity;
+}
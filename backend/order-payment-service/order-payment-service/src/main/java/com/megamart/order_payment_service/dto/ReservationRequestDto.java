@@ -0,0 +1,16 @@
+package com.megamart.order_payment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequestDto {
+    private String reference;
+    private Integer ttlSeconds;
+    private List<ReservationItemDto> items;
+}
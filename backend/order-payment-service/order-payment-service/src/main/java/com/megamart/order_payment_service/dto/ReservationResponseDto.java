@@ -0,0 +1,14 @@
+package com.megamart.order_payment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponseDto {
+    private boolean success;
+    private ReservationDataDto data;
+    private String message;
+}
@@ -16,12 +16,15 @@ import com.megamart.order_payment_service.service.interfaces.OrderServiceInterfa
 import com.megamart.order_payment_service.service.interfaces.UserDataServiceInterface;
 import com.megamart.order_payment_service.client.CartServiceClient;
 import com.megamart.order_payment_service.client.ProductServiceClient;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,6 +40,8 @@ import java.util.stream.Collectors;
 public class OrderService implements OrderServiceInterface {
     
     private static final String PHONE = "phone";
+    private static final int CHECKOUT_HOLD_SECONDS = 300;
+    private static final String RESERVATION_CONFIRMED = "CONFIRMED";
     
     private final OrderRepository orderRepository;
     private final OrderTrackingRepository trackingRepository;
@@ -400,9 +405,7 @@ public class OrderService implements OrderServiceInterface {
             throw new InvalidRequestException("cart", "Cart is empty");
         }
         
-        for (com.megamart.order_payment_service.dto.CartItemDto item : cart.getItems()) {
-            validateProductStock(item.getProductId(), item.getQuantity());
-        }
+        validateProductStock(cart.getItems());
         
         OrderRequest orderRequest = new OrderRequest();
         orderRequest.setUserId(userId);
@@ -422,11 +425,18 @@ public class OrderService implements OrderServiceInterface {
             .toList();
         orderRequest.setItems(orderItems);
         
-        OrderResponse orderResponse = createOrder(orderRequest);
-        
-        for (com.megamart.order_payment_service.dto.CartItemDto item : cart.getItems()) {
-            reduceProductStock(item.getProductId(), item.getQuantity());
+        // Hold the stock while the address, payment method and order are written, and confirm the hold
+        // before the order commits; a rollback after that hands the stock back
+        String reservationId = reserveProductStock(userId, orderItems);
+        OrderResponse orderResponse;
+        try {
+            orderResponse = createOrder(orderRequest);
+            confirmReservation(reservationId);
+        } catch (RuntimeException e) {
+            releaseReservation(reservationId);
+            throw e;
         }
+        restoreStockOnRollback(orderItems);
         
         try {
             cartServiceClient.clearCart(userId.toString());
@@ -437,49 +447,129 @@ public class OrderService implements OrderServiceInterface {
         return orderResponse;
     }
     
-    private void validateProductStock(Long productId, Integer quantity) {
+    private void validateProductStock(List<com.megamart.order_payment_service.dto.CartItemDto> items) {
+        List<Long> productIds = items.stream()
+            .map(com.megamart.order_payment_service.dto.CartItemDto::getProductId)
+            .distinct()
+            .toList();
+        
+        ProductBatchResponseDto products;
         try {
-            com.megamart.order_payment_service.dto.ProductResponseDto product = productServiceClient.getProductById(productId);
-            if (product == null || !product.isSuccess() || product.getData() == null) {
-                throw new InvalidRequestException("product", "Product not found: " + productId);
+            products = productServiceClient.getProducts(productIds);
+        } catch (Exception e) {
+            log.error("Error validating product stock: {}", e.getMessage());
+            throw new InvalidRequestException("product", "Error validating products: " + productIds);
+        }
+        if (products == null || !products.isSuccess() || products.getData() == null) {
+            throw new InvalidRequestException("product", "Error validating products: " + productIds);
+        }
+        
+        for (com.megamart.order_payment_service.dto.CartItemDto item : items) {
+            ProductDataDto product = products.getData().get(item.getProductId());
+            if (product == null) {
+                throw new InvalidRequestException("product", "Product not found: " + item.getProductId());
             }
-            
-            if (product.getData().getStock() < quantity) {
+            if (product.getStock() < item.getQuantity()) {
                 throw new InvalidRequestException("stock", 
-                    "Insufficient stock for product " + productId + ". Available: " + 
-                    product.getData().getStock() + ", Required: " + quantity);
+                    "Insufficient stock for product " + item.getProductId() + ". Available: " + 
+                    product.getStock() + ", Required: " + item.getQuantity());
             }
+        }
+    }
+    
+    private String reserveProductStock(Long userId, List<OrderItemRequestDto> items) {
+        List<ReservationItemDto> lines = items.stream()
+            .map(item -> new ReservationItemDto(item.getProductId(), item.getQuantity()))
+            .toList();
+        ReservationResponseDto response;
+        try {
+            response = productServiceClient.createReservation(
+                new ReservationRequestDto("checkout:" + userId, CHECKOUT_HOLD_SECONDS, lines));
+        } catch (FeignException.BadRequest | FeignException.NotFound e) {
+            log.warn("Stock reservation rejected for user {}: {}", userId, e.getMessage());
+            throw new InvalidRequestException("stock", "Insufficient stock for one or more products in the cart");
         } catch (Exception e) {
-            log.error("Error validating product stock: {}", e.getMessage());
-            throw new InvalidRequestException("product", "Error validating product: " + productId);
+            log.error("Error reserving stock for user {}: {}", userId, e.getMessage());
+            throw new ServiceException("stock reservation", "Product service unavailable");
+        }
+        if (response == null || !response.isSuccess() || response.getData() == null) {
+            throw new ServiceException("stock reservation", "Product service returned no reservation");
         }
+        log.info("Reserved stock for user {} under {}", userId, response.getData().getReservationId());
+        return response.getData().getReservationId();
     }
     
-    private void reduceProductStock(Long productId, Integer quantity) {
+    private void confirmReservation(String reservationId) {
         try {
-            Map<String, Integer> request = Map.of("stockChange", -quantity);
-            productServiceClient.updateStock(productId, request);
-            log.info("Reduced stock for product {} by {}", productId, quantity);
+            productServiceClient.confirmReservation(reservationId);
+            log.info("Confirmed stock reservation {}", reservationId);
+        } catch (FeignException.BadRequest | FeignException.NotFound e) {
+            if (isConfirmed(reservationId)) return;
+            log.warn("Stock reservation {} could not be confirmed: {}", reservationId, e.getMessage());
+            throw new InvalidRequestException("stock", "Stock reservation expired before the order was placed");
         } catch (Exception e) {
-            log.error("Error reducing stock for product {}: {}", productId, e.getMessage());
+            if (isConfirmed(reservationId)) return;
+            log.error("Error confirming stock reservation {}: {}", reservationId, e.getMessage());
+            throw new ServiceException("stock reservation", "Product service unavailable");
         }
     }
     
+    // A confirm that timed out or was retried may still have gone through, and releasing it then would fail
+    private boolean isConfirmed(String reservationId) {
+        try {
+            ReservationResponseDto response = productServiceClient.getReservation(reservationId);
+            if (response != null && response.getData() != null
+                    && RESERVATION_CONFIRMED.equals(response.getData().getStatus())) {
+                log.info("Stock reservation {} was confirmed despite the failed call", reservationId);
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Error checking stock reservation {}: {}", reservationId, e.getMessage());
+        }
+        return false;
+    }
+    
+    // A hold that is never released still expires on its own, so a failure here is only logged
+    private void releaseReservation(String reservationId) {
+        try {
+            productServiceClient.releaseReservation(reservationId);
+            log.info("Released stock reservation {}", reservationId);
+        } catch (Exception e) {
+            log.warn("Error releasing stock reservation {}: {}", reservationId, e.getMessage());
+        }
+    }
+    
+    // The reservation is already confirmed, so stock taken for an order whose transaction rolls back is handed back
+    private void restoreStockOnRollback(List<OrderItemRequestDto> items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        
+        List<StockAdjustmentDto> quantities = items.stream()
+            .map(item -> new StockAdjustmentDto(item.getProductId(), item.getQuantity()))
+            .toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restoreProductStock(quantities);
+                }
+            }
+        });
+    }
+    
     private void restoreStockForOrder(Order order) {
         if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
-            for (OrderItem item : order.getOrderItems()) {
-                restoreProductStock(item.getProductId(), item.getQuantity());
-            }
+            restoreProductStock(order.getOrderItems().stream()
+                .map(item -> new StockAdjustmentDto(item.getProductId(), item.getQuantity()))
+                .toList());
         }
     }
     
-    private void restoreProductStock(Long productId, Integer quantity) {
+    private void restoreProductStock(List<StockAdjustmentDto> quantities) {
         try {
-            Map<String, Integer> request = Map.of("stockChange", quantity);
-            productServiceClient.updateStock(productId, request);
-            log.info("Restored stock for product {} by {}", productId, quantity);
+            productServiceClient.updateStockBatch(new BatchStockUpdateRequestDto(quantities));
+            log.info("Restored stock for {} products", quantities.size());
         } catch (Exception e) {
-            log.error("Error restoring stock for product {}: {}", productId, e.getMessage());
+            log.error("Error restoring stock for {}: {}", quantities, e.getMessage());
         }
     }
     
@@ -0,0 +1,45 @@
+package com.megamart.order_payment_service.config;
+
+import feign.RequestTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeignConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void requestInterceptor_ShouldForwardTokenAndGatewayIdentity() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("X-User-ID", "42");
+        request.addHeader("X-User-Roles", "ROLE_CUSTOMER");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RequestTemplate template = new RequestTemplate();
+
+        new FeignConfig().requestInterceptor().apply(template);
+
+        assertEquals(List.of("Bearer token"), List.copyOf(template.headers().get("Authorization")));
+        assertEquals(List.of("42"), List.copyOf(template.headers().get("X-User-ID")));
+        assertEquals(List.of("ROLE_CUSTOMER"), List.copyOf(template.headers().get("X-User-Roles")));
+    }
+
+    @Test
+    void requestInterceptor_OutsideARequest_ShouldAddNothing() {
+        RequestTemplate template = new RequestTemplate();
+
+        new FeignConfig().requestInterceptor().apply(template);
+
+        assertTrue(template.headers().isEmpty());
+    }
+}
@@ -14,6 +14,8 @@ import com.megamart.order_payment_service.exception.OrderNotFoundException;
 import com.megamart.order_payment_service.repository.OrderRepository;
 import com.megamart.order_payment_service.repository.OrderTrackingRepository;
 import com.megamart.order_payment_service.service.interfaces.UserDataServiceInterface;
+import feign.FeignException;
+import feign.RetryableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -282,7 +284,8 @@ class OrderServiceTest {
 
         assertNotNull(result);
         verify(orderRepository).save(any(Order.class));
-        verify(productServiceClient).updateStock(eq(1L), any(Map.class));
+        verify(productServiceClient).updateStockBatch(new BatchStockUpdateRequestDto(
+                List.of(new StockAdjustmentDto(1L, 2))));
     }
 
     @Test
@@ -313,12 +316,13 @@ class OrderServiceTest {
 
         ProductDataDto productData = new ProductDataDto();
         productData.setStock(10);
-        ProductResponseDto productResponse = new ProductResponseDto();
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
         productResponse.setSuccess(true);
-        productResponse.setData(productData);
+        productResponse.setData(Map.of(1L, productData));
 
         when(cartServiceClient.getCart("1")).thenReturn(cart);
-        when(productServiceClient.getProductById(1L)).thenReturn(productResponse);
+        when(productServiceClient.getProducts(List.of(1L))).thenReturn(productResponse);
+        when(productServiceClient.createReservation(any(ReservationRequestDto.class))).thenReturn(reservation());
         when(userDataService.createAddress(eq(1L), any(AddressRequestDto.class))).thenReturn(addressDto);
         when(userDataService.createPaymentMethod(eq(1L), any(PaymentMethodRequestDto.class))).thenReturn(paymentMethodDto);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
@@ -348,8 +352,114 @@ class OrderServiceTest {
 
         assertNotNull(result);
         verify(cartServiceClient).getCart("1");
-        verify(productServiceClient).getProductById(1L);
-        verify(productServiceClient).updateStock(eq(1L), any(Map.class));
+        verify(productServiceClient).getProducts(List.of(1L));
+        verify(productServiceClient, never()).getProductById(anyLong());
+        verify(productServiceClient).createReservation(new ReservationRequestDto(
+                "checkout:1", 300, List.of(new ReservationItemDto(1L, 2))));
+        verify(productServiceClient).confirmReservation("r-1");
+        verify(productServiceClient, never()).updateStockBatch(any(BatchStockUpdateRequestDto.class));
+        verify(productServiceClient, never()).updateStock(anyLong(), any(Map.class));
+        verify(cartServiceClient).clearCart("1");
+    }
+
+    @Test
+    void createOrderFromCart_WhenStockCannotBeReserved_ShouldFailWithoutSavingOrder() {
+        CartResponseDto cart = new CartResponseDto();
+        cart.setTotalPrice(999.99);
+        CartItemDto cartItem = new CartItemDto();
+        cartItem.setProductId(1L);
+        cartItem.setQuantity(2);
+        cartItem.setLineTotal(999.99);
+        cart.setItems(Arrays.asList(cartItem));
+
+        ProductDataDto productData = new ProductDataDto();
+        productData.setStock(10);
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
+        productResponse.setSuccess(true);
+        productResponse.setData(Map.of(1L, productData));
+
+        when(cartServiceClient.getCart("1")).thenReturn(cart);
+        when(productServiceClient.getProducts(List.of(1L))).thenReturn(productResponse);
+        when(productServiceClient.createReservation(any(ReservationRequestDto.class)))
+                .thenThrow(mock(FeignException.BadRequest.class));
+
+        AddressRequestDto address = AddressRequestDto.builder().build();
+        PaymentMethodRequestDto paymentMethod = PaymentMethodRequestDto.builder().type("CARD").build();
+
+        assertThrows(InvalidRequestException.class,
+                () -> orderService.createOrderFromCart(1L, address, paymentMethod));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(cartServiceClient, never()).clearCart(anyString());
+    }
+
+    @Test
+    void createOrderFromCart_WhenHoldExpiresBeforeConfirm_ShouldReleaseItAndFail() {
+        CartResponseDto cart = new CartResponseDto();
+        cart.setTotalPrice(999.99);
+        CartItemDto cartItem = new CartItemDto();
+        cartItem.setProductId(1L);
+        cartItem.setQuantity(2);
+        cartItem.setLineTotal(999.99);
+        cart.setItems(Arrays.asList(cartItem));
+
+        ProductDataDto productData = new ProductDataDto();
+        productData.setStock(10);
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
+        productResponse.setSuccess(true);
+        productResponse.setData(Map.of(1L, productData));
+
+        when(cartServiceClient.getCart("1")).thenReturn(cart);
+        when(productServiceClient.getProducts(List.of(1L))).thenReturn(productResponse);
+        when(productServiceClient.createReservation(any(ReservationRequestDto.class))).thenReturn(reservation());
+        when(productServiceClient.confirmReservation("r-1")).thenThrow(mock(FeignException.BadRequest.class));
+        when(productServiceClient.getReservation("r-1")).thenReturn(
+                new ReservationResponseDto(true, new ReservationDataDto("r-1", "EXPIRED"), "Reservation retrieved successfully"));
+        when(userDataService.createAddress(eq(1L), any(AddressRequestDto.class))).thenReturn(addressDto);
+        when(userDataService.createPaymentMethod(eq(1L), any(PaymentMethodRequestDto.class))).thenReturn(paymentMethodDto);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        AddressRequestDto address = AddressRequestDto.builder().build();
+        PaymentMethodRequestDto paymentMethod = PaymentMethodRequestDto.builder().type("CARD").build();
+
+        assertThrows(InvalidRequestException.class,
+                () -> orderService.createOrderFromCart(1L, address, paymentMethod));
+        verify(productServiceClient).releaseReservation("r-1");
+        verify(cartServiceClient, never()).clearCart(anyString());
+    }
+
+    @Test
+    void createOrderFromCart_WhenConfirmTimesOutAfterCommitting_ShouldKeepOrder() {
+        CartResponseDto cart = new CartResponseDto();
+        cart.setTotalPrice(999.99);
+        CartItemDto cartItem = new CartItemDto();
+        cartItem.setProductId(1L);
+        cartItem.setQuantity(2);
+        cartItem.setLineTotal(999.99);
+        cart.setItems(Arrays.asList(cartItem));
+
+        ProductDataDto productData = new ProductDataDto();
+        productData.setStock(10);
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
+        productResponse.setSuccess(true);
+        productResponse.setData(Map.of(1L, productData));
+
+        when(cartServiceClient.getCart("1")).thenReturn(cart);
+        when(productServiceClient.getProducts(List.of(1L))).thenReturn(productResponse);
+        when(productServiceClient.createReservation(any(ReservationRequestDto.class))).thenReturn(reservation());
+        when(productServiceClient.confirmReservation("r-1")).thenThrow(mock(RetryableException.class));
+        when(productServiceClient.getReservation("r-1")).thenReturn(
+                new ReservationResponseDto(true, new ReservationDataDto("r-1", "CONFIRMED"), "Reservation retrieved successfully"));
+        when(userDataService.createAddress(eq(1L), any(AddressRequestDto.class))).thenReturn(addressDto);
+        when(userDataService.createPaymentMethod(eq(1L), any(PaymentMethodRequestDto.class))).thenReturn(paymentMethodDto);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(mappingService.mapToOrderResponse(any(Order.class), any(AddressDto.class), any(PaymentMethodDto.class)))
+                .thenReturn(orderResponse);
+
+        AddressRequestDto address = AddressRequestDto.builder().build();
+        PaymentMethodRequestDto paymentMethod = PaymentMethodRequestDto.builder().type("CARD").build();
+
+        assertSame(orderResponse, orderService.createOrderFromCart(1L, address, paymentMethod));
+        verify(productServiceClient, never()).releaseReservation(anyString());
         verify(cartServiceClient).clearCart("1");
     }
 
@@ -377,12 +487,12 @@ class OrderServiceTest {
 
         ProductDataDto productData = new ProductDataDto();
         productData.setStock(5);
-        ProductResponseDto productResponse = new ProductResponseDto();
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
         productResponse.setSuccess(true);
-        productResponse.setData(productData);
+        productResponse.setData(Map.of(1L, productData));
 
         when(cartServiceClient.getCart("1")).thenReturn(cart);
-        when(productServiceClient.getProductById(1L)).thenReturn(productResponse);
+        when(productServiceClient.getProducts(List.of(1L))).thenReturn(productResponse);
 
         AddressRequestDto address = AddressRequestDto.builder().build();
         PaymentMethodRequestDto paymentMethod = PaymentMethodRequestDto.builder().build();
@@ -425,7 +535,8 @@ class OrderServiceTest {
         orderService.deleteOrder(1L);
 
         verify(orderRepository).delete(order);
-        verify(productServiceClient).updateStock(eq(1L), any(Map.class));
+        verify(productServiceClient).updateStockBatch(new BatchStockUpdateRequestDto(
+                List.of(new StockAdjustmentDto(1L, 2))));
     }
 
     @Test
@@ -464,11 +575,12 @@ class OrderServiceTest {
         cartItem.setQuantity(1);
         cart.setItems(Arrays.asList(cartItem));
 
-        ProductResponseDto productResponse = new ProductResponseDto();
-        productResponse.setSuccess(false);
+        ProductBatchResponseDto productResponse = new ProductBatchResponseDto();
+        productResponse.setSuccess(true);
+        productResponse.setData(Map.of());
 
         when(cartServiceClient.getCart("1")).thenReturn(cart);
-        when(productServiceClient.getProductById(999L)).thenReturn(productResponse);
+        when(productServiceClient.getProducts(List.of(999L))).thenReturn(productResponse);
 
         AddressRequestDto address = AddressRequestDto.builder().build();
         PaymentMethodRequestDto paymentMethod = PaymentMethodRequestDto.builder().build();
@@ -476,4 +588,8 @@ class OrderServiceTest {
         assertThrows(InvalidRequestException.class, 
                 () -> orderService.createOrderFromCart(1L, address, paymentMethod));
     }
-}
\ No newline at end of file
+
+    private ReservationResponseDto reservation() {
+        return new ReservationResponseDto(true, new ReservationDataDto("r-1", "HELD"), "Stock reserved successfully");
+    }
+}
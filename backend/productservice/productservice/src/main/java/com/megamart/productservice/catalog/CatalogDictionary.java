@@ -0,0 +1,185 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.repository.CatalogDictionaryRepository;
+import com.megamart.productservice.search.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Category and brand ids keyed by normalized name and slug, so filters resolve to integer keys without a query.
+ * Products keep the canonical name next to the id as a display label.
+ */
+@Slf4j
+@Component
+public class CatalogDictionary {
+
+    private final CatalogDictionaryRepository dictionaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Terms categories = new Terms();
+    private final Terms brands = new Terms();
+
+    public CatalogDictionary(CatalogDictionaryRepository dictionaryRepository, ApplicationEventPublisher eventPublisher) {
+        this.dictionaryRepository = dictionaryRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Runs ahead of the index build so the indexes already see canonical labels
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialize() {
+        int linked = linkProducts(CatalogDictionaryRepository.CATEGORIES) + linkProducts(CatalogDictionaryRepository.BRANDS);
+        if (linked > 0) {
+            log.info("Linked {} products to category and brand ids", linked);
+        }
+        dictionaryRepository.relabelProducts();
+        dictionaryRepository.ensureForeignKeys();
+
+        categories.replaceAll(dictionaryRepository.findAll(CatalogDictionaryRepository.CATEGORIES));
+        brands.replaceAll(dictionaryRepository.findAll(CatalogDictionaryRepository.BRANDS));
+        log.info("Loaded {} categories and {} brands into the catalog dictionary", categories.size(), brands.size());
+    }
+
+    public Long categoryId(String nameOrSlug) {
+        return categories.id(nameOrSlug);
+    }
+
+    public String categoryName(Long id) {
+        return categories.name(id);
+    }
+
+    public Long brandId(String nameOrSlug) {
+        return brands.id(nameOrSlug);
+    }
+
+    public String brandName(Long id) {
+        return brands.name(id);
+    }
+
+    /**
+     * Returns the category a product write refers to, creating it on first use. Must be called inside the
+     * writing transaction; a new entry only becomes visible to lookups once that transaction commits.
+     */
+    public DictionaryTerm resolveCategory(String nameOrSlug) {
+        DictionaryTerm known = categories.term(nameOrSlug);
+        if (known != null || isBlank(nameOrSlug)) return known;
+
+        String name = nameOrSlug.trim();
+        DictionaryTerm created = dictionaryRepository.findOrCreate(CatalogDictionaryRepository.CATEGORIES, name, slug(name));
+        eventPublisher.publishEvent(CategoryChangedEvent.updated(created.getId()));
+        return created;
+    }
+
+    public DictionaryTerm resolveBrand(String nameOrSlug) {
+        DictionaryTerm known = brands.term(nameOrSlug);
+        if (known != null || isBlank(nameOrSlug)) return known;
+
+        String name = nameOrSlug.trim();
+        DictionaryTerm created = dictionaryRepository.findOrCreate(CatalogDictionaryRepository.BRANDS, name, slug(name));
+        afterCommit(() -> brands.put(created));
+        return created;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDeleted()) {
+            categories.remove(event.getCategoryId());
+            return;
+        }
+        dictionaryRepository.findById(CatalogDictionaryRepository.CATEGORIES, event.getCategoryId())
+            .ifPresentOrElse(categories::put, () -> categories.remove(event.getCategoryId()));
+    }
+
+    // Labels that differ only in case or spacing share a slug and so end up on the same entry
+    private int linkProducts(String table) {
+        int linked = 0;
+        for (String label : dictionaryRepository.findUnlinkedLabels(table)) {
+            DictionaryTerm term = dictionaryRepository.findOrCreate(table, label, slug(label));
+            linked += dictionaryRepository.linkProducts(table, label, term.getId());
+        }
+        return linked;
+    }
+
+    public static String slug(String name) {
+        String slug = String.join("-", TextAnalyzer.words(name));
+        return slug.isEmpty() ? TextAnalyzer.normalize(name) : slug;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String key(String value) {
+        return TextAnalyzer.normalize(value);
+    }
+
+    // Reads are lock-free; the rare writes are serialized so the two maps never disagree for long
+    private static final class Terms {
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+        private final Map<Long, DictionaryTerm> byId = new ConcurrentHashMap<>();
+
+        private Long id(String nameOrSlug) {
+            return isBlank(nameOrSlug) ? null : ids.get(key(nameOrSlug));
+        }
+
+        private DictionaryTerm term(String nameOrSlug) {
+            Long id = id(nameOrSlug);
+            return id == null ? null : byId.get(id);
+        }
+
+        private String name(Long id) {
+            DictionaryTerm term = id == null ? null : byId.get(id);
+            return term == null ? null : term.getName();
+        }
+
+        private int size() {
+            return byId.size();
+        }
+
+        private synchronized void replaceAll(Collection<DictionaryTerm> terms) {
+            ids.clear();
+            byId.clear();
+            terms.forEach(this::put);
+        }
+
+        private synchronized void put(DictionaryTerm term) {
+            remove(term.getId());
+            byId.put(term.getId(), term);
+            // A name always wins over another entry's slug that normalizes to the same key
+            ids.putIfAbsent(key(term.getSlug()), term.getId());
+            ids.put(key(term.getName()), term.getId());
+        }
+
+        private synchronized void remove(Long id) {
+            DictionaryTerm existing = byId.remove(id);
+            if (existing != null) {
+                ids.remove(key(existing.getName()), id);
+                ids.remove(key(existing.getSlug()), id);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.megamart.productservice.catalog;
+
+import java.util.Collection;
+
+public interface CatalogIndex {
+    void rebuild(Collection<ProductDocument> documents);
+    void apply(ProductDocument document);
+    void remove(Long productId);
+}
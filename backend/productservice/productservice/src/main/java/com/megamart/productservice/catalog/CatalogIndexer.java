@@ -0,0 +1,190 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.dto.CatalogChangeDto;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.snapshot.CatalogSnapshot;
+import com.megamart.productservice.snapshot.CatalogSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class CatalogIndexer {
+
+    private static final int CATCH_UP_PAGE = 1000;
+
+    private final ProductRepository productRepository;
+    private final List<CatalogIndex> indexes;
+    private final CatalogSnapshotStore snapshotStore;
+    private final CatalogChangeService changeService;
+    // Feed version the indexes reflect; changes after it are picked up by followChanges(). -1 until first built
+    private volatile long appliedVersion = -1;
+
+    public CatalogIndexer(ProductRepository productRepository, List<CatalogIndex> indexes,
+                          CatalogSnapshotStore snapshotStore, CatalogChangeService changeService) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+        this.snapshotStore = snapshotStore;
+        this.changeService = changeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void buildIndexes() {
+        CatalogSnapshot snapshot = snapshotStore.open();
+        if (snapshot != null && warmStart(snapshot)) return;
+        loadFromDatabase();
+    }
+
+    /**
+     * Replays the change feed written since the indexes were built, including changes made through other
+     * instances, which publish no events here. Changes this instance made itself come round again and are
+     * re-read, which is harmless. Falls back to a full load when the feed has been pruned past the last version
+     * applied.
+     */
+    @Scheduled(fixedDelayString = "${productservice.changes.follow-interval:PT2S}")
+    @Transactional(readOnly = true)
+    public synchronized void followChanges() {
+        if (appliedVersion < 0) return;
+
+        Map<Long, String> changed = new LinkedHashMap<>();
+        long since = appliedVersion;
+        CatalogChangeFeedDto page;
+        do {
+            page = changeService.getChanges(since, CATCH_UP_PAGE);
+            if (page.isResetRequired()) {
+                log.warn("Catalog change feed was pruned past version {}, reloading the indexes", appliedVersion);
+                loadFromDatabase();
+                return;
+            }
+            collect(page, changed);
+            since = page.getNextSinceVersion();
+        } while (page.isHasMore());
+
+        replay(changed);
+        appliedVersion = since;
+    }
+
+    private void loadFromDatabase() {
+        // Read first, so a change committed during the load is replayed rather than skipped
+        long version = changeService.getLatestVersion();
+        List<ProductDocument> documents = productRepository.findAllWithTags().stream()
+            .map(ProductDocument::from)
+            .toList();
+        for (CatalogIndex index : indexes) {
+            index.rebuild(documents);
+        }
+        appliedVersion = version;
+        log.info("Built {} catalog indexes over {} products", indexes.size(), documents.size());
+    }
+
+    /**
+     * Builds the indexes from the mapped snapshot instead of loading every product, then replays the change feed
+     * recorded since it was written. Returns false, leaving the indexes alone, when the feed no longer reaches back
+     * to the snapshot or the snapshot is ahead of the database.
+     */
+    private boolean warmStart(CatalogSnapshot snapshot) {
+        long since = snapshot.getCatalogVersion();
+        if (since > changeService.getLatestVersion()) {
+            log.warn("Catalog snapshot version {} is ahead of the database, loading from the database", since);
+            return false;
+        }
+
+        Map<Long, String> changed = new LinkedHashMap<>();
+        CatalogChangeFeedDto page;
+        do {
+            page = changeService.getChanges(since, CATCH_UP_PAGE);
+            if (page.isResetRequired()) {
+                log.info("Catalog snapshot version {} predates the retained change feed, loading from the database",
+                    snapshot.getCatalogVersion());
+                return false;
+            }
+            collect(page, changed);
+            since = page.getNextSinceVersion();
+        } while (page.isHasMore());
+
+        // Decoded once and shared; the snapshot's own list decodes every string again on each pass over it
+        List<ProductDocument> documents = List.copyOf(snapshot.documents());
+        for (CatalogIndex index : indexes) {
+            index.rebuild(documents);
+        }
+        replay(changed);
+        appliedVersion = since;
+
+        log.info("Built {} catalog indexes from snapshot of {} products at version {} and {} later changes",
+            indexes.size(), snapshot.size(), snapshot.getCatalogVersion(), changed.size());
+        return true;
+    }
+
+    // Latest operation per product; replaying the final state is enough
+    private static void collect(CatalogChangeFeedDto page, Map<Long, String> changed) {
+        for (CatalogChangeDto change : page.getChanges()) {
+            if (CatalogChange.PRODUCT.equals(change.getEntityType())) {
+                changed.remove(change.getEntityId());
+                changed.put(change.getEntityId(), change.getOperation());
+            }
+        }
+    }
+
+    private void replay(Map<Long, String> changed) {
+        List<Long> upserted = new ArrayList<>();
+        changed.forEach((productId, operation) -> {
+            if (CatalogChange.DELETE.equals(operation)) {
+                onProductChanged(ProductChangedEvent.deleted(productId));
+            } else {
+                upserted.add(productId);
+            }
+        });
+        for (int from = 0; from < upserted.size(); from += CATCH_UP_PAGE) {
+            List<Long> chunk = upserted.subList(from, Math.min(from + CATCH_UP_PAGE, upserted.size()));
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            for (Product product : productRepository.findAllWithTagsByIdIn(chunk)) {
+                missing.remove(product.getId());
+                onProductChanged(ProductChangedEvent.updated(ProductDocument.from(product)));
+            }
+            missing.forEach(productId -> onProductChanged(ProductChangedEvent.deleted(productId)));
+        }
+    }
+
+    // For writes that bypass the entity layer and so publish no per-product events
+    @Transactional(readOnly = true)
+    public void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        
+        for (Product product : productRepository.findAllWithTagsByIdIn(productIds)) {
+            onProductChanged(ProductChangedEvent.updated(ProductDocument.from(product)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        for (CatalogIndex index : indexes) {
+            try {
+                if (event.isDeleted()) {
+                    index.remove(event.getProductId());
+                } else {
+                    index.apply(event.getDocument());
+                }
+            } catch (Exception e) {
+                log.error("Failed to update {} for product {}: {}", index.getClass().getSimpleName(), event.getProductId(), e.getMessage());
+            }
+        }
+    }
+}
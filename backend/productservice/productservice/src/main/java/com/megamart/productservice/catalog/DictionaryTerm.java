@@ -0,0 +1,12 @@
+package com.megamart.productservice.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DictionaryTerm {
+    private final Long id;
+    private final String name;
+    private final String slug;
+}
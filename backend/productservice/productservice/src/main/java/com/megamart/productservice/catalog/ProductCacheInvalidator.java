@@ -0,0 +1,45 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts cached products as the catalog indexes are updated. Those updates come from this instance's own events
+ * and from {@link CatalogIndexer#followChanges()}, so a change made through any replica is evicted everywhere
+ * once the feed has numbered it: within the relay and follow intervals, about 2.5 seconds by default. The
+ * cache TTL only bounds the rare entry loaded before a change committed and stored after its eviction.
+ */
+@Component
+public class ProductCacheInvalidator implements CatalogIndex {
+
+    private final CacheManager cacheManager;
+
+    public ProductCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) cache.clear();
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        evict(document.getId());
+    }
+
+    @Override
+    public void remove(Long productId) {
+        evict(productId);
+    }
+
+    public void evict(Long productId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) cache.evict(productId);
+    }
+}
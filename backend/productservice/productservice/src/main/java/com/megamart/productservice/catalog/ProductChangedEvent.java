@@ -0,0 +1,23 @@
+package com.megamart.productservice.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+    private final ProductDocument document;
+
+    public static ProductChangedEvent updated(ProductDocument document) {
+        return new ProductChangedEvent(document.getId(), document);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return document == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.entity.ProductTag;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductDocument {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String brand;
+    private final BigDecimal price;
+    private final Double discountPercentage;
+    private final Double rating;
+    private final Integer stock;
+    // Units held by open reservations; they stay in stock but are not for sale
+    private final Integer reservedStock;
+    private final String availabilityStatus;
+    private final String sku;
+    private final String barcode;
+    private final List<String> tags;
+
+    public static ProductDocument from(Product product) {
+        List<String> tags = product.getTags() == null ? List.of() : product.getTags().stream()
+            .map(ProductTag::getTag)
+            .toList();
+        return new ProductDocument(
+            product.getId(),
+            product.getTitle(),
+            product.getDescription(),
+            product.getCategory(),
+            product.getBrand(),
+            product.getPrice(),
+            product.getDiscountPercentage(),
+            product.getRating(),
+            product.getStock(),
+            product.getReservedStock(),
+            product.getAvailabilityStatus(),
+            product.getSku(),
+            product.getBarcode(),
+            tags
+        );
+    }
+}
@@ -22,6 +22,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow CORS preflight
                         .requestMatchers(HttpMethod.GET, "/api/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/products/batch").permitAll() // Read-only lookup for long id lists
+                        .requestMatchers(HttpMethod.POST, "/api/products/by-code").permitAll() // Read-only multi-scan lookup
+                        .requestMatchers(HttpMethod.POST, "/api/products/*/cart-adds").permitAll() // Popularity signal posted by cartwishlist off the request thread
                         .anyRequest().authenticated());
         return http.build();
     }
@@ -2,26 +2,72 @@ package com.megamart.productservice.controller;
 
 import com.megamart.productservice.dto.*;
 import com.megamart.productservice.entity.Category;
+import com.megamart.productservice.importer.ProductImportFormat;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.service.PriceScheduleService;
+import com.megamart.productservice.service.ProductBulkUpdateService;
+import com.megamart.productservice.service.ProductExportService;
+import com.megamart.productservice.service.ProductImportService;
+import com.megamart.productservice.service.ProductPageService;
+import com.megamart.productservice.service.ProductPopularityService;
+import com.megamart.productservice.service.ProductReviewService;
 import com.megamart.productservice.service.ProductService;
+import com.megamart.productservice.service.RelatedProductsService;
+import com.megamart.productservice.service.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
 @RequestMapping("/api")
 public class ProductController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductReviewService productReviewService;
+    private final CatalogChangeService catalogChangeService;
+    private final StockReservationService stockReservationService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final ProductPopularityService productPopularityService;
+    private final RelatedProductsService relatedProductsService;
+    private final PriceScheduleService priceScheduleService;
+    private final ProductPageService productPageService;
     
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductImportService productImportService, ProductReviewService productReviewService,
+                             CatalogChangeService catalogChangeService, StockReservationService stockReservationService,
+                             ProductBulkUpdateService productBulkUpdateService,
+                             ProductPopularityService productPopularityService,
+                             RelatedProductsService relatedProductsService, PriceScheduleService priceScheduleService,
+                             ProductPageService productPageService) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.productReviewService = productReviewService;
+        this.catalogChangeService = catalogChangeService;
+        this.stockReservationService = stockReservationService;
+        this.productBulkUpdateService = productBulkUpdateService;
+        this.productPopularityService = productPopularityService;
+        this.relatedProductsService = relatedProductsService;
+        this.priceScheduleService = priceScheduleService;
+        this.productPageService = productPageService;
     }
     
     @GetMapping("/products")
@@ -29,19 +75,124 @@ public class ProductController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "30") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String after) {
         
-        Page<ProductDTO> products = productService.getAllProducts(page, size, sortBy, sortDirection);
+        if (after != null) {
+            ProductSliceDto products = productService.getAllProductsAfter(after, size, sortBy, sortDirection);
+            return ResponseEntity.ok(ProductResponseDto.success(products, "Products retrieved successfully"));
+        }
+        Page<ProductSummaryDTO> products = productService.getAllProducts(page, size, sortBy, sortDirection);
         return ResponseEntity.ok(ProductResponseDto.success(products, "Products retrieved successfully"));
     }
     
     @GetMapping("/products/{id}")
     public ResponseEntity<ProductResponseDto> getProductById(@PathVariable Long id) {
         return productService.getProductById(id)
-            .map(product -> ResponseEntity.ok(ProductResponseDto.success(product, "Product retrieved successfully")))
+            .map(product -> {
+                productPopularityService.recordView(id);
+                return ResponseEntity.ok(ProductResponseDto.success(product, "Product retrieved successfully"));
+            })
             .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ProductResponseDto.error("Product not found with id: " + id)));
     }
     
+    @GetMapping("/products/{id}/page")
+    public ResponseEntity<ProductResponseDto> getProductPage(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "5") int reviewSize,
+                                                             @RequestParam(defaultValue = "8") int relatedLimit) {
+        ProductPageDto page = productPageService.getPage(id, reviewSize, relatedLimit);
+        productPopularityService.recordView(id);
+        return ResponseEntity.ok(ProductResponseDto.success(page, "Product page retrieved successfully"));
+    }
+    
+    @GetMapping("/products/trending")
+    public ResponseEntity<ProductResponseDto> getTrendingProducts(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TrendingProductDto> products = productPopularityService.getTrending(window, limit);
+        return ResponseEntity.ok(ProductResponseDto.success(products, "Trending products retrieved successfully"));
+    }
+    
+    @GetMapping("/products/{id}/related")
+    public ResponseEntity<ProductResponseDto> getRelatedProducts(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        List<RelatedProductDto> products = relatedProductsService.getRelated(id, limit);
+        return ResponseEntity.ok(ProductResponseDto.success(products, "Related products retrieved successfully"));
+    }
+    
+    @PostMapping("/products/{id}/cart-adds")
+    public ResponseEntity<Void> recordCartAdd(@PathVariable Long id) {
+        productPopularityService.recordCartAdd(id);
+        return ResponseEntity.accepted().build();
+    }
+    
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) Long afterId) {
+        
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(updatedSince, afterId, outputStream);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+    
+    @GetMapping("/products/changes")
+    public ResponseEntity<ProductResponseDto> getChanges(
+            @RequestParam(defaultValue = "0") long sinceVersion,
+            @RequestParam(defaultValue = "500") int limit) {
+        
+        CatalogChangeFeedDto changes = catalogChangeService.getChanges(sinceVersion, limit);
+        return ResponseEntity.ok(ProductResponseDto.success(changes, "Catalog changes retrieved successfully"));
+    }
+    
+    @GetMapping("/products/{id}/reviews")
+    public ResponseEntity<ProductResponseDto> getProductReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        ReviewSliceDto reviews = productReviewService.getReviews(id, cursor, size);
+        return ResponseEntity.ok(ProductResponseDto.success(reviews, "Product reviews retrieved successfully"));
+    }
+    
+    @PostMapping("/products/{id}/reviews")
+    public ResponseEntity<ProductResponseDto> addProductReview(@PathVariable Long id, @RequestBody ProductReviewRequestDto request) {
+        ProductReviewDTO review = productReviewService.addReview(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponseDto.success(review, "Review added successfully"));
+    }
+    
+    @DeleteMapping("/products/{id}/reviews/{reviewId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> deleteProductReview(@PathVariable Long id, @PathVariable Long reviewId) {
+        productReviewService.deleteReview(id, reviewId);
+        return ResponseEntity.ok(ProductResponseDto.success(null, "Review deleted successfully"));
+    }
+    
+    @GetMapping("/products/batch")
+    public ResponseEntity<ProductResponseDto> getProductsByIds(@RequestParam List<Long> ids) {
+        Map<Long, ProductBriefDto> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(ProductResponseDto.success(products, "Products retrieved successfully"));
+    }
+    
+    @PostMapping("/products/batch")
+    public ResponseEntity<ProductResponseDto> getProductsByIdsPost(@RequestBody List<Long> ids) {
+        Map<Long, ProductBriefDto> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(ProductResponseDto.success(products, "Products retrieved successfully"));
+    }
+    
+    @GetMapping("/products/by-code/{code}")
+    public ResponseEntity<ProductResponseDto> getProductByCode(@PathVariable String code) {
+        return productService.findProductIdByCode(code)
+            .flatMap(productService::getProductById)
+            .map(product -> ResponseEntity.ok(ProductResponseDto.success(product, "Product retrieved successfully")))
+            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ProductResponseDto.error("Product not found with code: " + code)));
+    }
+    
+    @PostMapping("/products/by-code")
+    public ResponseEntity<ProductResponseDto> getProductsByCodes(@RequestBody List<String> codes) {
+        Map<String, ProductBriefDto> products = productService.getProductsByCodes(codes);
+        return ResponseEntity.ok(ProductResponseDto.success(products, "Products retrieved successfully"));
+    }
+    
     @PostMapping("/products")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<ProductResponseDto> createProduct(@RequestBody ProductDTO productDTO) {
@@ -49,6 +200,48 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponseDto.success(createdProduct, "Product created successfully"));
     }
     
+    @PostMapping(value = "/products/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(ProductResponseDto.error("Import file is empty"));
+        }
+        ProductImportFormat importFormat = ProductImportFormat.resolve(format, file.getOriginalFilename());
+        ProductImportResultDto result = productImportService.importProducts(file.getInputStream(), importFormat);
+        return ResponseEntity.ok(ProductResponseDto.success(result, "Product import completed"));
+    }
+    
+    @PostMapping("/products/bulk-update")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> bulkUpdateProducts(@RequestBody BulkUpdateRequestDto request) {
+        BulkUpdateResultDto result = productBulkUpdateService.bulkUpdate(request);
+        return ResponseEntity.ok(ProductResponseDto.success(result, "Bulk update completed"));
+    }
+    
+    @PostMapping("/products/price-schedules")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> schedulePriceChange(@RequestBody PriceScheduleRequestDto request) {
+        List<ScheduledPriceChangeDto> changes = priceScheduleService.schedule(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponseDto.success(changes, "Price change scheduled successfully"));
+    }
+    
+    @GetMapping("/products/{id}/price-schedules")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> getPendingPriceChanges(@PathVariable Long id) {
+        List<ScheduledPriceChangeDto> changes = priceScheduleService.getPending(id);
+        return ResponseEntity.ok(ProductResponseDto.success(changes, "Scheduled price changes retrieved successfully"));
+    }
+    
+    @DeleteMapping("/products/price-schedules/{changeId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ProductResponseDto> cancelPriceChange(@PathVariable Long changeId) {
+        priceScheduleService.cancel(changeId);
+        return ResponseEntity.ok(ProductResponseDto.success(null, "Scheduled price change cancelled successfully"));
+    }
+    
     @PutMapping("/products/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<ProductResponseDto> updateProduct(@PathVariable Long id, @RequestBody ProductDTO productDTO) {
@@ -67,9 +260,14 @@ public class ProductController {
     public ResponseEntity<ProductResponseDto> getProductsByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         
-        Page<ProductDTO> products = productService.getProductsByCategory(category, page, size);
+        if (after != null) {
+            ProductSliceDto products = productService.getProductsByCategoryAfter(category, after, size);
+            return ResponseEntity.ok(ProductResponseDto.success(products, "Products by category retrieved successfully"));
+        }
+        Page<ProductSummaryDTO> products = productService.getProductsByCategory(category, page, size);
         return ResponseEntity.ok(ProductResponseDto.success(products, "Products by category retrieved successfully"));
     }
     
@@ -80,10 +278,13 @@ public class ProductController {
             @RequestParam(required = false) String brand,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String availabilityStatus,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String after) {
         
         ProductSearchRequest request = new ProductSearchRequest();
         request.setQuery(keyword);
@@ -91,21 +292,64 @@ public class ProductController {
         request.setBrand(brand);
         request.setMinPrice(minPrice != null ? BigDecimal.valueOf(minPrice) : null);
         request.setMaxPrice(maxPrice != null ? BigDecimal.valueOf(maxPrice) : null);
+        request.setInStock(inStock);
+        request.setAvailabilityStatus(availabilityStatus);
         request.setPage(page);
         request.setSize(size);
         request.setSortBy(sortBy);
         request.setSortDirection(sortDirection);
         
-        Page<ProductDTO> products = productService.searchProducts(request);
+        if (after != null) {
+            ProductSliceDto products = productService.searchProductsAfter(request, after);
+            return ResponseEntity.ok(ProductResponseDto.success(products, "Products search completed successfully"));
+        }
+        Page<ProductSummaryDTO> products = productService.searchProducts(request);
         return ResponseEntity.ok(ProductResponseDto.success(products, "Products search completed successfully"));
     }
     
+    @GetMapping("/products/facets")
+    public ResponseEntity<ProductResponseDto> getFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String availabilityStatus) {
+        
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery(keyword);
+        request.setCategory(category);
+        request.setBrand(brand);
+        request.setMinPrice(minPrice != null ? BigDecimal.valueOf(minPrice) : null);
+        request.setMaxPrice(maxPrice != null ? BigDecimal.valueOf(maxPrice) : null);
+        request.setInStock(inStock);
+        request.setAvailabilityStatus(availabilityStatus);
+        
+        ProductFacetsDto facets = productService.getFacets(request);
+        return ResponseEntity.ok(ProductResponseDto.success(facets, "Product facets retrieved successfully"));
+    }
+    
+    @GetMapping("/products/suggest")
+    public ResponseEntity<ProductResponseDto> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        
+        List<SuggestionDto> suggestions = productService.suggest(q, limit);
+        return ResponseEntity.ok(ProductResponseDto.success(suggestions, "Suggestions retrieved successfully"));
+    }
+    
     @GetMapping("/products/in-stock")
     public ResponseEntity<ProductResponseDto> getProductsInStock(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         
-        Page<ProductDTO> products = productService.getProductsInStock(page, size);
+        if (after != null) {
+            ProductSliceDto products = productService.getProductsInStockAfter(after, size);
+            return ResponseEntity.ok(ProductResponseDto.success(products, "In-stock products retrieved successfully"));
+        }
+        Page<ProductSummaryDTO> products = productService.getProductsInStock(page, size);
         return ResponseEntity.ok(ProductResponseDto.success(products, "In-stock products retrieved successfully"));
     }
     
@@ -169,6 +413,46 @@ public class ProductController {
         return ResponseEntity.ok(ProductResponseDto.success(updatedProduct, "Stock updated successfully"));
     }
     
+    @PostMapping("/products/stock/batch")
+    public ResponseEntity<ProductResponseDto> updateStockBatch(@RequestBody BatchStockUpdateRequestDto request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return ResponseEntity.badRequest().body(ProductResponseDto.error("items are required"));
+        }
+        
+        List<StockLevelDto> stockLevels = productService.updateStockBatch(request.getItems());
+        return ResponseEntity.ok(ProductResponseDto.success(stockLevels, "Stock updated successfully"));
+    }
+    
+    @GetMapping("/products/{id}/availability")
+    public ResponseEntity<ProductResponseDto> getAvailability(@PathVariable Long id) {
+        StockAvailabilityDto availability = stockReservationService.getAvailability(id);
+        return ResponseEntity.ok(ProductResponseDto.success(availability, "Availability retrieved successfully"));
+    }
+    
+    @PostMapping("/products/reservations")
+    public ResponseEntity<ProductResponseDto> createReservation(@RequestBody ReservationRequestDto request) {
+        ReservationDto reservation = stockReservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponseDto.success(reservation, "Stock reserved successfully"));
+    }
+    
+    @GetMapping("/products/reservations/{reservationId}")
+    public ResponseEntity<ProductResponseDto> getReservation(@PathVariable String reservationId) {
+        ReservationDto reservation = stockReservationService.getReservation(reservationId);
+        return ResponseEntity.ok(ProductResponseDto.success(reservation, "Reservation retrieved successfully"));
+    }
+    
+    @PostMapping("/products/reservations/{reservationId}/confirm")
+    public ResponseEntity<ProductResponseDto> confirmReservation(@PathVariable String reservationId) {
+        ReservationDto reservation = stockReservationService.confirm(reservationId);
+        return ResponseEntity.ok(ProductResponseDto.success(reservation, "Reservation confirmed successfully"));
+    }
+    
+    @PostMapping("/products/reservations/{reservationId}/release")
+    public ResponseEntity<ProductResponseDto> releaseReservation(@PathVariable String reservationId) {
+        ReservationDto reservation = stockReservationService.release(reservationId);
+        return ResponseEntity.ok(ProductResponseDto.success(reservation, "Reservation released successfully"));
+    }
+    
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("Product Service is running on port 9096");
@@ -0,0 +1,25 @@
+package com.megamart.productservice.dto;
+
+import com.megamart.productservice.exception.ProductValidationException;
+
+import java.util.Locale;
+
+public enum BulkUpdateOperation {
+    SET_PRICE,
+    SCALE_PRICE,
+    SET_DISCOUNT,
+    SET_AVAILABILITY;
+
+    public static BulkUpdateOperation resolve(String operation) {
+        if (operation == null || operation.isBlank()) {
+            throw new ProductValidationException("operation is required");
+        }
+        return switch (operation.trim().replace('-', '_').toUpperCase(Locale.ROOT)) {
+            case "SET_PRICE", "SETPRICE" -> SET_PRICE;
+            case "SCALE_PRICE", "SCALEPRICE" -> SCALE_PRICE;
+            case "SET_DISCOUNT", "SETDISCOUNT" -> SET_DISCOUNT;
+            case "SET_AVAILABILITY", "SETAVAILABILITY" -> SET_AVAILABILITY;
+            default -> throw new ProductValidationException("operation", operation);
+        };
+    }
+}
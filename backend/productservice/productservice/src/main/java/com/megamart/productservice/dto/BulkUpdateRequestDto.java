@@ -0,0 +1,21 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateRequestDto {
+    private String category;
+    private String brand;
+    private String tag;
+    private List<Long> ids;
+    private String operation;
+    private BigDecimal value;
+    private String availabilityStatus;
+}
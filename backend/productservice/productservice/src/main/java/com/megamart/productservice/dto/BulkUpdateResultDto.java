@@ -0,0 +1,16 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDto {
+    private String operation;
+    private long matchedProducts;
+    private long updatedProducts;
+    private int chunks;
+    private long durationMs;
+}
@@ -0,0 +1,18 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangeDto {
+    private Long version;
+    private String entityType;
+    private Long entityId;
+    private String operation;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,19 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangeFeedDto {
+    private List<CatalogChangeDto> changes;
+    private long latestVersion;
+    private long nextSinceVersion;
+    private boolean hasMore;
+    // The requested version has been pruned; the consumer must reload (e.g. from /products/export) before following the feed
+    private boolean resetRequired;
+}
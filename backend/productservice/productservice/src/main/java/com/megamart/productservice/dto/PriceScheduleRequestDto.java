@@ -0,0 +1,22 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceScheduleRequestDto {
+    private String reference;
+    private List<Long> productIds;
+    private BigDecimal price;
+    private Double discountPercentage;
+    private LocalDateTime startsAt;
+    // Optional; at this time the products go back to the price and discount they had when the sale was scheduled
+    private LocalDateTime endsAt;
+}
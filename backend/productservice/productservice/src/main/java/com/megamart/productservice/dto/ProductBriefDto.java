@@ -0,0 +1,18 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBriefDto {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private Integer stock;
+    private String thumbnail;
+}
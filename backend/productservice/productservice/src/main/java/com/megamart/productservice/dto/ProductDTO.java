@@ -25,7 +25,7 @@ public class ProductDTO {
     private String thumbnail;
     private List<String> tags;
     private List<String> images;
-    private List<ProductReviewDTO> reviews;
+    private ReviewSummaryDto reviewSummary;
     
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -69,6 +69,6 @@ public class ProductDTO {
     public List<String> getImages() { return images; }
     public void setImages(List<String> images) { this.images = images; }
     
-    public List<ProductReviewDTO> getReviews() { return reviews; }
-    public void setReviews(List<ProductReviewDTO> reviews) { this.reviews = reviews; }
+    public ReviewSummaryDto getReviewSummary() { return reviewSummary; }
+    public void setReviewSummary(ReviewSummaryDto reviewSummary) { this.reviewSummary = reviewSummary; }
 }
\ No newline at end of file
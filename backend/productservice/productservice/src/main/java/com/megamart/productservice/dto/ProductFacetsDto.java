@@ -0,0 +1,20 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDto {
+    private long total;
+    private long inStock;
+    private Map<String, Long> categories;
+    private Map<String, Long> brands;
+    private List<FacetBucketDto> priceRanges;
+    private List<FacetBucketDto> ratings;
+}
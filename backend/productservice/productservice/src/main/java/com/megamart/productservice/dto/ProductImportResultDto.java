@@ -0,0 +1,20 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDto {
+    private String format;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<ProductImportErrorDto> errors;
+}
@@ -0,0 +1,34 @@
+package com.megamart.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRow {
+    private String sku;
+    private String title;
+    private String description;
+    private String category;
+    private BigDecimal price;
+    private Double discountPercentage;
+    private Double rating;
+    private Integer stock;
+    private String brand;
+    private String availabilityStatus;
+    private String thumbnail;
+    private List<String> tags;
+    private List<String> images;
+    
+    // Resolved from the dictionary just before the write, never read from the import file
+    @JsonIgnore
+    private Long categoryId;
+    @JsonIgnore
+    private Long brandId;
+}
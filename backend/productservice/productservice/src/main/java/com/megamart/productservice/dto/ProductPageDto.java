@@ -0,0 +1,19 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDto {
+    private ProductDTO product;
+    private ReviewSliceDto reviews;
+    private CategoryDto category;
+    private List<RelatedProductDto> related;
+    private int availableStock;
+    private boolean inStock;
+}
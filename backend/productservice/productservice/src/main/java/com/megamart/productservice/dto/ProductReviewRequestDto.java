@@ -0,0 +1,15 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReviewRequestDto {
+    private Integer rating;
+    private String comment;
+    private String reviewerName;
+    private String reviewerEmail;
+}
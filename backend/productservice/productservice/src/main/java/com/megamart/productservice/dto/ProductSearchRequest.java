@@ -15,7 +15,9 @@ public class ProductSearchRequest {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private String brand;
-    private String sortBy = "id";
+    private Boolean inStock;
+    private String availabilityStatus;
+    private String sortBy = "relevance";
     private String sortDirection = "asc";
     private Integer page = 0;
     private Integer size = 20;
@@ -35,6 +37,12 @@ public class ProductSearchRequest {
     public String getBrand() { return brand; }
     public void setBrand(String brand) { this.brand = brand; }
     
+    public Boolean getInStock() { return inStock; }
+    public void setInStock(Boolean inStock) { this.inStock = inStock; }
+    
+    public String getAvailabilityStatus() { return availabilityStatus; }
+    public void setAvailabilityStatus(String availabilityStatus) { this.availabilityStatus = availabilityStatus; }
+    
     public String getSortBy() { return sortBy; }
     public void setSortBy(String sortBy) { this.sortBy = sortBy; }
     
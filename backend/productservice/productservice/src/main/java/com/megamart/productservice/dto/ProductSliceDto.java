@@ -0,0 +1,17 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSliceDto {
+    private List<ProductSummaryDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
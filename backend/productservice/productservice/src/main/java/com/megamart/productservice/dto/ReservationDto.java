@@ -0,0 +1,19 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDto {
+    private String reservationId;
+    private String reference;
+    private String status;
+    private LocalDateTime expiresAt;
+    private List<ReservationItemDto> items;
+}
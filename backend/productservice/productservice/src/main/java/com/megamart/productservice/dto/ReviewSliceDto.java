@@ -0,0 +1,16 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSliceDto {
+    private List<ProductReviewDTO> content;
+    private boolean hasNext;
+    private String nextCursor;
+}
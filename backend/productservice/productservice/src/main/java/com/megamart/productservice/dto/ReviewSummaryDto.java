@@ -0,0 +1,16 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryDto {
+    private long reviewCount;
+    private Double averageRating;
+    private Map<Integer, Integer> histogram;
+}
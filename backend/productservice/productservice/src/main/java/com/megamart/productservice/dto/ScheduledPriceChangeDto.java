@@ -0,0 +1,21 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledPriceChangeDto {
+    private Long id;
+    private Long productId;
+    private BigDecimal price;
+    private Double discountPercentage;
+    private LocalDateTime effectiveAt;
+    private String status;
+    private String reference;
+}
@@ -0,0 +1,15 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityDto {
+    private Long productId;
+    private int stock;
+    private int reserved;
+    private int available;
+}
@@ -0,0 +1,19 @@
+package com.megamart.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProductDto {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private Integer stock;
+    private String thumbnail;
+    private double score;
+}
@@ -0,0 +1,43 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "catalog_changes", indexes = {
+    @Index(name = "idx_catalog_changes_version", columnList = "version", unique = true),
+    @Index(name = "idx_catalog_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChange {
+    
+    public static final String PRODUCT = "PRODUCT";
+    public static final String CATEGORY = "CATEGORY";
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Null until the relay numbers the committed row
+    private Long version;
+    
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private String entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(nullable = false, length = 16)
+    private String operation;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
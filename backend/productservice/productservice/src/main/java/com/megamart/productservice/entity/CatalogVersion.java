@@ -0,0 +1,26 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter behind the change feed. Only the version relay locks it, after the writers' change
+ * rows have committed, so versions become visible in the order they were handed out.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+    
+    public static final Integer CATALOG = 1;
+    
+    @Id
+    private Integer id;
+    
+    @Column(nullable = false)
+    private Long version;
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,7 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category_brand", columnList = "category_id, brand_id"),
+    @Index(name = "idx_products_brand", columnList = "brand_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +37,9 @@ public class Product {
     @Column(nullable = false)
     private String category;
     
+    @Column(name = "category_id")
+    private Long categoryId;
+    
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
     
@@ -43,8 +51,15 @@ public class Product {
     @Column(nullable = false)
     private Integer stock = 0;
     
+    // Units held by open reservations; part of stock but not for sale
+    @Column(name = "reserved_stock", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer reservedStock = 0;
+    
     private String brand;
     
+    @Column(name = "brand_id")
+    private Long brandId;
+    
     @Column(unique = true)
     private String sku;
     
@@ -80,16 +95,20 @@ public class Product {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<ProductTag> tags=new ArrayList<>();
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<ProductImage> images=new ArrayList<>();
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<ProductReview> reviews=new ArrayList<>();
     
-    @OneToOne(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private ProductMetadata metadata;
+    // Read in the product's own select; mapping ProductMetadata here as an inverse one-to-one cost a select per product
+    @Formula("(SELECT m.barcode FROM product_metadata m WHERE m.product_id = id)")
+    private String barcode;
     
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -103,6 +122,9 @@ public class Product {
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
     public BigDecimal getPrice() { return price; }
     public void setPrice(BigDecimal price) { this.price = price; }
     
@@ -115,9 +137,15 @@ public class Product {
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
     
+    public Integer getReservedStock() { return reservedStock; }
+    public void setReservedStock(Integer reservedStock) { this.reservedStock = reservedStock; }
+    
     public String getBrand() { return brand; }
     public void setBrand(String brand) { this.brand = brand; }
     
+    public Long getBrandId() { return brandId; }
+    public void setBrandId(Long brandId) { this.brandId = brandId; }
+    
     public String getSku() { return sku; }
     public void setSku(String sku) { this.sku = sku; }
     
@@ -0,0 +1,29 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCounter {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Long views = 0L;
+    
+    @Column(name = "cart_adds", nullable = false)
+    private Long cartAdds = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_review_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReviewStats {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount = 0;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+    
+    @Column(name = "one_star", nullable = false)
+    private Integer oneStar = 0;
+    
+    @Column(name = "two_star", nullable = false)
+    private Integer twoStar = 0;
+    
+    @Column(name = "three_star", nullable = false)
+    private Integer threeStar = 0;
+    
+    @Column(name = "four_star", nullable = false)
+    private Integer fourStar = 0;
+    
+    @Column(name = "five_star", nullable = false)
+    private Integer fiveStar = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "related_products", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_related_products_position", columnNames = {"product_id", "position"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedProduct {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Integer position;
+    
+    @Column(name = "related_id", nullable = false)
+    private Long relatedId;
+    
+    @Column(nullable = false)
+    private Double score;
+}
@@ -0,0 +1,52 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_price_changes", indexes = {
+    @Index(name = "idx_scheduled_price_changes_status_effective", columnList = "status, effective_at"),
+    @Index(name = "idx_scheduled_price_changes_product", columnList = "product_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledPriceChange {
+    
+    public static final String PENDING = "PENDING";
+    public static final String APPLIED = "APPLIED";
+    public static final String CANCELLED = "CANCELLED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "discount_percentage")
+    private Double discountPercentage;
+    
+    @Column(name = "effective_at", nullable = false)
+    private LocalDateTime effectiveAt;
+    
+    @Column(nullable = false, length = 16)
+    private String status;
+    
+    @Column(length = 100)
+    private String reference;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,29 @@
+package com.megamart.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "stock_reservation_items", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stock_reservation_items", columnNames = {"reservation_id", "product_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "reservation_id", nullable = false, length = 36)
+    private String reservationId;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -34,6 +34,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(ReviewNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleReviewNotFound(ReviewNotFoundException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(SUCCESS, false);
+        response.put(ERROR, ex.getMessage());
+        response.put(TIMESTAMP, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(PriceScheduleNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handlePriceScheduleNotFound(PriceScheduleNotFoundException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(SUCCESS, false);
+        response.put(ERROR, ex.getMessage());
+        response.put(TIMESTAMP, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleReservationNotFound(ReservationNotFoundException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(SUCCESS, false);
+        response.put(ERROR, ex.getMessage());
+        response.put(TIMESTAMP, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     @ExceptionHandler(ProductValidationException.class)
     public ResponseEntity<Map<String, Object>> handleProductValidation(ProductValidationException ex) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,7 @@
+package com.megamart.productservice.exception;
+
+public class PriceScheduleNotFoundException extends RuntimeException {
+    public PriceScheduleNotFoundException(Long id) {
+        super("Scheduled price change not found with id: " + id);
+    }
+}
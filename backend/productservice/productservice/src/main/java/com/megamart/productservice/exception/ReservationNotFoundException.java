@@ -0,0 +1,7 @@
+package com.megamart.productservice.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+    public ReservationNotFoundException(String id) {
+        super("Reservation not found with id: " + id);
+    }
+}
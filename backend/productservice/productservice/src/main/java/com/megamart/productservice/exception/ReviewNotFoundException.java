@@ -0,0 +1,11 @@
+package com.megamart.productservice.exception;
+
+public class ReviewNotFoundException extends RuntimeException {
+    public ReviewNotFoundException(String message) {
+        super(message);
+    }
+    
+    public ReviewNotFoundException(Long id) {
+        super("Review not found with id: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.megamart.productservice.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImportRecord {
+    private final long line;
+    private final String text;
+}
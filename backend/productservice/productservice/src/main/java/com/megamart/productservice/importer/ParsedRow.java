@@ -0,0 +1,25 @@
+package com.megamart.productservice.importer;
+
+import com.megamart.productservice.dto.ProductImportRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ParsedRow {
+    private final long line;
+    private final ProductImportRow row;
+    private final String error;
+
+    public static ParsedRow valid(long line, ProductImportRow row) {
+        return new ParsedRow(line, row, null);
+    }
+
+    public static ParsedRow invalid(long line, ProductImportRow row, String error) {
+        return new ParsedRow(line, row, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
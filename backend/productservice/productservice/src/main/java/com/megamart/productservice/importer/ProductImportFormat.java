@@ -0,0 +1,26 @@
+package com.megamart.productservice.importer;
+
+import com.megamart.productservice.exception.ProductValidationException;
+
+import java.util.Locale;
+
+public enum ProductImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ProductImportFormat resolve(String format, String filename) {
+        String value = format;
+        if ((value == null || value.isBlank()) && filename != null && filename.contains(".")) {
+            value = filename.substring(filename.lastIndexOf('.') + 1);
+        }
+        if (value == null || value.isBlank()) {
+            throw new ProductValidationException("Import format could not be determined; pass format=csv or format=ndjson");
+        }
+
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "ndjson", "jsonl" -> NDJSON;
+            default -> throw new ProductValidationException("format", value);
+        };
+    }
+}
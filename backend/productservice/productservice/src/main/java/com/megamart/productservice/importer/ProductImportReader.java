@@ -0,0 +1,222 @@
+package com.megamart.productservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.megamart.productservice.dto.ProductImportRow;
+import com.megamart.productservice.exception.ProductValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits an upload into records on the calling thread; {@link #parse} is stateless and may run in parallel.
+ */
+public class ProductImportReader {
+
+    private static final String LIST_SEPARATOR = "\\|";
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_URL_LENGTH = 500;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final BufferedReader reader;
+    private final ProductImportFormat format;
+    private final ObjectReader jsonReader;
+    private final Map<String, Integer> columns;
+    private long lineNumber;
+
+    public ProductImportReader(BufferedReader reader, ProductImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(ProductImportRow.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.columns = format == ProductImportFormat.CSV ? readHeader() : Map.of();
+    }
+
+    public ProductImportFormat getFormat() {
+        return format;
+    }
+
+    public List<ImportRecord> nextChunk(int maxRecords) throws IOException {
+        List<ImportRecord> chunk = new ArrayList<>(maxRecords);
+        ImportRecord record;
+        while (chunk.size() < maxRecords && (record = nextRecord()) != null) {
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    public ParsedRow parse(ImportRecord record) {
+        ProductImportRow row;
+        try {
+            row = format == ProductImportFormat.CSV ? fromCsv(splitCsv(record.getText())) : jsonReader.readValue(record.getText());
+        } catch (JsonProcessingException e) {
+            return ParsedRow.invalid(record.getLine(), null, "Malformed row: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.invalid(record.getLine(), null, "Malformed row: " + e.getMessage());
+        }
+
+        if (row.getSku() != null) row.setSku(row.getSku().trim());
+        String error = validate(row);
+        return error == null ? ParsedRow.valid(record.getLine(), row) : ParsedRow.invalid(record.getLine(), row, error);
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        ImportRecord headerRecord = nextRecord();
+        if (headerRecord == null) {
+            throw new ProductValidationException("CSV import is empty");
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = splitCsv(headerRecord.getText());
+        for (int i = 0; i < names.size(); i++) {
+            header.put(columnKey(names.get(i)), i);
+        }
+        if (!header.containsKey("sku")) {
+            throw new ProductValidationException("CSV header must include a sku column");
+        }
+        return header;
+    }
+
+    private ImportRecord nextRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+            if (lineNumber++ == 0 && line.startsWith("\uFEFF")) line = line.substring(1);
+        } while (line.isBlank());
+
+        long start = lineNumber;
+        if (format == ProductImportFormat.NDJSON) {
+            return new ImportRecord(start, line);
+        }
+
+        // A quoted CSV field may contain line breaks; keep reading until the quotes balance
+        StringBuilder text = new StringBuilder(line);
+        int quotes = countQuotes(line);
+        while (quotes % 2 != 0) {
+            String next = reader.readLine();
+            if (next == null) break;
+            lineNumber++;
+            text.append('\n').append(next);
+            quotes += countQuotes(next);
+        }
+        return new ImportRecord(start, text.toString());
+    }
+
+    private ProductImportRow fromCsv(List<String> fields) {
+        ProductImportRow row = new ProductImportRow();
+        row.setSku(text(fields, "sku"));
+        row.setTitle(text(fields, "title"));
+        row.setDescription(text(fields, "description"));
+        row.setCategory(text(fields, "category"));
+        row.setBrand(text(fields, "brand"));
+        row.setAvailabilityStatus(text(fields, "availabilitystatus"));
+        row.setThumbnail(text(fields, "thumbnail"));
+
+        String price = text(fields, "price");
+        row.setPrice(price != null ? new BigDecimal(price) : null);
+        String discount = text(fields, "discountpercentage");
+        row.setDiscountPercentage(discount != null ? Double.valueOf(discount) : null);
+        String rating = text(fields, "rating");
+        row.setRating(rating != null ? Double.valueOf(rating) : null);
+        String stock = text(fields, "stock");
+        row.setStock(stock != null ? Integer.valueOf(stock) : null);
+
+        row.setTags(list(fields, "tags"));
+        row.setImages(list(fields, "images"));
+        return row;
+    }
+
+    private String text(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> list(List<String> fields, String column) {
+        if (!columns.containsKey(column)) return null;
+        String value = text(fields, column);
+        if (value == null) return List.of();
+        return Arrays.stream(value.split(LIST_SEPARATOR))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .toList();
+    }
+
+    private static String validate(ProductImportRow row) {
+        if (isBlank(row.getSku())) return "sku is required";
+        if (row.getSku().length() > MAX_TEXT_LENGTH) return "sku is longer than " + MAX_TEXT_LENGTH + " characters";
+        if (isBlank(row.getTitle())) return "title is required";
+        if (row.getTitle().length() > MAX_TEXT_LENGTH) return "title is longer than " + MAX_TEXT_LENGTH + " characters";
+        if (isBlank(row.getCategory())) return "category is required";
+        if (row.getPrice() == null) return "price is required";
+        if (row.getPrice().signum() < 0 || row.getPrice().compareTo(MAX_PRICE) > 0) return "price is out of range";
+        if (row.getStock() != null && row.getStock() < 0) return "stock cannot be negative";
+        if (row.getRating() != null && (row.getRating() < 0 || row.getRating() > 5)) return "rating must be between 0 and 5";
+        if (row.getDiscountPercentage() != null && (row.getDiscountPercentage() < 0 || row.getDiscountPercentage() > 100)) {
+            return "discountPercentage must be between 0 and 100";
+        }
+        if (row.getThumbnail() != null && row.getThumbnail().length() > MAX_URL_LENGTH) return "thumbnail URL is too long";
+        if (row.getImages() != null && row.getImages().stream().anyMatch(url -> url == null || url.length() > MAX_URL_LENGTH)) {
+            return "image URLs must be present and at most " + MAX_URL_LENGTH + " characters";
+        }
+        if (row.getTags() != null && row.getTags().stream().anyMatch(tag -> isBlank(tag) || tag.length() > MAX_TEXT_LENGTH)) {
+            return "tags must be non-empty and at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String columnKey(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static int countQuotes(String text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') quotes++;
+        }
+        return quotes;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
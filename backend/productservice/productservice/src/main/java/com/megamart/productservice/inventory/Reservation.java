@@ -0,0 +1,37 @@
+package com.megamart.productservice.inventory;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A hold on stock for one or more products, as stored in stock_reservations.
+ */
+@Getter
+public class Reservation {
+    private final String id;
+    private final String reference;
+    private final Map<Long, Integer> items;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime expiresAt;
+    private final ReservationStatus status;
+    private final LocalDateTime updatedAt;
+
+    public Reservation(String id, String reference, Map<Long, Integer> items, LocalDateTime createdAt,
+                       LocalDateTime expiresAt, ReservationStatus status, LocalDateTime updatedAt) {
+        this.id = id;
+        this.reference = reference;
+        this.items = Collections.unmodifiableMap(new TreeMap<>(items));
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public Reservation withStatus(ReservationStatus status, LocalDateTime updatedAt) {
+        return new Reservation(id, reference, items, createdAt, expiresAt, status, updatedAt);
+    }
+}
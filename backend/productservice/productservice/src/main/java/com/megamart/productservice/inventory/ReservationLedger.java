@@ -0,0 +1,69 @@
+package com.megamart.productservice.inventory;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.StockAvailabilityDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stock and held units per product for O(1) available-to-sell reads. Both come from the indexed product
+ * document, whose reserved_stock every instance updates in the same transaction as the hold itself, so the
+ * view converges across replicas through the catalog events instead of counting holds locally. The products
+ * table stays the authority: reservations and stock changes are checked there.
+ */
+@Slf4j
+@Component
+public class ReservationLedger implements CatalogIndex {
+
+    private final Map<Long, StockCell> cells = new ConcurrentHashMap<>();
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        Set<Long> catalog = new HashSet<>();
+        for (ProductDocument document : documents) {
+            catalog.add(document.getId());
+            apply(document);
+        }
+        for (Long productId : List.copyOf(cells.keySet())) {
+            if (!catalog.contains(productId)) remove(productId);
+        }
+        log.info("Reservation ledger tracking {} products", cells.size());
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        cells.put(document.getId(), new StockCell(
+            document.getStock() != null ? document.getStock() : 0,
+            document.getReservedStock() != null ? document.getReservedStock() : 0));
+    }
+
+    @Override
+    public void remove(Long productId) {
+        cells.remove(productId);
+    }
+
+    public StockAvailabilityDto availability(Long productId) {
+        StockCell cell = cells.get(productId);
+        return cell == null ? null
+            : new StockAvailabilityDto(productId, cell.stock, cell.reserved, Math.max(cell.stock - cell.reserved, 0));
+    }
+
+    // Replaced whole on every change so a reader never sees stock and reserved units from different versions
+    private static final class StockCell {
+        private final int stock;
+        private final int reserved;
+
+        private StockCell(int stock, int reserved) {
+            this.stock = stock;
+            this.reserved = reserved;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.megamart.productservice.inventory;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED;
+
+    public boolean isFinal() {
+        return this != HELD;
+    }
+}
@@ -0,0 +1,12 @@
+package com.megamart.productservice.popularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CounterDelta {
+    private final Long productId;
+    private final long views;
+    private final long cartAdds;
+}
@@ -0,0 +1,146 @@
+package com.megamart.productservice.popularity;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * View and add-to-cart counts per product plus exponentially decayed trending scores.
+ * Recording only bumps a {@link LongAdder}, which stripes contended increments across cells, so the request path
+ * never takes a lock. Counts are folded into the scores and handed out as deltas when {@link #drain()} runs.
+ * Counters exist only for products in the catalog; events for any other id are ignored, so callers cannot grow
+ * the map or product_counters with ids that were never products.
+ */
+@Component
+public class ProductPopularityTracker implements CatalogIndex {
+
+    static final double VIEW_WEIGHT = 1.0;
+    static final double CART_ADD_WEIGHT = 5.0;
+
+    private static final TrendingWindow[] WINDOWS = TrendingWindow.values();
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Object scoring = new Object();
+    private final Clock clock;
+
+    public ProductPopularityTracker() {
+        this(Clock.systemUTC());
+    }
+
+    ProductPopularityTracker(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        Set<Long> catalog = new HashSet<>();
+        for (ProductDocument document : documents) catalog.add(document.getId());
+        counters.keySet().removeIf(productId -> !catalog.contains(productId));
+        // Existing counters keep their counts and scores
+        for (Long productId : catalog) counters.computeIfAbsent(productId, id -> new Counter());
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        counters.computeIfAbsent(document.getId(), id -> new Counter());
+    }
+
+    @Override
+    public void remove(Long productId) {
+        counters.remove(productId);
+    }
+
+    public void recordView(Long productId) {
+        Counter counter = counters.get(productId);
+        if (counter != null) counter.views.increment();
+    }
+
+    public void recordCartAdd(Long productId) {
+        Counter counter = counters.get(productId);
+        if (counter != null) counter.cartAdds.increment();
+    }
+
+    /**
+     * Returns what was counted since the previous call and folds it into the decayed scores.
+     * Must only be called from one thread at a time, which the scheduled flush guarantees.
+     */
+    public List<CounterDelta> drain() {
+        long now = clock.millis();
+        List<CounterDelta> deltas = new ArrayList<>();
+        synchronized (scoring) {
+            for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+                Counter counter = entry.getValue();
+                // Counts only ever grow, so reading them against the last drained marks loses no concurrent increment
+                long views = counter.views.sum();
+                long cartAdds = counter.cartAdds.sum();
+                long newViews = views - counter.drainedViews;
+                long newCartAdds = cartAdds - counter.drainedCartAdds;
+                if (newViews == 0 && newCartAdds == 0) continue;
+
+                counter.drainedViews = views;
+                counter.drainedCartAdds = cartAdds;
+                counter.fold(newViews * VIEW_WEIGHT + newCartAdds * CART_ADD_WEIGHT, now);
+                deltas.add(new CounterDelta(entry.getKey(), newViews, newCartAdds));
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Highest current scores for the window, best first. Only events already drained are reflected.
+     */
+    public List<TrendingScore> trending(TrendingWindow window, int limit) {
+        long now = clock.millis();
+        Comparator<TrendingScore> byScore = Comparator.comparingDouble(TrendingScore::getScore)
+            .thenComparing(TrendingScore::getProductId, Comparator.reverseOrder());
+        PriorityQueue<TrendingScore> top = new PriorityQueue<>(limit + 1, byScore);
+
+        synchronized (scoring) {
+            for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+                double score = entry.getValue().score(window, now);
+                if (score <= 0) continue;
+                top.add(new TrendingScore(entry.getKey(), score));
+                if (top.size() > limit) top.poll();
+            }
+        }
+
+        List<TrendingScore> ranked = new ArrayList<>(top);
+        ranked.sort(byScore.reversed());
+        return ranked;
+    }
+
+    private static final class Counter {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder cartAdds = new LongAdder();
+        // Guarded by the scoring lock
+        private long drainedViews;
+        private long drainedCartAdds;
+        private final double[] scores = new double[WINDOWS.length];
+        private long scoredAt;
+
+        private void fold(double weight, long now) {
+            for (TrendingWindow window : WINDOWS) {
+                scores[window.ordinal()] = score(window, now) + weight;
+            }
+            scoredAt = now;
+        }
+
+        private double score(TrendingWindow window, long now) {
+            double score = scores[window.ordinal()];
+            if (score == 0) return 0;
+            return score * Math.exp(-(double) (now - scoredAt) / window.getLifetime().toMillis());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.megamart.productservice.popularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TrendingScore {
+    private final Long productId;
+    private final double score;
+}
@@ -0,0 +1,39 @@
+package com.megamart.productservice.popularity;
+
+import com.megamart.productservice.exception.ProductValidationException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Horizons the trending scores are kept for. Each score decays exponentially with the window as its mean
+ * lifetime, so an event an hour old counts about a third as much in the 1h ranking as a fresh one.
+ */
+public enum TrendingWindow {
+    ONE_HOUR(Duration.ofHours(1)),
+    SIX_HOURS(Duration.ofHours(6)),
+    ONE_DAY(Duration.ofDays(1)),
+    SEVEN_DAYS(Duration.ofDays(7));
+
+    private final Duration lifetime;
+
+    TrendingWindow(Duration lifetime) {
+        this.lifetime = lifetime;
+    }
+
+    public Duration getLifetime() {
+        return lifetime;
+    }
+
+    public static TrendingWindow resolve(String window) {
+        if (window == null || window.isBlank()) return ONE_HOUR;
+
+        return switch (window.trim().toLowerCase(Locale.ROOT)) {
+            case "1h" -> ONE_HOUR;
+            case "6h" -> SIX_HOURS;
+            case "24h", "1d" -> ONE_DAY;
+            case "7d" -> SEVEN_DAYS;
+            default -> throw new ProductValidationException("window", window);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.megamart.productservice.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Price and discount to set on a product; a null field is left unchanged.
+ */
+@Getter
+@AllArgsConstructor
+public class PriceChange {
+    private final Long productId;
+    private final BigDecimal price;
+    private final Double discountPercentage;
+}
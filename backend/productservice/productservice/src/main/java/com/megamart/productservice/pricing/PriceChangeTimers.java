@@ -0,0 +1,58 @@
+package com.megamart.productservice.pricing;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pending scheduled price changes by id, on a one-second timing wheel. A change whose time has already come is
+ * handed out on the next {@link #due()} call. Cancelled changes are left on the wheel and skipped when applied.
+ */
+@Component
+public class PriceChangeTimers {
+
+    static final long TICK_MILLIS = 1000;
+    // 64 one-second buckets, then about 68 minutes, 73 hours and 194 days per bucket on the levels above
+    static final int WHEEL_SIZE = 64;
+
+    private final Clock clock;
+    private final TimingWheel<Long> wheel;
+    // A set, since the database sweep hands back changes that may already be waiting here
+    private final Set<Long> overdue = new LinkedHashSet<>();
+
+    public PriceChangeTimers() {
+        this(Clock.systemDefaultZone());
+    }
+
+    PriceChangeTimers(Clock clock) {
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, clock.millis());
+    }
+
+    public synchronized void schedule(Long changeId, LocalDateTime effectiveAt) {
+        long deadline = effectiveAt.atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (!wheel.schedule(changeId, deadline)) overdue.add(changeId);
+    }
+
+    // Puts back changes that could not be applied; they come out again on the next call
+    public synchronized void retry(Collection<Long> changeIds) {
+        overdue.addAll(changeIds);
+    }
+
+    public synchronized List<Long> due() {
+        Set<Long> due = new LinkedHashSet<>(overdue);
+        overdue.clear();
+        due.addAll(wheel.advance(clock.millis()));
+        return new ArrayList<>(due);
+    }
+
+    public synchronized int pending() {
+        return wheel.size() + overdue.size();
+    }
+}
@@ -0,0 +1,117 @@
+package com.megamart.productservice.pricing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one bucket per tick; each level above has buckets as wide as a full turn
+ * of the level below, and its timers are cascaded down when that turn begins. Scheduling and each tick are O(1)
+ * apart from the timers that fall due or cascade, however many timers are pending. Levels are added on demand.
+ * Not thread-safe; the owner serializes access.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Timer<T>>[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Returns false without scheduling when the deadline falls within the current tick, so the caller runs it now.
+     */
+    public boolean schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) return false;
+
+        place(new Timer<>(item, deadlineTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the items that fell due, oldest deadline first.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> due = new ArrayList<>();
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return due;
+        }
+
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            cascade();
+            List<Timer<T>> bucket = bucket(0, currentTick);
+            for (Timer<T> timer : bucket) due.add(timer.item);
+            size -= bucket.size();
+            bucket.clear();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // At the start of a level's turn, the matching bucket of the level above is spread over the levels below
+    private void cascade() {
+        int top = 0;
+        long span = wheelSize;
+        while (top + 1 < levels.size() && currentTick % span == 0) {
+            top++;
+            span *= wheelSize;
+        }
+        for (int level = top; level > 0; level--) {
+            List<Timer<T>> bucket = bucket(level, currentTick);
+            if (bucket.isEmpty()) continue;
+            List<Timer<T>> timers = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Timer<T> timer : timers) place(timer);
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.tick - currentTick;
+        int level = 0;
+        long span = wheelSize;
+        while (delta >= span) {
+            level++;
+            span *= wheelSize;
+        }
+        bucket(level, timer.tick).add(timer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Timer<T>> bucket(int level, long tick) {
+        while (levels.size() <= level) {
+            List<Timer<T>>[] buckets = new List[wheelSize];
+            for (int i = 0; i < wheelSize; i++) buckets[i] = new ArrayList<>();
+            levels.add(buckets);
+        }
+        long width = 1;
+        for (int i = 0; i < level; i++) width *= wheelSize;
+        return levels.get(level)[(int) ((tick / width) % wheelSize)];
+    }
+
+    private static final class Timer<T> {
+        private final T item;
+        private final long tick;
+
+        private Timer(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
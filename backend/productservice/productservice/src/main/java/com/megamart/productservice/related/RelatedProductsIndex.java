@@ -0,0 +1,255 @@
+package com.megamart.productservice.related;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.search.TextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Similarity between products as the Jaccard index of their tag, category and brand features.
+ * Each product gets a MinHash signature whose bands are bucketed (locality-sensitive hashing), so candidates are
+ * only the products sharing a bucket rather than the whole catalog; candidates are then ranked by exact Jaccard.
+ * Products whose ranking may have moved are collected as dirty for the recompute job to drain.
+ */
+@Slf4j
+@Component
+public class RelatedProductsIndex implements CatalogIndex {
+
+    static final int HASHES = 64;
+    static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+    // Products with identical features share every bucket, so a huge category would otherwise be scanned whole
+    private static final int MAX_BUCKET_SCAN = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<String>> features = new HashMap<>();
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final Set<Long> dirty = new LinkedHashSet<>();
+    private volatile boolean ready;
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            features.clear();
+            signatures.clear();
+            buckets.clear();
+            dirty.clear();
+            for (ProductDocument document : documents) {
+                put(document.getId(), features(document));
+                dirty.add(document.getId());
+            }
+            ready = true;
+            log.info("Related products index built over {} products in {} buckets", features.size(), buckets.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        Set<String> updated = features(document);
+        lock.writeLock().lock();
+        try {
+            // Price, stock and text edits leave the similarity untouched
+            if (updated.equals(features.get(document.getId()))) return;
+
+            markNeighbours(document.getId());
+            unbucket(document.getId());
+            put(document.getId(), updated);
+            markNeighbours(document.getId());
+            dirty.add(document.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (!features.containsKey(productId)) return;
+
+            markNeighbours(productId);
+            unbucket(productId);
+            features.remove(productId);
+            signatures.remove(productId);
+            dirty.add(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Set<Long> drainDirty() {
+        lock.writeLock().lock();
+        try {
+            Set<Long> drained = new LinkedHashSet<>(dirty);
+            dirty.clear();
+            return drained;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void requeue(Collection<Long> productIds) {
+        lock.writeLock().lock();
+        try {
+            dirty.addAll(productIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} most similar products, best first, or null when the product is not in the catalog.
+     */
+    public List<SimilarProduct> similar(Long productId, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<String> own = features.get(productId);
+            if (own == null) return null;
+
+            Comparator<SimilarProduct> byScore = Comparator.comparingDouble(SimilarProduct::getScore)
+                .thenComparing(SimilarProduct::getProductId, Comparator.reverseOrder());
+            PriorityQueue<SimilarProduct> top = new PriorityQueue<>(limit + 1, byScore);
+            for (Long candidate : candidates(productId)) {
+                double score = jaccard(own, features.get(candidate));
+                if (score <= 0) continue;
+                top.add(new SimilarProduct(candidate, score));
+                if (top.size() > limit) top.poll();
+            }
+
+            List<SimilarProduct> ranked = new ArrayList<>(top);
+            ranked.sort(byScore.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long productId, Set<String> productFeatures) {
+        features.put(productId, productFeatures);
+        if (productFeatures.isEmpty()) {
+            signatures.remove(productId);
+            return;
+        }
+        int[] signature = signature(productFeatures);
+        signatures.put(productId, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(productId);
+        }
+    }
+
+    private void unbucket(Long productId) {
+        int[] signature = signatures.get(productId);
+        if (signature == null) return;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(productId) && bucket.isEmpty()) buckets.remove(key);
+        }
+    }
+
+    // The product's neighbours may gain or lose it in their rankings
+    private void markNeighbours(Long productId) {
+        dirty.addAll(candidates(productId));
+    }
+
+    private Set<Long> candidates(Long productId) {
+        Set<Long> candidates = new HashSet<>();
+        int[] signature = signatures.get(productId);
+        if (signature == null) return candidates;
+
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) continue;
+            int scanned = 0;
+            for (Long candidate : bucket) {
+                if (++scanned > MAX_BUCKET_SCAN) break;
+                if (!candidate.equals(productId)) candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    static Set<String> features(ProductDocument document) {
+        Set<String> features = new HashSet<>();
+        for (String tag : document.getTags()) {
+            String normalized = TextAnalyzer.normalize(tag);
+            if (!normalized.isEmpty()) features.add("t:" + normalized);
+        }
+        String category = TextAnalyzer.normalize(document.getCategory());
+        if (!category.isEmpty()) features.add("c:" + category);
+        String brand = TextAnalyzer.normalize(document.getBrand());
+        if (!brand.isEmpty()) features.add("b:" + brand);
+        return features;
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b == null || b.isEmpty()) return 0;
+        int shared = 0;
+        for (String feature : a) {
+            if (b.contains(feature)) shared++;
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    // Minimum of each of HASHES independent hash functions over the feature set
+    static int[] signature(Set<String> productFeatures) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : productFeatures) {
+            long base = fnv1a(feature);
+            for (int i = 0; i < HASHES; i++) {
+                int h = (int) (mix(base + (i + 1) * 0x9E3779B97F4A7C15L) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,11 @@
+package com.megamart.productservice.related;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SimilarProduct {
+    private final Long productId;
+    private final double score;
+}
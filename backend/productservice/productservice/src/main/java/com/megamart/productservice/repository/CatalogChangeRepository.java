@@ -0,0 +1,33 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.CatalogChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+    
+    List<CatalogChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Limit limit);
+    
+    Optional<CatalogChange> findFirstByVersionIsNotNullOrderByVersionAsc();
+    
+    boolean existsByVersionIsNull();
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CatalogChange c WHERE c.version IS NULL ORDER BY c.id")
+    List<CatalogChange> findPendingForUpdate(Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.changedAt < :cutoff AND c.version IS NOT NULL")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,118 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.catalog.DictionaryTerm;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Native SQL behind the category and brand dictionary, including the one-off linking of products that
+ * predate the category_id and brand_id columns. Everything here is idempotent and safe to run on every boot.
+ * Slugs are never derived here; callers pass the one {@link com.megamart.productservice.catalog.CatalogDictionary#slug}
+ * computes.
+ */
+@Repository
+public class CatalogDictionaryRepository {
+
+    public static final String CATEGORIES = "categories";
+    public static final String BRANDS = "brands";
+
+    private static final RowMapper<DictionaryTerm> TERM_MAPPER = (rs, rowNum) ->
+        new DictionaryTerm(rs.getLong("id"), rs.getString("name"), rs.getString("slug"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CatalogDictionaryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<DictionaryTerm> findAll(String table) {
+        return jdbcTemplate.query("SELECT id, name, slug FROM " + table, TERM_MAPPER);
+    }
+
+    public Optional<DictionaryTerm> findById(String table, Long id) {
+        return jdbcTemplate.query("SELECT id, name, slug FROM " + table + " WHERE id = :id",
+            new MapSqlParameterSource("id", id), TERM_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * Returns the row named {@code name}, creating it if needed. A concurrent insert of the same name, or an
+     * existing row that already owns the slug, is picked up instead of failing. The upsert locks that row and the
+     * locking read returns its committed state, so it is found even when it was committed after the calling
+     * transaction's snapshot.
+     */
+    public DictionaryTerm findOrCreate(String table, String name, String slug) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("name", name).addValue("slug", slug);
+        jdbcTemplate.update("INSERT INTO " + table + " (name, slug, created_at, updated_at) " +
+            "VALUES (:name, :slug, NOW(), NOW()) ON DUPLICATE KEY UPDATE id = id", parameters);
+        return jdbcTemplate.query("SELECT id, name, slug FROM " + table + " WHERE name = :name OR slug = :slug " +
+            "ORDER BY name = :name DESC LIMIT 1 FOR UPDATE", parameters, TERM_MAPPER).stream()
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Could not create " + table + " entry " + name));
+    }
+
+    /**
+     * Distinct trimmed category or brand labels of products that have no dictionary id yet.
+     */
+    public List<String> findUnlinkedLabels(String table) {
+        String label = labelColumn(table);
+        return jdbcTemplate.getJdbcOperations().queryForList("SELECT DISTINCT TRIM(p." + label + ") FROM products p " +
+            "WHERE " + unlinked(table), String.class);
+    }
+
+    /**
+     * Points the unlinked products carrying {@code label} at the dictionary row {@code id}. Returns the number
+     * of products that were linked.
+     */
+    public int linkProducts(String table, String label, Long id) {
+        return jdbcTemplate.update("UPDATE products p SET p." + idColumn(table) + " = :id " +
+            "WHERE " + unlinked(table) + " AND TRIM(p." + labelColumn(table) + ") = :label",
+            new MapSqlParameterSource("id", id).addValue("label", label));
+    }
+
+    /**
+     * Rewrites the labels of linked products to the canonical dictionary names.
+     */
+    public void relabelProducts() {
+        relabel(CATEGORIES);
+        relabel(BRANDS);
+    }
+
+    public void ensureForeignKeys() {
+        addForeignKey("fk_products_category", idColumn(CATEGORIES), CATEGORIES);
+        addForeignKey("fk_products_brand", idColumn(BRANDS), BRANDS);
+    }
+
+    private void relabel(String table) {
+        String label = labelColumn(table);
+        jdbcTemplate.getJdbcOperations().update("UPDATE products p JOIN " + table + " t ON t.id = p." + idColumn(table) +
+            " SET p." + label + " = t.name WHERE BINARY p." + label + " <> BINARY t.name");
+    }
+
+    private static String unlinked(String table) {
+        String label = labelColumn(table);
+        return "p." + idColumn(table) + " IS NULL AND p." + label + " IS NOT NULL AND TRIM(p." + label + ") <> ''";
+    }
+
+    private static String labelColumn(String table) {
+        return CATEGORIES.equals(table) ? "category" : "brand";
+    }
+
+    private static String idColumn(String table) {
+        return CATEGORIES.equals(table) ? "category_id" : "brand_id";
+    }
+
+    private void addForeignKey(String name, String column, String table) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS " +
+            "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'products' AND CONSTRAINT_NAME = :name",
+            new MapSqlParameterSource("name", name), Integer.class);
+        if (existing != null && existing > 0) return;
+
+        jdbcTemplate.getJdbcOperations().execute("ALTER TABLE products ADD CONSTRAINT " + name +
+            " FOREIGN KEY (" + column + ") REFERENCES " + table + " (id)");
+    }
+}
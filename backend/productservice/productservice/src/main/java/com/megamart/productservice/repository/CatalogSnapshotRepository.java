@@ -0,0 +1,81 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+public class CatalogSnapshotRepository {
+
+    private static final int GROUP_CONCAT_MAX_LEN = 1024 * 1024;
+
+    private static final String DOCUMENTS_SQL =
+        "SELECT p.id, p.title, p.description, p.category, p.brand, p.price, p.discount_percentage, p.rating, p.stock, " +
+        "p.reserved_stock, p.availability_status, p.sku, m.barcode, " +
+        "(SELECT GROUP_CONCAT(t.tag ORDER BY t.id SEPARATOR '\\n') FROM product_tags t WHERE t.product_id = p.id) AS tags " +
+        "FROM products p LEFT JOIN product_metadata m ON m.product_id = p.id " +
+        "ORDER BY p.id";
+
+    public interface DocumentHandler {
+        void handle(ProductDocument document) throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogSnapshotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Streams the same fields the catalog indexes are built from, without loading entities or their collections
+    public void streamDocuments(DocumentHandler handler) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement session = connection.createStatement()) {
+                session.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    DOCUMENTS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapRow(rs));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private static ProductDocument mapRow(ResultSet rs) throws SQLException {
+        String tags = rs.getString("tags");
+        List<String> tagList = tags == null || tags.isEmpty() ? List.of() : Arrays.asList(tags.split("\n"));
+        return new ProductDocument(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("category"),
+            rs.getString("brand"),
+            rs.getBigDecimal("price"),
+            rs.getObject("discount_percentage", Double.class),
+            rs.getObject("rating", Double.class),
+            rs.getObject("stock", Integer.class),
+            rs.getObject("reserved_stock", Integer.class),
+            rs.getString("availability_status"),
+            rs.getString("sku"),
+            rs.getString("barcode"),
+            tagList
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.CatalogVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM CatalogVersion v WHERE v.id = :id")
+    Optional<CatalogVersion> findForUpdate(@Param("id") Integer id);
+    
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO catalog_version (id, version) VALUES (:id, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Integer id);
+}
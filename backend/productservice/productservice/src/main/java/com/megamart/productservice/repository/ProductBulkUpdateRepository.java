@@ -0,0 +1,88 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.dto.BulkUpdateOperation;
+import com.megamart.productservice.pricing.PriceChange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ProductBulkUpdateRepository {
+
+    private static final String UPDATE_PRICE_SQL =
+        "UPDATE products SET price = COALESCE(?, price), discount_percentage = COALESCE(?, discount_percentage), " +
+        "updated_at = NOW() WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBulkUpdateRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> findIds(Filter filter, long afterId, int limit) {
+        MapSqlParameterSource parameters = parameters(filter).addValue("afterId", afterId).addValue("limit", limit);
+        return jdbcTemplate.queryForList("SELECT p.id FROM products p WHERE p.id > :afterId" + predicates(filter) +
+            " ORDER BY p.id LIMIT :limit", parameters, Long.class);
+    }
+
+    /**
+     * Applies the operation to one chunk in a single statement. The filter is repeated so a product that stopped
+     * matching after its id was read is left alone.
+     */
+    public int update(BulkUpdateOperation operation, Object value, Filter filter, Collection<Long> ids) {
+        String assignment = switch (operation) {
+            case SET_PRICE -> "price = :value";
+            case SCALE_PRICE -> "price = ROUND(price * :value, 2)";
+            case SET_DISCOUNT -> "discount_percentage = :value";
+            case SET_AVAILABILITY -> "availability_status = :value";
+        };
+        MapSqlParameterSource parameters = parameters(filter).addValue("value", value).addValue("chunkIds", ids);
+        return jdbcTemplate.update("UPDATE products p SET " + assignment + ", updated_at = NOW() " +
+            "WHERE p.id IN (:chunkIds)" + predicates(filter), parameters);
+    }
+
+    // One batched statement per product, since each carries its own values; null fields keep the current value
+    public void updatePrices(Collection<PriceChange> changes) {
+        if (changes.isEmpty()) return;
+
+        List<PriceChange> rows = List.copyOf(changes);
+        jdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_PRICE_SQL, rows, rows.size(), (ps, change) -> {
+            ps.setBigDecimal(1, change.getPrice());
+            ps.setObject(2, change.getDiscountPercentage(), Types.DOUBLE);
+            ps.setLong(3, change.getProductId());
+        });
+    }
+
+    private static String predicates(Filter filter) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.getCategoryId() != null) sql.append(" AND p.category_id = :categoryId");
+        if (filter.getBrandId() != null) sql.append(" AND p.brand_id = :brandId");
+        if (filter.getTag() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM product_tags t WHERE t.product_id = p.id AND t.tag = :tag)");
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) sql.append(" AND p.id IN (:ids)");
+        return sql.toString();
+    }
+
+    private static MapSqlParameterSource parameters(Filter filter) {
+        return new MapSqlParameterSource("categoryId", filter.getCategoryId())
+            .addValue("brandId", filter.getBrandId())
+            .addValue("tag", filter.getTag())
+            .addValue("ids", filter.getIds());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Filter {
+        private final Long categoryId;
+        private final Long brandId;
+        private final String tag;
+        private final Collection<Long> ids;
+    }
+}
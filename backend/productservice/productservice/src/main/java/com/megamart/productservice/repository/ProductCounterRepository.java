@@ -0,0 +1,39 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.popularity.CounterDelta;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ProductCounterRepository {
+
+    private static final String ADD_SQL =
+        "INSERT INTO product_counters (product_id, views, cart_adds, updated_at) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE views = views + VALUES(views), cart_adds = cart_adds + VALUES(cart_adds), " +
+        "updated_at = VALUES(updated_at)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductCounterRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Adds the deltas to the stored totals in one batch; a product seen for the first time gets its row here
+    public void addAll(Collection<CounterDelta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<CounterDelta> rows = List.copyOf(deltas);
+        jdbcTemplate.getJdbcOperations().batchUpdate(ADD_SQL, rows, rows.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getProductId());
+            ps.setLong(2, delta.getViews());
+            ps.setLong(3, delta.getCartAdds());
+            ps.setTimestamp(4, now);
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.dto.ProductExportDto;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+public class ProductExportRepository {
+
+    private static final String LIST_SEPARATOR = "\n";
+    private static final int GROUP_CONCAT_MAX_LEN = 1024 * 1024;
+
+    private static final String EXPORT_SQL =
+        "SELECT p.id, p.title, p.description, p.category, p.price, p.discount_percentage, p.rating, p.stock, " +
+        "p.brand, p.sku, p.availability_status, p.thumbnail, p.updated_at, " +
+        "(SELECT GROUP_CONCAT(t.tag ORDER BY t.id SEPARATOR '\\n') FROM product_tags t WHERE t.product_id = p.id) AS tags, " +
+        "(SELECT GROUP_CONCAT(i.image_url ORDER BY i.is_primary DESC, i.id SEPARATOR '\\n') " +
+        "FROM product_images i WHERE i.product_id = p.id) AS images " +
+        "FROM products p " +
+        "WHERE p.id > ? AND (? IS NULL OR p.updated_at >= ?) " +
+        "ORDER BY p.id";
+
+    public interface ExportRowHandler {
+        void handle(ProductExportDto product) throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void streamProducts(LocalDateTime updatedSince, Long afterId, ExportRowHandler handler) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement session = connection.createStatement()) {
+                session.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J only streams row by row with a forward-only, read-only cursor and this fetch size
+                statement.setFetchSize(Integer.MIN_VALUE);
+                Timestamp since = updatedSince != null ? Timestamp.valueOf(updatedSince) : null;
+                statement.setLong(1, afterId != null ? afterId : 0L);
+                statement.setObject(2, since, Types.TIMESTAMP);
+                statement.setObject(3, since, Types.TIMESTAMP);
+
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapRow(rs));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private static ProductExportDto mapRow(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new ProductExportDto(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("category"),
+            rs.getBigDecimal("price"),
+            rs.getObject("discount_percentage", Double.class),
+            rs.getObject("rating", Double.class),
+            rs.getObject("stock", Integer.class),
+            rs.getString("brand"),
+            rs.getString("sku"),
+            rs.getString("availability_status"),
+            rs.getString("thumbnail"),
+            split(rs.getString("tags")),
+            split(rs.getString("images")),
+            updatedAt != null ? updatedAt.toLocalDateTime() : null
+        );
+    }
+
+    private static List<String> split(String values) {
+        return values == null || values.isEmpty() ? List.of() : Arrays.asList(values.split(LIST_SEPARATOR));
+    }
+}
@@ -0,0 +1,17 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+    
+    @Query("SELECT i FROM ProductImage i WHERE i.product.id IN :productIds ORDER BY i.isPrimary DESC, i.id ASC")
+    List<ProductImage> findByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,96 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.dto.ProductImportRow;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+public class ProductImportRepository {
+
+    private static final String UPSERT_PRODUCT_SQL =
+        "INSERT INTO products (sku, title, description, category, price, discount_percentage, rating, stock, brand, " +
+        "availability_status, thumbnail, category_id, brand_id, minimum_order_quantity, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1, NOW(), NOW()) " +
+        "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), category = VALUES(category), " +
+        "price = VALUES(price), discount_percentage = VALUES(discount_percentage), rating = VALUES(rating), " +
+        "stock = VALUES(stock), brand = VALUES(brand), availability_status = VALUES(availability_status), " +
+        "thumbnail = VALUES(thumbnail), category_id = VALUES(category_id), brand_id = VALUES(brand_id), updated_at = NOW()";
+
+    private static final String INSERT_TAG_SQL =
+        "INSERT INTO product_tags (product_id, tag, created_at, updated_at) VALUES (?, ?, NOW(), NOW())";
+
+    private static final String INSERT_IMAGE_SQL =
+        "INSERT INTO product_images (product_id, image_url, is_primary, created_at, updated_at) VALUES (?, ?, ?, NOW(), NOW())";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductImportRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<String, Long> upsertProducts(List<ProductImportRow> rows) {
+        jdbcTemplate.getJdbcOperations().batchUpdate(UPSERT_PRODUCT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getSku());
+            ps.setString(2, row.getTitle());
+            ps.setString(3, row.getDescription());
+            ps.setString(4, row.getCategory());
+            ps.setBigDecimal(5, row.getPrice());
+            ps.setDouble(6, row.getDiscountPercentage() != null ? row.getDiscountPercentage() : 0.0);
+            ps.setDouble(7, row.getRating() != null ? row.getRating() : 0.0);
+            ps.setInt(8, row.getStock() != null ? row.getStock() : 0);
+            ps.setObject(9, row.getBrand(), Types.VARCHAR);
+            ps.setString(10, row.getAvailabilityStatus() != null ? row.getAvailabilityStatus() : "In Stock");
+            ps.setObject(11, row.getThumbnail(), Types.VARCHAR);
+            ps.setObject(12, row.getCategoryId(), Types.BIGINT);
+            ps.setObject(13, row.getBrandId(), Types.BIGINT);
+        });
+        return findIdsBySku(rows.stream().map(ProductImportRow::getSku).toList());
+    }
+
+    public void replaceTags(Map<Long, List<String>> tagsByProduct) {
+        if (tagsByProduct.isEmpty()) return;
+
+        jdbcTemplate.update("DELETE FROM product_tags WHERE product_id IN (:ids)",
+            new MapSqlParameterSource("ids", tagsByProduct.keySet()));
+
+        List<Object[]> batch = new ArrayList<>();
+        tagsByProduct.forEach((productId, tags) -> tags.forEach(tag -> batch.add(new Object[]{productId, tag})));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_TAG_SQL, batch);
+        }
+    }
+
+    public void replaceImages(Map<Long, List<String>> imagesByProduct) {
+        if (imagesByProduct.isEmpty()) return;
+
+        jdbcTemplate.update("DELETE FROM product_images WHERE product_id IN (:ids)",
+            new MapSqlParameterSource("ids", imagesByProduct.keySet()));
+
+        List<Object[]> batch = new ArrayList<>();
+        imagesByProduct.forEach((productId, images) -> {
+            for (int i = 0; i < images.size(); i++) {
+                batch.add(new Object[]{productId, images.get(i), i == 0});
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_IMAGE_SQL, batch);
+        }
+    }
+
+    private Map<String, Long> findIdsBySku(Collection<String> skus) {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        jdbcTemplate.query("SELECT id, sku FROM products WHERE sku IN (:skus)",
+            new MapSqlParameterSource("skus", skus),
+            (RowCallbackHandler) rs -> ids.put(rs.getString("sku"), rs.getLong("id")));
+        return ids;
+    }
+}
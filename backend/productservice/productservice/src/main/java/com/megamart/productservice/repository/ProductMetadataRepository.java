@@ -0,0 +1,16 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ProductMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductMetadataRepository extends JpaRepository<ProductMetadata, Long> {
+    
+    @Modifying
+    @Query("DELETE FROM ProductMetadata m WHERE m.product.id = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
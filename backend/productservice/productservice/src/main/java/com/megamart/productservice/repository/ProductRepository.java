@@ -1,22 +1,39 @@
 package com.megamart.productservice.repository;
 
+import com.megamart.productservice.dto.ProductBriefDto;
 import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.pricing.PriceChange;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
-    Page<Product> findByCategory(String category, Pageable pageable);
+    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
     
-    Page<Product> findByBrand(String brand, Pageable pageable);
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    
+    Window<Product> findByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+    
+    List<Product> findAllByCategoryId(Long categoryId);
+    
+    boolean existsByCategoryId(Long categoryId);
+    
+    Page<Product> findByBrandId(Long brandId, Pageable pageable);
     
     @Query("SELECT p FROM Product p WHERE p.title LIKE %:query% OR p.description LIKE %:query%")
     Page<Product> searchProducts(@Param("query") String query, Pageable pageable);
@@ -27,27 +44,109 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     Page<Product> findByStockGreaterThan(Integer stock, Pageable pageable);
     
+    Window<Product> findByStockGreaterThan(Integer stock, ScrollPosition position, Sort sort, Limit limit);
+    
     @Query("SELECT p FROM Product p WHERE " +
            "(:query IS NULL OR p.title LIKE %:query% OR p.description LIKE %:query%) AND " +
-           "(:category IS NULL OR p.category = :category) AND " +
-           "(:brand IS NULL OR p.brand = :brand) AND " +
+           "(:categoryId IS NULL OR p.categoryId = :categoryId) AND " +
+           "(:brandId IS NULL OR p.brandId = :brandId) AND " +
            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice)")
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:inStock IS NULL OR (:inStock = TRUE AND p.stock > 0) OR (:inStock = FALSE AND p.stock <= 0)) AND " +
+           "(:availabilityStatus IS NULL OR p.availabilityStatus = :availabilityStatus)")
     Page<Product> findProductsWithFilters(
         @Param("query") String query,
-        @Param("category") String category,
-        @Param("brand") String brand,
+        @Param("categoryId") Long categoryId,
+        @Param("brandId") Long brandId,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("inStock") Boolean inStock,
+        @Param("availabilityStatus") String availabilityStatus,
+        Pageable pageable
+    );
+    
+    @Query("SELECT p FROM Product p WHERE " +
+           "(:query IS NULL OR p.title LIKE %:query% OR p.description LIKE %:query%) AND " +
+           "(:categoryId IS NULL OR p.categoryId = :categoryId) AND " +
+           "(:brandId IS NULL OR p.brandId = :brandId) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:inStock IS NULL OR (:inStock = TRUE AND p.stock > 0) OR (:inStock = FALSE AND p.stock <= 0)) AND " +
+           "(:availabilityStatus IS NULL OR p.availabilityStatus = :availabilityStatus) AND " +
+           "(:afterId IS NULL OR p.id > :afterId) " +
+           "ORDER BY p.id")
+    Slice<Product> findProductsWithFiltersAfter(
+        @Param("query") String query,
+        @Param("categoryId") Long categoryId,
+        @Param("brandId") Long brandId,
         @Param("minPrice") BigDecimal minPrice,
         @Param("maxPrice") BigDecimal maxPrice,
+        @Param("inStock") Boolean inStock,
+        @Param("availabilityStatus") String availabilityStatus,
+        @Param("afterId") Long afterId,
         Pageable pageable
     );
     
-    @Query("SELECT DISTINCT p.category FROM Product p")
+    // A direct change may not take stock that open reservations hold
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.id = :id AND p.stock + :delta >= p.reservedStock")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reservedStock = p.reservedStock + :quantity " +
+           "WHERE p.id = :id AND p.stock - p.reservedStock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.reservedStock = p.reservedStock - :quantity " +
+           "WHERE p.id = :id AND p.reservedStock >= :quantity")
+    int releaseReservedStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.reservedStock = p.reservedStock - :quantity, " +
+           "p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id AND p.reservedStock >= :quantity")
+    int commitReservedStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Query("SELECT new com.megamart.productservice.dto.ProductBriefDto(p.id, p.title, p.price, p.stock, p.thumbnail) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<ProductBriefDto> findBriefsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.megamart.productservice.pricing.PriceChange(p.id, p.price, p.discountPercentage) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<PriceChange> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.id, p.sku, m.barcode FROM Product p LEFT JOIN ProductMetadata m ON m.product = p WHERE p.sku IN :codes OR m.barcode IN :codes")
+    List<Object[]> findCodeMatches(@Param("codes") Collection<String> codes);
+    
+    // Facet columns of the products matching the filters that narrow every facet; the rest are counted in memory
+    @Query("SELECT p.id, p.category, p.brand, p.price, p.rating, p.stock, p.availabilityStatus FROM Product p WHERE " +
+           "(:query IS NULL OR p.title LIKE %:query% OR p.description LIKE %:query%) AND " +
+           "(:inStock IS NULL OR (:inStock = TRUE AND p.stock > 0) OR (:inStock = FALSE AND p.stock <= 0)) AND " +
+           "(:availabilityStatus IS NULL OR p.availabilityStatus = :availabilityStatus)")
+    List<Object[]> findFacetRows(
+        @Param("query") String query,
+        @Param("inStock") Boolean inStock,
+        @Param("availabilityStatus") String availabilityStatus
+    );
+    
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags")
+    List<Product> findAllWithTags();
+    
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Product> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.category = :name, p.updatedAt = CURRENT_TIMESTAMP WHERE p.categoryId = :categoryId")
+    int relabelCategory(@Param("categoryId") Long categoryId, @Param("name") String name);
+    
+    @Query("SELECT c.name FROM Category c WHERE EXISTS (SELECT 1 FROM Product p WHERE p.categoryId = c.id) ORDER BY c.name")
     List<String> findAllCategories();
     
-    @Query("SELECT DISTINCT p.brand FROM Product p WHERE p.brand IS NOT NULL")
+    @Query("SELECT b.name FROM Brand b WHERE EXISTS (SELECT 1 FROM Product p WHERE p.brandId = b.id) ORDER BY b.name")
     List<String> findAllBrands();
     
-    @Query("SELECT DISTINCT p.brand FROM Product p WHERE p.category = :category AND p.brand IS NOT NULL")
-    List<String> findBrandsByCategory(@Param("category") String category);
+    @Query("SELECT b.name FROM Brand b WHERE EXISTS " +
+           "(SELECT 1 FROM Product p WHERE p.categoryId = :categoryId AND p.brandId = b.id) ORDER BY b.name")
+    List<String> findBrandsByCategoryId(@Param("categoryId") Long categoryId);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ProductReview;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProductReviewRepository extends JpaRepository<ProductReview, Long> {
+    
+    Slice<ProductReview> findByProductIdOrderByIdDesc(Long productId, Pageable pageable);
+    
+    Slice<ProductReview> findByProductIdAndIdLessThanOrderByIdDesc(Long productId, Long id, Pageable pageable);
+    
+    Optional<ProductReview> findByIdAndProductId(Long id, Long productId);
+}
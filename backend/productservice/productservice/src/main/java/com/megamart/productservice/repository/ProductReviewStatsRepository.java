@@ -0,0 +1,61 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ProductReviewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductReviewStatsRepository extends JpaRepository<ProductReviewStats, Long> {
+    
+    String AVERAGE_RATING = "CASE WHEN s.review_count > 0 THEN ROUND(s.rating_sum / s.review_count, 2) ELSE 0 END";
+    
+    // delta is +1 for an added review and -1 for a removed one; a single upsert keeps concurrent writers consistent
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO product_review_stats " +
+                   "(product_id, review_count, rating_sum, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+                   "VALUES (:productId, :delta, :rating * :delta, " +
+                   "CASE WHEN :rating = 1 THEN :delta ELSE 0 END, CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+                   "CASE WHEN :rating = 3 THEN :delta ELSE 0 END, CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+                   "CASE WHEN :rating = 5 THEN :delta ELSE 0 END, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE review_count = review_count + VALUES(review_count), " +
+                   "rating_sum = rating_sum + VALUES(rating_sum), one_star = one_star + VALUES(one_star), " +
+                   "two_star = two_star + VALUES(two_star), three_star = three_star + VALUES(three_star), " +
+                   "four_star = four_star + VALUES(four_star), five_star = five_star + VALUES(five_star), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int applyReview(@Param("productId") Long productId, @Param("rating") int rating, @Param("delta") int delta);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products p JOIN product_review_stats s ON s.product_id = p.id " +
+                   "SET p.rating = " + AVERAGE_RATING + ", p.updated_at = NOW() " +
+                   "WHERE p.id = :productId",
+           nativeQuery = true)
+    int refreshProductRating(@Param("productId") Long productId);
+    
+    @Query(value = "SELECT p.id FROM products p JOIN product_review_stats s ON s.product_id = p.id " +
+                   "WHERE p.rating IS NULL OR p.rating <> " + AVERAGE_RATING,
+           nativeQuery = true)
+    List<Long> findProductIdsWithStaleRating();
+    
+    // One set-based pass; products whose rating already matches their aggregates are left untouched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products p JOIN product_review_stats s ON s.product_id = p.id " +
+                   "SET p.rating = " + AVERAGE_RATING + ", p.updated_at = NOW() " +
+                   "WHERE p.rating IS NULL OR p.rating <> " + AVERAGE_RATING,
+           nativeQuery = true)
+    int refreshStaleProductRatings();
+    
+    @Modifying
+    @Query(value = "INSERT INTO product_review_stats " +
+                   "(product_id, review_count, rating_sum, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+                   "SELECT r.product_id, COUNT(*), SUM(r.rating), SUM(r.rating = 1), SUM(r.rating = 2), SUM(r.rating = 3), " +
+                   "SUM(r.rating = 4), SUM(r.rating = 5), NOW() " +
+                   "FROM product_reviews r GROUP BY r.product_id",
+           nativeQuery = true)
+    int backfillFromReviews();
+}
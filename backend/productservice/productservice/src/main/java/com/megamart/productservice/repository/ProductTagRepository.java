@@ -0,0 +1,17 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ProductTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductTagRepository extends JpaRepository<ProductTag, Long> {
+    
+    @Query("SELECT t FROM ProductTag t WHERE t.product.id IN :productIds ORDER BY t.id")
+    List<ProductTag> findByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,57 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.dto.RelatedProductDto;
+import com.megamart.productservice.related.SimilarProduct;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class RelatedProductRepository {
+
+    private static final String DELETE_SQL = "DELETE FROM related_products WHERE product_id IN (:ids)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO related_products (product_id, position, related_id, score) VALUES (?, ?, ?, ?)";
+
+    // Served straight off the (product_id, position) unique index; deleted products drop out through the join
+    private static final String SELECT_SQL =
+        "SELECT p.id, p.title, p.price, p.stock, p.thumbnail, r.score " +
+        "FROM related_products r JOIN products p ON p.id = r.related_id " +
+        "WHERE r.product_id = :productId ORDER BY r.position LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RelatedProductRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the stored rankings of the given products. Products missing from {@code related} are left with none.
+     */
+    public void replace(Collection<Long> productIds, Map<Long, List<SimilarProduct>> related) {
+        if (productIds.isEmpty()) return;
+
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", productIds));
+
+        List<Object[]> rows = new ArrayList<>();
+        related.forEach((productId, similar) -> {
+            for (int position = 0; position < similar.size(); position++) {
+                SimilarProduct product = similar.get(position);
+                rows.add(new Object[]{productId, position, product.getProductId(), product.getScore()});
+            }
+        });
+        if (!rows.isEmpty()) jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SQL, rows);
+    }
+
+    public List<RelatedProductDto> findRelated(Long productId, int limit) {
+        return jdbcTemplate.query(SELECT_SQL, new MapSqlParameterSource("productId", productId).addValue("limit", limit),
+            (rs, rowNum) -> new RelatedProductDto(rs.getLong("id"), rs.getString("title"), rs.getBigDecimal("price"),
+                rs.getObject("stock", Integer.class), rs.getString("thumbnail"), rs.getDouble("score")));
+    }
+}
@@ -0,0 +1,43 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.ScheduledPriceChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScheduledPriceChangeRepository extends JpaRepository<ScheduledPriceChange, Long> {
+    
+    // Only what the timing wheel needs, so recovering tens of thousands of timers stays cheap
+    @Query("SELECT c.id, c.effectiveAt FROM ScheduledPriceChange c WHERE c.status = :status")
+    List<Object[]> findTimersByStatus(@Param("status") String status);
+    
+    @Query("SELECT c.id FROM ScheduledPriceChange c WHERE c.status = :status AND c.effectiveAt <= :now " +
+           "ORDER BY c.effectiveAt ASC, c.id ASC")
+    List<Long> findDueIds(@Param("status") String status, @Param("now") LocalDateTime now, Limit limit);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ScheduledPriceChange c WHERE c.id IN :ids AND c.status = :status " +
+           "ORDER BY c.effectiveAt ASC, c.id ASC")
+    List<ScheduledPriceChange> findForUpdate(@Param("ids") Collection<Long> ids, @Param("status") String status);
+    
+    List<ScheduledPriceChange> findByProductIdAndStatusOrderByEffectiveAtAsc(Long productId, String status);
+    
+    @Modifying
+    @Query("UPDATE ScheduledPriceChange c SET c.status = :status, c.appliedAt = :appliedAt WHERE c.id IN :ids")
+    int markApplied(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                    @Param("appliedAt") LocalDateTime appliedAt);
+    
+    @Modifying
+    @Query("UPDATE ScheduledPriceChange c SET c.status = :cancelled WHERE c.id = :id AND c.status = :pending")
+    int cancel(@Param("id") Long id, @Param("pending") String pending, @Param("cancelled") String cancelled);
+}
@@ -0,0 +1,112 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.inventory.Reservation;
+import com.megamart.productservice.inventory.ReservationStatus;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class StockReservationRepository {
+
+    private static final String INSERT_RESERVATION_SQL =
+        "INSERT INTO stock_reservations (id, reference, status, expires_at, created_at, updated_at) " +
+        "VALUES (:id, :reference, :status, :expiresAt, :createdAt, :updatedAt)";
+
+    private static final String INSERT_ITEM_SQL =
+        "INSERT INTO stock_reservation_items (reservation_id, product_id, quantity) VALUES (?, ?, ?)";
+
+    private static final String TRANSITION_SQL =
+        "UPDATE stock_reservations SET status = :to, updated_at = :now WHERE id = :id AND status = :from";
+
+    private static final String SELECT_SQL =
+        "SELECT r.id, r.reference, r.status, r.expires_at, r.created_at, r.updated_at, i.product_id, i.quantity " +
+        "FROM stock_reservations r JOIN stock_reservation_items i ON i.reservation_id = r.id ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StockReservationRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Reservation reservation) {
+        jdbcTemplate.update(INSERT_RESERVATION_SQL, new MapSqlParameterSource("id", reservation.getId())
+            .addValue("reference", reservation.getReference())
+            .addValue("status", reservation.getStatus().name())
+            .addValue("expiresAt", Timestamp.valueOf(reservation.getExpiresAt()))
+            .addValue("createdAt", Timestamp.valueOf(reservation.getCreatedAt()))
+            .addValue("updatedAt", Timestamp.valueOf(reservation.getUpdatedAt())));
+
+        List<Object[]> items = new ArrayList<>();
+        reservation.getItems().forEach((productId, quantity) -> items.add(new Object[]{reservation.getId(), productId, quantity}));
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_ITEM_SQL, items);
+    }
+
+    /**
+     * Moves the reservation from {@code from} to {@code to}. Returns false when it was not in {@code from},
+     * so of two instances racing to finish the same hold exactly one wins.
+     */
+    public boolean transition(String id, ReservationStatus from, ReservationStatus to, LocalDateTime now) {
+        return jdbcTemplate.update(TRANSITION_SQL, new MapSqlParameterSource("id", id)
+            .addValue("from", from.name())
+            .addValue("to", to.name())
+            .addValue("now", Timestamp.valueOf(now))) == 1;
+    }
+
+    public List<Reservation> findExpired(LocalDateTime now) {
+        return query(SELECT_SQL + "WHERE r.status = :status AND r.expires_at <= :now ORDER BY r.id",
+            new MapSqlParameterSource("status", ReservationStatus.HELD.name()).addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public Optional<Reservation> findById(String id) {
+        return query(SELECT_SQL + "WHERE r.id = :id", new MapSqlParameterSource("id", id)).stream().findFirst();
+    }
+
+    private List<Reservation> query(String sql, MapSqlParameterSource parameters) {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, parameters, (RowCallbackHandler) rs ->
+            rows.computeIfAbsent(rs.getString("id"), id -> row(rs)).items.put(rs.getLong("product_id"), rs.getInt("quantity")));
+
+        List<Reservation> reservations = new ArrayList<>(rows.size());
+        for (Map.Entry<String, Row> entry : rows.entrySet()) {
+            Row row = entry.getValue();
+            reservations.add(new Reservation(entry.getKey(), row.reference, row.items, row.createdAt, row.expiresAt,
+                ReservationStatus.valueOf(row.status), row.updatedAt));
+        }
+        return reservations;
+    }
+
+    private static Row row(ResultSet rs) {
+        try {
+            Row row = new Row();
+            row.reference = rs.getString("reference");
+            row.status = rs.getString("status");
+            row.expiresAt = rs.getTimestamp("expires_at").toLocalDateTime();
+            row.createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            row.updatedAt = rs.getTimestamp("updated_at").toLocalDateTime();
+            return row;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unreadable reservation row", e);
+        }
+    }
+
+    private static final class Row {
+        private String reference;
+        private String status;
+        private LocalDateTime expiresAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private final Map<Long, Integer> items = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,225 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Terms from product titles, brands and tags, for correcting misspelled search queries. Candidates for a query
+ * word are the terms sharing most of its trigrams; the best few are checked with a Levenshtein distance bounded
+ * by the word's length, so a lookup never compares against the whole dictionary.
+ */
+@Slf4j
+@Component
+public class FuzzyTermDictionary implements CatalogIndex {
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_CANDIDATES = 64;
+    private static final int MAX_QUERY_WORDS = 8;
+    // Corrections that have not finished by then leave the remaining words as typed
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(15);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Integer> documentFrequency = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            documentFrequency.clear();
+            termsByTrigram.clear();
+            termsByProduct.clear();
+            documents.forEach(this::add);
+            ready = true;
+            log.info("Fuzzy term dictionary built with {} terms", documentFrequency.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(document.getId());
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the query with each unknown word replaced by the closest dictionary term, or null when no word
+     * needed or found a correction. Words that are a known term or the prefix of one are kept as typed.
+     */
+    public String correct(String query) {
+        List<String> words = TextAnalyzer.tokenize(query);
+        if (words.isEmpty() || words.size() > MAX_QUERY_WORDS) return null;
+
+        long deadline = System.nanoTime() + BUDGET_NANOS;
+        List<String> corrected = new ArrayList<>(words.size());
+        boolean changed = false;
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                String replacement = null;
+                if (!isKnown(word) && System.nanoTime() < deadline) {
+                    replacement = closest(word);
+                }
+                corrected.add(replacement != null ? replacement : word);
+                changed |= replacement != null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return changed ? String.join(" ", corrected) : null;
+    }
+
+    private boolean isKnown(String word) {
+        String ceiling = documentFrequency.ceilingKey(word);
+        return ceiling != null && ceiling.startsWith(word);
+    }
+
+    private String closest(String word) {
+        int maxEdits = maxEdits(word.length());
+        if (maxEdits == 0) return null;
+
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : trigrams(word)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms == null) continue;
+            for (String term : terms) {
+                if (Math.abs(term.length() - word.length()) <= maxEdits) sharedTrigrams.merge(term, 1, Integer::sum);
+            }
+        }
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>(sharedTrigrams.entrySet());
+        candidates.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        String best = null;
+        int bestDistance = maxEdits + 1;
+        int bestFrequency = 0;
+        for (int i = 0; i < candidates.size() && i < MAX_CANDIDATES; i++) {
+            String term = candidates.get(i).getKey();
+            int distance = distance(word, term, Math.min(maxEdits, bestDistance));
+            if (distance > maxEdits) continue;
+            int frequency = documentFrequency.get(term);
+            // Closest first, then the term most products use
+            if (distance < bestDistance || (distance == bestDistance && frequency > bestFrequency)) {
+                best = term;
+                bestDistance = distance;
+                bestFrequency = frequency;
+            }
+        }
+        return best;
+    }
+
+    private void add(ProductDocument document) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTerms(terms, document.getTitle());
+        addTerms(terms, document.getBrand());
+        if (document.getTags() != null) document.getTags().forEach(tag -> addTerms(terms, tag));
+        if (terms.isEmpty()) return;
+
+        termsByProduct.put(document.getId(), terms);
+        for (String term : terms) {
+            if (documentFrequency.merge(term, 1, Integer::sum) == 1) {
+                for (String trigram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(trigram, k -> new HashSet<>()).add(term);
+                }
+            }
+        }
+    }
+
+    private void removeProduct(Long productId) {
+        Set<String> terms = termsByProduct.remove(productId);
+        if (terms == null) return;
+
+        for (String term : terms) {
+            if (documentFrequency.merge(term, -1, Integer::sum) > 0) continue;
+            documentFrequency.remove(term);
+            for (String trigram : trigrams(term)) {
+                Set<String> gramTerms = termsByTrigram.get(trigram);
+                if (gramTerms != null && gramTerms.remove(term) && gramTerms.isEmpty()) termsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            if (token.length() >= MIN_TERM_LENGTH) terms.add(token);
+        }
+    }
+
+    // Same thresholds as common fuzzy search defaults: short words must match exactly
+    static int maxEdits(int length) {
+        if (length < 4) return 0;
+        return length < 7 ? 1 : 2;
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Levenshtein distance, or {@code maxEdits + 1} as soon as every cell of a row exceeds the bound.
+     */
+    static int distance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) return maxEdits + 1;
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+}
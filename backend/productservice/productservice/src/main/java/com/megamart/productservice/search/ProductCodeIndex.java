@@ -0,0 +1,227 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SKU and barcode to product id, in an open-addressing table with linear probing over parallel arrays.
+ * Codes are matched case-insensitively, like the unique sku column. When products share a code the
+ * latest write owns it, and the code passes back to the most recent remaining owner when that one is deleted
+ * or re-coded.
+ */
+@Slf4j
+@Component
+public class ProductCodeIndex implements CatalogIndex {
+
+    private static final int MIN_CAPACITY = 1024;
+    // Identity sentinel for deleted slots so probe chains running through them stay intact
+    private static final String TOMBSTONE = new String("");
+    private static final long NOT_FOUND = -1L;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<String>> codesByProduct = new HashMap<>();
+    // Owners in write order, kept only for codes more than one product carries
+    private final Map<String, List<Long>> sharedCodes = new HashMap<>();
+    private String[] keys = new String[MIN_CAPACITY];
+    private long[] values = new long[MIN_CAPACITY];
+    private int size;
+    private int occupied;
+    private volatile boolean ready;
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            int capacity = capacityFor(documents.size() * 2);
+            keys = new String[capacity];
+            values = new long[capacity];
+            size = 0;
+            occupied = 0;
+            codesByProduct.clear();
+            sharedCodes.clear();
+            for (ProductDocument document : documents) {
+                index(document);
+            }
+            ready = true;
+            log.info("Product code index built with {} codes over {} products", size, codesByProduct.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            unindex(document.getId());
+            index(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            unindex(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Long find(String code) {
+        String key = normalize(code);
+        if (key == null) return null;
+
+        lock.readLock().lock();
+        try {
+            long id = lookup(key);
+            return id == NOT_FOUND ? null : id;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves many codes under one lock acquisition. Unknown codes are left out; the keys are the codes as given.
+     */
+    public Map<String, Long> findAll(Collection<String> codes) {
+        Map<String, Long> found = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String code : codes) {
+                String key = normalize(code);
+                long id = key == null ? NOT_FOUND : lookup(key);
+                if (id != NOT_FOUND) found.put(code, id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    private void index(ProductDocument document) {
+        List<String> codes = new ArrayList<>(2);
+        for (String code : new String[]{document.getSku(), document.getBarcode()}) {
+            String key = normalize(code);
+            if (key != null && !codes.contains(key)) {
+                put(key, document.getId());
+                codes.add(key);
+            }
+        }
+        if (!codes.isEmpty()) codesByProduct.put(document.getId(), codes);
+    }
+
+    private void unindex(Long productId) {
+        List<String> codes = codesByProduct.remove(productId);
+        if (codes == null) return;
+        for (String code : codes) {
+            delete(code, productId);
+        }
+    }
+
+    private long lookup(String key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] != TOMBSTONE && keys[slot].equals(key)) return values[slot];
+        }
+        return NOT_FOUND;
+    }
+
+    private void put(String key, long productId) {
+        int mask = keys.length - 1;
+        int reusable = -1;
+        int slot = hash(key) & mask;
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == TOMBSTONE) {
+                if (reusable < 0) reusable = slot;
+            } else if (keys[slot].equals(key)) {
+                if (values[slot] != productId) share(key, values[slot], productId);
+                values[slot] = productId;
+                return;
+            }
+        }
+
+        if (reusable >= 0) {
+            slot = reusable;
+        } else {
+            occupied++;
+        }
+        keys[slot] = key;
+        values[slot] = productId;
+        size++;
+        // Keep at least half the slots empty so probe chains stay short; tombstones count as used
+        if (occupied * 2 > keys.length) resize(capacityFor(size * 2));
+    }
+
+    private void share(String key, long owner, long productId) {
+        List<Long> owners = sharedCodes.computeIfAbsent(key, k -> new ArrayList<>(List.of(owner)));
+        owners.remove(Long.valueOf(productId));
+        owners.add(productId);
+    }
+
+    // A shared code moves to the latest remaining owner; otherwise the slot is cleared
+    private void delete(String key, long productId) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] != TOMBSTONE && keys[slot].equals(key)) {
+                List<Long> owners = sharedCodes.get(key);
+                if (owners != null) {
+                    owners.remove(Long.valueOf(productId));
+                    values[slot] = owners.get(owners.size() - 1);
+                    if (owners.size() == 1) sharedCodes.remove(key);
+                } else if (values[slot] == productId) {
+                    keys[slot] = TOMBSTONE;
+                    size--;
+                }
+                return;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new String[capacity];
+        values = new long[capacity];
+        size = 0;
+        occupied = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != null && oldKeys[slot] != TOMBSTONE) put(oldKeys[slot], oldValues[slot]);
+        }
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2 && capacity < (1 << 30)) capacity <<= 1;
+        return capacity;
+    }
+
+    // Spreads the String hash so codes sharing a prefix and a running number do not cluster in the table
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static String normalize(String code) {
+        if (code == null || code.isBlank()) return null;
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,495 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.FacetBucketDto;
+import com.megamart.productservice.dto.ProductFacetsDto;
+import com.megamart.productservice.dto.ProductSearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-value bitmaps over product ordinals for the structured filters, plus primitive sort columns.
+ * Text-free browse requests resolve entirely here: filters AND together, the page is picked with a bounded heap.
+ * Facet counts are the cardinalities of the same bitmaps intersected with the other active filters.
+ */
+@Slf4j
+@Component
+public class ProductFilterIndex implements CatalogIndex {
+
+    private static final Set<String> SORT_FIELDS = Set.of(ProductSearchIndex.RELEVANCE, "id", "price", "rating", "discountPercentage");
+    private static final double[] PRICE_BANDS = {0, 25, 50, 100, 250, 500, 1000};
+    private static final int[] RATING_THRESHOLDS = {4, 3, 2, 1};
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final Map<String, BitSet> categories = new HashMap<>();
+    private final Map<String, BitSet> brands = new HashMap<>();
+    private final Map<String, BitSet> availability = new HashMap<>();
+    private final BitSet[] priceBands = new BitSet[PRICE_BANDS.length];
+    private final BitSet[] ratingFloors = new BitSet[RATING_THRESHOLDS.length];
+    // Facets show a value as first indexed, while the bitmaps are keyed by its normalized form
+    private final Map<String, String> categoryLabels = new HashMap<>();
+    private final Map<String, String> brandLabels = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private double[] discounts = new double[INITIAL_CAPACITY];
+    private String[] categoryKeys = new String[INITIAL_CAPACITY];
+    private String[] brandKeys = new String[INITIAL_CAPACITY];
+    private String[] availabilityKeys = new String[INITIAL_CAPACITY];
+    private int size;
+    private volatile boolean ready;
+
+    public ProductFilterIndex() {
+        for (int b = 0; b < priceBands.length; b++) priceBands[b] = new BitSet();
+        for (int r = 0; r < ratingFloors.length; r++) ratingFloors[r] = new BitSet();
+    }
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            freeOrdinals.clear();
+            live.clear();
+            inStock.clear();
+            categories.clear();
+            brands.clear();
+            availability.clear();
+            for (BitSet band : priceBands) band.clear();
+            for (BitSet floor : ratingFloors) floor.clear();
+            categoryLabels.clear();
+            brandLabels.clear();
+            size = 0;
+            documents.forEach(this::put);
+            ready = true;
+            log.info("Filter index built with {} products, {} categories and {} brands",
+                ordinals.size(), categories.size(), brands.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the request can be answered without text scoring: no query and a sort backed by a primitive column.
+     */
+    public boolean supports(ProductSearchRequest request) {
+        return ready
+            && TextAnalyzer.tokenize(request.getQuery()).isEmpty()
+            && (request.getSortBy() == null || SORT_FIELDS.contains(request.getSortBy()));
+    }
+
+    public SearchHits search(ProductSearchRequest request) {
+        return search(request, null, null);
+    }
+
+    public SearchHits searchAfter(ProductSearchRequest request, String afterValue, Long afterId) {
+        return search(request, afterValue, afterId);
+    }
+
+    /**
+     * Whether the request sets any of the structured filters this index answers.
+     */
+    public static boolean hasFilters(ProductSearchRequest request) {
+        return !isBlank(request.getCategory()) || !isBlank(request.getBrand()) || !isBlank(request.getAvailabilityStatus())
+            || request.getInStock() != null || request.getMinPrice() != null || request.getMaxPrice() != null;
+    }
+
+    /**
+     * Ids of the products passing the request's structured filters, in no particular order. The query is ignored.
+     */
+    public List<Long> filteredIds(ProductSearchRequest request) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matches(request);
+            List<Long> result = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) result.add(ids[i]);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts for the request, each facet counted with every filter but its own so the alternatives to the
+     * current selection stay visible. Stock and availability have no facet and narrow every count. A null
+     * {@code textMatches} means there is no query to match.
+     */
+    public ProductFacetsDto facets(ProductSearchRequest request, Set<Long> textMatches) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) live.clone();
+            if (textMatches != null) base.and(ordinalsOf(textMatches));
+            and(base, availability, request.getAvailabilityStatus());
+            if (Boolean.TRUE.equals(request.getInStock())) {
+                base.and(inStock);
+            } else if (Boolean.FALSE.equals(request.getInStock())) {
+                base.andNot(inStock);
+            }
+
+            BitSet category = selection(categories, request.getCategory());
+            BitSet brand = selection(brands, request.getBrand());
+            BitSet price = request.getMinPrice() == null && request.getMaxPrice() == null ? null : priceRange(
+                request.getMinPrice() != null ? request.getMinPrice().doubleValue() : Double.NEGATIVE_INFINITY,
+                request.getMaxPrice() != null ? request.getMaxPrice().doubleValue() : Double.POSITIVE_INFINITY);
+
+            BitSet forPrices = narrow(base, category, brand);
+            BitSet selected = narrow(forPrices, price);
+            return new ProductFacetsDto(selected.cardinality(), intersection(selected, inStock),
+                valueCounts(narrow(base, brand, price), categories, categoryLabels),
+                valueCounts(narrow(base, category, price), brands, brandLabels),
+                priceBuckets(forPrices),
+                ratingBuckets(selected));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes from {@code productIds} every product failing the request's structured filters, checking each one
+     * against the filter bitmap instead of materializing the matching ids. The query is ignored.
+     */
+    public void retainFiltered(ProductSearchRequest request, Collection<Long> productIds) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matches(request);
+            productIds.removeIf(productId -> {
+                Integer ordinal = ordinals.get(productId);
+                return ordinal == null || !matches.get(ordinal);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits search(ProductSearchRequest request, String afterValue, Long afterId) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matches(request);
+            SortColumn column = sortColumn(request.getSortBy(), request.getSortDirection());
+            if (afterId != null) {
+                double cursorValue = afterValue == null || afterValue.isEmpty() ? Double.NaN : Double.parseDouble(afterValue);
+                for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                    if (column.compare(i, cursorValue, afterId) <= 0) matches.clear(i);
+                }
+            }
+
+            int total = matches.cardinality();
+            int from = afterId != null ? 0 : (int) Math.min((long) request.getPage() * request.getSize(), total);
+            int to = (int) Math.min((long) from + request.getSize(), total);
+            int[] top = topOrdinals(matches, column, to);
+
+            List<Long> page = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) page.add(ids[top[i]]);
+            String lastSortValue = page.isEmpty() ? null : column.format(top[to - 1]);
+            return new SearchHits(page, total, lastSortValue);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet matches(ProductSearchRequest request) {
+        BitSet result = (BitSet) live.clone();
+        and(result, categories, request.getCategory());
+        and(result, brands, request.getBrand());
+        and(result, availability, request.getAvailabilityStatus());
+        if (Boolean.TRUE.equals(request.getInStock())) {
+            result.and(inStock);
+        } else if (Boolean.FALSE.equals(request.getInStock())) {
+            result.andNot(inStock);
+        }
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            result.and(priceRange(
+                request.getMinPrice() != null ? request.getMinPrice().doubleValue() : Double.NEGATIVE_INFINITY,
+                request.getMaxPrice() != null ? request.getMaxPrice().doubleValue() : Double.POSITIVE_INFINITY));
+        }
+        return result;
+    }
+
+    // Bands wholly inside the range are OR-ed in; the two edge bands are checked price by price
+    private BitSet priceRange(double minPrice, double maxPrice) {
+        BitSet range = new BitSet();
+        for (int b = 0; b < PRICE_BANDS.length; b++) {
+            double lower = PRICE_BANDS[b];
+            double upper = b + 1 < PRICE_BANDS.length ? PRICE_BANDS[b + 1] : Double.POSITIVE_INFINITY;
+            boolean bottomBand = b == 0;
+            if ((bottomBand ? Double.NEGATIVE_INFINITY : lower) >= minPrice && upper <= maxPrice) {
+                range.or(priceBands[b]);
+            } else if (upper > minPrice && (bottomBand || lower <= maxPrice)) {
+                BitSet band = priceBands[b];
+                for (int i = band.nextSetBit(0); i >= 0; i = band.nextSetBit(i + 1)) {
+                    if (prices[i] >= minPrice && prices[i] <= maxPrice) range.set(i);
+                }
+            }
+        }
+        return range;
+    }
+
+    private int[] topOrdinals(BitSet matches, SortColumn column, int count) {
+        if (count == 0) return new int[0];
+
+        Comparator<Integer> order = (a, b) -> column.compare(a, column.valueOf(b), ids[b]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(count, order.reversed());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            if (heap.size() < count) {
+                heap.add(i);
+            } else if (order.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) top[i] = heap.poll();
+        return top;
+    }
+
+    private SortColumn sortColumn(String sortBy, String sortDirection) {
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        return switch (sortBy == null ? "id" : sortBy) {
+            case "price" -> new SortColumn(prices, descending);
+            case "rating" -> new SortColumn(ratings, descending);
+            case "discountPercentage" -> new SortColumn(discounts, descending);
+            default -> new SortColumn(null, descending);
+        };
+    }
+
+    private void put(ProductDocument document) {
+        Integer ordinal = ordinals.get(document.getId());
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? size++ : freeOrdinals.pop();
+            ensureCapacity(ordinal + 1);
+            ordinals.put(document.getId(), ordinal);
+        } else {
+            clear(ordinal);
+        }
+
+        ids[ordinal] = document.getId();
+        prices[ordinal] = document.getPrice() != null ? document.getPrice().doubleValue() : Double.NaN;
+        ratings[ordinal] = document.getRating() != null ? document.getRating() : Double.NaN;
+        discounts[ordinal] = document.getDiscountPercentage() != null ? document.getDiscountPercentage() : Double.NaN;
+        categoryKeys[ordinal] = set(categories, document.getCategory(), ordinal);
+        brandKeys[ordinal] = set(brands, document.getBrand(), ordinal);
+        availabilityKeys[ordinal] = set(availability, document.getAvailabilityStatus(), ordinal);
+        if (document.getStock() != null && document.getStock() > 0) inStock.set(ordinal);
+        if (!Double.isNaN(prices[ordinal])) priceBands[priceBand(prices[ordinal])].set(ordinal);
+        for (int r = 0; r < RATING_THRESHOLDS.length; r++) {
+            if (ratings[ordinal] >= RATING_THRESHOLDS[r]) ratingFloors[r].set(ordinal);
+        }
+        if (categoryKeys[ordinal] != null) categoryLabels.putIfAbsent(categoryKeys[ordinal], document.getCategory());
+        if (brandKeys[ordinal] != null) brandLabels.putIfAbsent(brandKeys[ordinal], document.getBrand());
+        live.set(ordinal);
+    }
+
+    private void clear(int ordinal) {
+        live.clear(ordinal);
+        inStock.clear(ordinal);
+        for (BitSet band : priceBands) band.clear(ordinal);
+        for (BitSet floor : ratingFloors) floor.clear(ordinal);
+        if (unset(categories, categoryKeys[ordinal], ordinal)) categoryLabels.remove(categoryKeys[ordinal]);
+        if (unset(brands, brandKeys[ordinal], ordinal)) brandLabels.remove(brandKeys[ordinal]);
+        unset(availability, availabilityKeys[ordinal], ordinal);
+    }
+
+    private BitSet ordinalsOf(Set<Long> productIds) {
+        BitSet result = new BitSet();
+        for (Long productId : productIds) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) result.set(ordinal);
+        }
+        return result;
+    }
+
+    private List<FacetBucketDto> priceBuckets(BitSet matches) {
+        List<FacetBucketDto> buckets = new ArrayList<>();
+        for (int b = 0; b < PRICE_BANDS.length; b++) {
+            BigDecimal min = BigDecimal.valueOf(PRICE_BANDS[b]);
+            BigDecimal max = b + 1 < PRICE_BANDS.length ? BigDecimal.valueOf(PRICE_BANDS[b + 1]) : null;
+            String label = max != null ? min.intValue() + " - " + max.intValue() : min.intValue() + "+";
+            buckets.add(new FacetBucketDto(label, min, max, intersection(matches, priceBands[b])));
+        }
+        return buckets;
+    }
+
+    private List<FacetBucketDto> ratingBuckets(BitSet matches) {
+        List<FacetBucketDto> buckets = new ArrayList<>();
+        for (int r = 0; r < RATING_THRESHOLDS.length; r++) {
+            BigDecimal min = BigDecimal.valueOf(RATING_THRESHOLDS[r]);
+            buckets.add(new FacetBucketDto(RATING_THRESHOLDS[r] + " stars & up", min, BigDecimal.valueOf(5),
+                intersection(matches, ratingFloors[r])));
+        }
+        return buckets;
+    }
+
+    // Largest count first, then by label
+    private static Map<String, Long> valueCounts(BitSet matches, Map<String, BitSet> bitmaps, Map<String, String> labels) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        bitmaps.forEach((key, bitmap) -> {
+            long count = intersection(matches, bitmap);
+            if (count > 0) counts.add(Map.entry(labels.getOrDefault(key, key), count));
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER)));
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    // Null when the filter is not set; an unknown value selects nothing
+    private static BitSet selection(Map<String, BitSet> bitmaps, String value) {
+        if (isBlank(value)) return null;
+        BitSet bitmap = bitmaps.get(TextAnalyzer.normalize(value));
+        return bitmap != null ? bitmap : new BitSet();
+    }
+
+    private static BitSet narrow(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) result.and(filter);
+        }
+        return result;
+    }
+
+    private static long intersection(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        ratings = Arrays.copyOf(ratings, newCapacity);
+        discounts = Arrays.copyOf(discounts, newCapacity);
+        categoryKeys = Arrays.copyOf(categoryKeys, newCapacity);
+        brandKeys = Arrays.copyOf(brandKeys, newCapacity);
+        availabilityKeys = Arrays.copyOf(availabilityKeys, newCapacity);
+    }
+
+    private static void and(BitSet result, Map<String, BitSet> bitmaps, String value) {
+        if (isBlank(value)) return;
+
+        BitSet bitmap = bitmaps.get(TextAnalyzer.normalize(value));
+        if (bitmap == null) {
+            result.clear();
+        } else {
+            result.and(bitmap);
+        }
+    }
+
+    private static String set(Map<String, BitSet> bitmaps, String value, int ordinal) {
+        if (value == null || value.isBlank()) return null;
+
+        String key = TextAnalyzer.normalize(value);
+        bitmaps.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        return key;
+    }
+
+    // Returns whether this was the value's last product
+    private static boolean unset(Map<String, BitSet> bitmaps, String key, int ordinal) {
+        if (key == null) return false;
+
+        BitSet bitmap = bitmaps.get(key);
+        if (bitmap == null) return false;
+        bitmap.clear(ordinal);
+        if (!bitmap.isEmpty()) return false;
+        bitmaps.remove(key);
+        return true;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int priceBand(double price) {
+        for (int b = PRICE_BANDS.length - 1; b > 0; b--) {
+            if (price >= PRICE_BANDS[b]) return b;
+        }
+        return 0;
+    }
+
+    private final class SortColumn {
+        private final double[] values;
+        private final boolean descending;
+
+        private SortColumn(double[] values, boolean descending) {
+            this.values = values;
+            this.descending = descending;
+        }
+
+        private double valueOf(int ordinal) {
+            return values != null ? values[ordinal] : ids[ordinal];
+        }
+
+        private String format(int ordinal) {
+            double value = valueOf(ordinal);
+            return Double.isNaN(value) ? "" : Double.toString(value);
+        }
+
+        // Same ordering as the search index: missing values last, direction applied, ties by ascending id
+        private int compare(int ordinal, double otherValue, long otherId) {
+            double value = valueOf(ordinal);
+            int cmp;
+            if (Double.isNaN(value) || Double.isNaN(otherValue)) {
+                cmp = Double.isNaN(value) == Double.isNaN(otherValue) ? 0 : Double.isNaN(value) ? 1 : -1;
+            } else {
+                cmp = Double.compare(value, otherValue);
+            }
+            if (descending) cmp = -cmp;
+            return cmp != 0 ? cmp : Long.compare(ids[ordinal], otherId);
+        }
+    }
+}
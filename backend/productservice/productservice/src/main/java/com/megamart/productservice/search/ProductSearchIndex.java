@@ -0,0 +1,300 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.ProductSearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class ProductSearchIndex implements CatalogIndex {
+
+    public static final String RELEVANCE = "relevance";
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float BRAND_WEIGHT = 2.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final ProductFilterIndex filterIndex;
+    private double totalLength;
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductFilterIndex filterIndex) {
+        this.filterIndex = filterIndex;
+    }
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            products.clear();
+            totalLength = 0;
+            documents.forEach(this::addDocument);
+            ready = true;
+            log.info("Search index built with {} products and {} terms", products.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getId());
+            addDocument(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Structured filters are answered by the filter index, so searches wait for it as well
+    public boolean isReady() {
+        return ready && filterIndex.isReady();
+    }
+
+    public SearchHits search(ProductSearchRequest request) {
+        return search(request, null, null);
+    }
+
+    public SearchHits searchAfter(ProductSearchRequest request, String afterValue, Long afterId) {
+        return search(request, afterValue, afterId);
+    }
+
+    public Set<Long> matchingIds(String query) {
+        List<String> queryTerms = TextAnalyzer.tokenize(query);
+        if (queryTerms.isEmpty()) return null;
+
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(score(queryTerms).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(ProductDocument document) {
+        Map<String, Float> termWeights = new HashMap<>();
+        addTerms(termWeights, document.getTitle(), TITLE_WEIGHT);
+        addTerms(termWeights, document.getBrand(), BRAND_WEIGHT);
+        addTerms(termWeights, document.getDescription(), DESCRIPTION_WEIGHT);
+        if (document.getTags() != null) {
+            document.getTags().forEach(tag -> addTerms(termWeights, tag, TAG_WEIGHT));
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(document.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+
+        products.put(document.getId(), new IndexedProduct(document, termWeights.keySet(), length));
+        totalLength += length;
+    }
+
+    private void removeDocument(Long productId) {
+        IndexedProduct existing = products.remove(productId);
+        if (existing == null) return;
+
+        for (String term : existing.terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) postings.remove(term);
+            }
+        }
+        totalLength -= existing.length;
+    }
+
+    private void addTerms(Map<String, Float> termWeights, String text, float weight) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            termWeights.merge(token, weight, Float::sum);
+        }
+    }
+
+    private Map<Long, Double> score(List<String> queryTerms) {
+        double averageLength = products.isEmpty() ? 1 : Math.max(totalLength / products.size(), 1);
+        List<Map<Long, Double>> termScores = new ArrayList<>();
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            termScores.add(scoreTerm(queryTerm, averageLength));
+        }
+        termScores.sort(Comparator.comparingInt(Map::size));
+
+        Map<Long, Double> scores = new HashMap<>(termScores.get(0));
+        for (int i = 1; i < termScores.size() && !scores.isEmpty(); i++) {
+            Map<Long, Double> next = termScores.get(i);
+            scores.keySet().retainAll(next.keySet());
+            scores.replaceAll((id, score) -> score + next.get(id));
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> scoreTerm(String queryTerm, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.tailMap(queryTerm, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(queryTerm) || expansions++ >= MAX_PREFIX_EXPANSIONS) break;
+
+            Map<Long, Float> termPostings = entry.getValue();
+            double factor = term.equals(queryTerm) ? 1.0 : PREFIX_MATCH_FACTOR;
+            double idf = Math.log(1 + (products.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                Long productId = posting.getKey();
+                double tf = posting.getValue();
+                double norm = 1 - B + B * products.get(productId).length / averageLength;
+                double termScore = factor * idf * (tf * (K1 + 1)) / (tf + K1 * norm);
+                scores.merge(productId, termScore, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private SearchHits search(ProductSearchRequest request, String afterValue, Long afterId) {
+        List<String> queryTerms = TextAnalyzer.tokenize(request.getQuery());
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = queryTerms.isEmpty() ? null : score(queryTerms);
+            boolean filtered = ProductFilterIndex.hasFilters(request);
+
+            List<Long> matches;
+            if (scores != null) {
+                if (filtered) filterIndex.retainFiltered(request, scores.keySet());
+                matches = new ArrayList<>(scores.keySet());
+            } else if (filtered) {
+                matches = filterIndex.filteredIds(request);
+                // The filter index may briefly hold a product this index has not seen yet
+                matches.removeIf(productId -> !products.containsKey(productId));
+            } else {
+                matches = new ArrayList<>(products.keySet());
+            }
+
+            SortKey sortKey = sortKey(request.getSortBy(), request.getSortDirection(), scores);
+            int from = 0;
+            if (afterId != null) {
+                Object cursorKey = sortKey.parse(afterValue);
+                matches.removeIf(id -> sortKey.compare(id, cursorKey, afterId) <= 0);
+            } else {
+                from = (int) Math.min((long) request.getPage() * request.getSize(), matches.size());
+            }
+            matches.sort((a, b) -> sortKey.compare(a, sortKey.valueOf(b), b));
+
+            int to = (int) Math.min((long) from + request.getSize(), matches.size());
+            List<Long> page = List.copyOf(matches.subList(from, to));
+            String lastSortValue = page.isEmpty() ? null : sortKey.format(page.get(page.size() - 1));
+            return new SearchHits(page, matches.size(), lastSortValue);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SortKey sortKey(String sortBy, String sortDirection, Map<Long, Double> scores) {
+        if (scores != null && (sortBy == null || RELEVANCE.equalsIgnoreCase(sortBy))) {
+            return new SortKey(scores::get, Double::valueOf, false, true);
+        }
+
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        return switch (sortBy == null ? "id" : sortBy) {
+            case "title" -> new SortKey(id -> products.get(id).document.getTitle(), value -> value, true, descending);
+            case "price" -> new SortKey(id -> products.get(id).document.getPrice(), BigDecimal::new, false, descending);
+            case "rating" -> new SortKey(id -> products.get(id).document.getRating(), Double::valueOf, false, descending);
+            case "stock" -> new SortKey(id -> products.get(id).document.getStock(), Integer::valueOf, false, descending);
+            case "discountPercentage" -> new SortKey(id -> products.get(id).document.getDiscountPercentage(), Double::valueOf, false, descending);
+            case "brand" -> new SortKey(id -> products.get(id).document.getBrand(), value -> value, true, descending);
+            case "category" -> new SortKey(id -> products.get(id).document.getCategory(), value -> value, true, descending);
+            default -> new SortKey(id -> id, Long::valueOf, false, descending);
+        };
+    }
+
+    private static final class SortKey {
+        private final Function<Long, Object> extractor;
+        private final Function<String, Object> parser;
+        private final boolean text;
+        private final boolean descending;
+
+        private SortKey(Function<Long, Object> extractor, Function<String, Object> parser, boolean text, boolean descending) {
+            this.extractor = extractor;
+            this.parser = parser;
+            this.text = text;
+            this.descending = descending;
+        }
+
+        private Object valueOf(Long productId) {
+            return extractor.apply(productId);
+        }
+
+        private String format(Long productId) {
+            Object value = valueOf(productId);
+            return value != null ? value.toString() : "";
+        }
+
+        private Object parse(String value) {
+            return value == null || value.isEmpty() ? null : parser.apply(value);
+        }
+
+        // Orders (value, id) pairs: values nulls-last then direction applied, ties broken by ascending id
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int compare(Long productId, Object otherValue, Long otherId) {
+            Object value = valueOf(productId);
+            int cmp;
+            if (value == null || otherValue == null) {
+                cmp = value == otherValue ? 0 : value == null ? 1 : -1;
+            } else if (text) {
+                cmp = String.CASE_INSENSITIVE_ORDER.compare((String) value, (String) otherValue);
+            } else {
+                cmp = ((Comparable) value).compareTo(otherValue);
+            }
+            if (descending) cmp = -cmp;
+            return cmp != 0 ? cmp : Long.compare(productId, otherId);
+        }
+    }
+
+    private static final class IndexedProduct {
+        private final ProductDocument document;
+        private final Set<String> terms;
+        private final float length;
+
+        private IndexedProduct(ProductDocument document, Set<String> terms, float length) {
+            this.document = document;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
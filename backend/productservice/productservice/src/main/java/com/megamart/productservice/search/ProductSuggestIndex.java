@@ -0,0 +1,340 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.CatalogIndex;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.SuggestionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie of normalized completion keys. Every node caches the best {@link #MAX_SUGGESTIONS}
+ * completions below it, so a lookup costs one walk down the prefix and writes only refresh the touched paths.
+ * A rebuild loads every key first and fills the caches in one bottom-up pass.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex implements CatalogIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String TITLE = "title";
+    private static final String BRAND = "brand";
+    private static final String CATEGORY = "category";
+    private static final String TAG = "tag";
+    private static final int MAX_TITLE_KEYS = 6;
+    private static final Comparator<Completion> RANKING = Comparator.comparingDouble((Completion c) -> c.score).reversed()
+        .thenComparing(c -> c.text, String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(c -> c.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    private final Map<String, TermCompletion> terms = new HashMap<>();
+    private Node root = new Node("");
+
+    @Override
+    public void rebuild(Collection<ProductDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            products.clear();
+            terms.clear();
+            root = new Node("");
+            documents.forEach(document -> addDocument(document, false));
+            recomputeAll(root);
+            log.info("Suggest index built with {} products and {} terms", products.size(), terms.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getId());
+            addDocument(document, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionDto> suggest(String query, int limit) {
+        String prefix = key(query);
+        if (prefix.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = find(prefix);
+            if (node == null) return List.of();
+
+            List<SuggestionDto> suggestions = new ArrayList<>();
+            for (int i = 0; i < node.top.size() && i < limit; i++) {
+                Completion completion = node.top.get(i);
+                suggestions.add(new SuggestionDto(completion.text, completion.type, completion.productId, completion.score));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Without refreshing, the touched paths keep stale caches until recomputeAll runs
+    private void addDocument(ProductDocument document, boolean refresh) {
+        IndexedProduct indexed = new IndexedProduct();
+        double rating = document.getRating() != null ? document.getRating() : 0;
+
+        String title = key(document.getTitle());
+        if (!title.isEmpty()) {
+            indexed.title = new Completion("p:" + document.getId(), document.getTitle(), TITLE, document.getId(), rating);
+            String[] words = title.split(" ");
+            for (int i = 0; i < words.length && i < MAX_TITLE_KEYS; i++) {
+                String titleKey = String.join(" ", List.of(words).subList(i, words.length));
+                indexed.titleKeys.add(titleKey);
+                List<Node> path = insert(titleKey, indexed.title);
+                if (refresh) recompute(path);
+            }
+        }
+
+        addTerm(indexed, BRAND, document.getBrand(), document.getId(), rating, refresh);
+        addTerm(indexed, CATEGORY, document.getCategory(), document.getId(), rating, refresh);
+        if (document.getTags() != null) {
+            document.getTags().forEach(tag -> addTerm(indexed, TAG, tag, document.getId(), rating, refresh));
+        }
+        products.put(document.getId(), indexed);
+    }
+
+    private void addTerm(IndexedProduct indexed, String type, String text, Long productId, double rating, boolean refresh) {
+        String termKey = key(text);
+        if (termKey.isEmpty()) return;
+
+        String id = type.charAt(0) + ":" + termKey;
+        if (!indexed.termIds.add(id)) return;
+
+        TermCompletion term = terms.get(id);
+        boolean created = term == null;
+        if (created) {
+            term = new TermCompletion(id, text, type, termKey);
+            terms.put(id, term);
+        }
+        term.add(productId, rating);
+        List<Node> path = created ? insert(termKey, term) : null;
+        if (refresh) recompute(path != null ? path : path(termKey));
+    }
+
+    private void removeDocument(Long productId) {
+        IndexedProduct indexed = products.remove(productId);
+        if (indexed == null) return;
+
+        for (String titleKey : indexed.titleKeys) {
+            List<Node> path = path(titleKey);
+            if (path != null) {
+                path.get(path.size() - 1).terminals.remove(indexed.title);
+                recompute(path);
+            }
+        }
+
+        for (String id : indexed.termIds) {
+            TermCompletion term = terms.get(id);
+            if (term == null) continue;
+
+            term.remove(productId);
+            List<Node> path = path(term.key);
+            if (term.ratings.isEmpty()) {
+                terms.remove(id);
+                if (path != null) path.get(path.size() - 1).terminals.remove(term);
+            }
+            if (path != null) recompute(path);
+        }
+    }
+
+    private List<Node> insert(String key, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                i = key.length();
+            } else {
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    node.children.put(split.label.charAt(0), split);
+                    child = split;
+                }
+                i += common;
+            }
+            path.add(child);
+            node = child;
+        }
+        node.terminals.add(completion);
+        return path;
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) return null;
+            i += child.label.length();
+            path.add(child);
+            node = child;
+        }
+        return path;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) return null;
+
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) return child;
+            if (common < child.label.length()) return null;
+            i += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (i > 0 && node.terminals.isEmpty() && node.children.isEmpty()) {
+                path.get(i - 1).children.remove(node.label.charAt(0));
+                continue;
+            }
+
+            node.top = best(node);
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        node.children.values().forEach(this::recomputeAll);
+        node.top = best(node);
+    }
+
+    // Bounded heap with the weakest kept completion on top, so a node with many terminals is not sorted whole
+    private static List<Completion> best(Node node) {
+        PriorityQueue<Completion> heap = new PriorityQueue<>(RANKING.reversed());
+        Set<Completion> seen = new HashSet<>();
+        for (Completion terminal : node.terminals) offer(heap, seen, terminal);
+        for (Node child : node.children.values()) {
+            for (Completion completion : child.top) offer(heap, seen, completion);
+        }
+        List<Completion> best = new ArrayList<>(heap);
+        best.sort(RANKING);
+        return List.copyOf(best);
+    }
+
+    // A title reached through several of its keys is offered more than once
+    private static void offer(PriorityQueue<Completion> heap, Set<Completion> seen, Completion completion) {
+        if (!seen.add(completion)) return;
+        heap.offer(completion);
+        if (heap.size() > MAX_SUGGESTIONS) heap.poll();
+    }
+
+    private static String key(String text) {
+        return String.join(" ", TextAnalyzer.words(text));
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+
+    private static class Completion {
+        private final String id;
+        private final String text;
+        private final String type;
+        private final Long productId;
+        protected double score;
+
+        private Completion(String id, String text, String type, Long productId, double score) {
+            this.id = id;
+            this.text = text;
+            this.type = type;
+            this.productId = productId;
+            this.score = score;
+        }
+    }
+
+    private static final class TermCompletion extends Completion {
+        private final String key;
+        private final Map<Long, Double> ratings = new HashMap<>();
+        private double ratingSum;
+
+        private TermCompletion(String id, String text, String type, String key) {
+            super(id, text, type, null, 0);
+            this.key = key;
+        }
+
+        private void add(Long productId, double rating) {
+            Double previous = ratings.put(productId, rating);
+            ratingSum += rating - (previous != null ? previous : 0);
+            rescore();
+        }
+
+        private void remove(Long productId) {
+            Double previous = ratings.remove(productId);
+            if (previous == null) return;
+            ratingSum = ratings.isEmpty() ? 0 : ratingSum - previous;
+            rescore();
+        }
+
+        // Average rating of the products carrying the term, boosted by how many there are; kept as a running sum
+        private void rescore() {
+            score = ratings.isEmpty() ? 0 : ratingSum / ratings.size() + Math.log1p(ratings.size());
+        }
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Completion> terminals = new HashSet<>();
+        private List<Completion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class IndexedProduct {
+        private Completion title;
+        private final List<String> titleKeys = new ArrayList<>();
+        private final Set<String> termIds = new HashSet<>();
+    }
+}
@@ -0,0 +1,14 @@
+package com.megamart.productservice.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+    private final List<Long> productIds;
+    private final long totalHits;
+    private final String lastSortValue;
+}
@@ -0,0 +1,148 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CategoryChangedEvent;
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.dto.CatalogChangeDto;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.CatalogVersion;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.repository.CatalogChangeRepository;
+import com.megamart.productservice.repository.CatalogVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Service
+public class CatalogChangeService {
+
+    private static final int MAX_FEED_LIMIT = 1000;
+    private static final int RELAY_BATCH = 1000;
+
+    private final CatalogChangeRepository changeRepository;
+    private final CatalogVersionRepository versionRepository;
+    private final Duration retention;
+
+    public CatalogChangeService(CatalogChangeRepository changeRepository, CatalogVersionRepository versionRepository,
+                                @Value("${productservice.changes.retention:P30D}") Duration retention) {
+        this.changeRepository = changeRepository;
+        this.versionRepository = versionRepository;
+        this.retention = retention;
+    }
+
+    // INSERT IGNORE so replicas starting together cannot trip over each other's seed row
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeVersion() {
+        versionRepository.insertIfAbsent(CatalogVersion.CATALOG);
+    }
+
+    // Runs inside the publisher's transaction, so the change row commits or rolls back with the mutation itself
+    @EventListener
+    @Transactional
+    public void onProductChanged(ProductChangedEvent event) {
+        record(CatalogChange.PRODUCT, List.of(event.getProductId()), event.isDeleted() ? CatalogChange.DELETE : CatalogChange.UPSERT);
+    }
+
+    @EventListener
+    @Transactional
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        record(CatalogChange.CATEGORY, List.of(event.getCategoryId()), event.isDeleted() ? CatalogChange.DELETE : CatalogChange.UPSERT);
+    }
+
+    /**
+     * Appends unversioned change rows. Writers only insert, so concurrent transactions never wait on each
+     * other here; {@link #assignVersions()} numbers the rows once they have committed.
+     */
+    @Transactional
+    public void record(String entityType, Collection<Long> entityIds, String operation) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CatalogChange> changes = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            changes.add(new CatalogChange(null, null, entityType, entityId, operation, now));
+        }
+        changeRepository.saveAll(changes);
+    }
+
+    /**
+     * Gives pending change rows their feed versions in insertion order. The pending rows are read with a locking
+     * read, which waits on rows a writer has inserted but not yet committed instead of skipping them: a slow
+     * writer stalls the relay, but the versions are never handed out around a change that could still appear,
+     * so a reader following the feed cannot pass a gap. The counter row is locked by this relay alone, which
+     * serializes replicas running it at the same time.
+     */
+    @Scheduled(fixedDelayString = "${productservice.changes.relay-interval:PT0.5S}")
+    @Transactional
+    public int assignVersions() {
+        if (!changeRepository.existsByVersionIsNull()) return 0;
+
+        CatalogVersion counter = versionRepository.findForUpdate(CatalogVersion.CATALOG)
+            .orElseGet(() -> new CatalogVersion(CatalogVersion.CATALOG, 0L));
+        List<CatalogChange> pending = changeRepository.findPendingForUpdate(Limit.of(RELAY_BATCH));
+        if (pending.isEmpty()) return 0;
+
+        long version = counter.getVersion();
+        for (CatalogChange change : pending) {
+            change.setVersion(++version);
+        }
+        counter.setVersion(version);
+        versionRepository.save(counter);
+        changeRepository.saveAll(pending);
+        return pending.size();
+    }
+
+    @Transactional(readOnly = true)
+    public long getLatestVersion() {
+        return versionRepository.findById(CatalogVersion.CATALOG)
+            .map(CatalogVersion::getVersion)
+            .orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogChangeFeedDto getChanges(long sinceVersion, int limit) {
+        if (sinceVersion < 0) {
+            throw new ProductValidationException("sinceVersion", String.valueOf(sinceVersion));
+        }
+        if (limit < 1 || limit > MAX_FEED_LIMIT) {
+            throw new ProductValidationException("limit", String.valueOf(limit));
+        }
+
+        long latestVersion = getLatestVersion();
+        long oldestRetained = changeRepository.findFirstByVersionIsNotNullOrderByVersionAsc()
+            .map(CatalogChange::getVersion)
+            .orElse(latestVersion + 1);
+        if (sinceVersion < oldestRetained - 1) {
+            return new CatalogChangeFeedDto(List.of(), latestVersion, latestVersion, false, true);
+        }
+
+        List<CatalogChange> changes = changeRepository.findByVersionGreaterThanOrderByVersionAsc(sinceVersion, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        List<CatalogChangeDto> page = changes.stream()
+            .limit(limit)
+            .map(c -> new CatalogChangeDto(c.getVersion(), c.getEntityType(), c.getEntityId(), c.getOperation(), c.getChangedAt()))
+            .toList();
+        long nextSinceVersion = page.isEmpty() ? sinceVersion : page.get(page.size() - 1).getVersion();
+        return new CatalogChangeFeedDto(page, latestVersion, nextSinceVersion, hasMore, false);
+    }
+
+    @Scheduled(cron = "${productservice.changes.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void pruneChanges() {
+        int removed = changeRepository.deleteChangedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Pruned {} catalog changes older than {}", removed, retention);
+        }
+    }
+}
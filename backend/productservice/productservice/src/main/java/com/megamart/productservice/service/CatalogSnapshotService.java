@@ -0,0 +1,47 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.repository.CatalogSnapshotRepository;
+import com.megamart.productservice.snapshot.CatalogSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private final CatalogSnapshotStore snapshotStore;
+    private final CatalogSnapshotRepository snapshotRepository;
+    private final CatalogChangeService changeService;
+
+    public CatalogSnapshotService(CatalogSnapshotStore snapshotStore, CatalogSnapshotRepository snapshotRepository,
+                                  CatalogChangeService changeService) {
+        this.snapshotStore = snapshotStore;
+        this.snapshotRepository = snapshotRepository;
+        this.changeService = changeService;
+    }
+
+    /**
+     * The version is read before the products are streamed, so anything committed while streaming is replayed
+     * from the change feed by the replica that loads the snapshot.
+     */
+    @Scheduled(fixedDelayString = "${productservice.snapshot.interval:PT15M}",
+               initialDelayString = "${productservice.snapshot.initial-delay:PT5M}")
+    public void writeSnapshot() {
+        if (!snapshotStore.isEnabled()) return;
+
+        long started = System.nanoTime();
+        long version = changeService.getLatestVersion();
+        try {
+            int products = snapshotStore.write(version, writer -> snapshotRepository.streamDocuments(writer::add));
+            log.info("Wrote catalog snapshot of {} products at version {} in {} ms", products, version,
+                (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | UncheckedIOException | DataAccessException e) {
+            log.warn("Failed to write catalog snapshot, keeping the previous one: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.dto.PriceScheduleRequestDto;
+import com.megamart.productservice.dto.ScheduledPriceChangeDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.ScheduledPriceChange;
+import com.megamart.productservice.exception.PriceScheduleNotFoundException;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.pricing.PriceChange;
+import com.megamart.productservice.pricing.PriceChangeTimers;
+import com.megamart.productservice.repository.ProductBulkUpdateRepository;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ScheduledPriceChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class PriceScheduleService {
+
+    private static final int MAX_PRODUCTS = 10_000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final double MAX_DISCOUNT = 100;
+
+    private final ScheduledPriceChangeRepository changeRepository;
+    private final ProductRepository productRepository;
+    private final ProductBulkUpdateRepository bulkUpdateRepository;
+    private final PriceChangeTimers timers;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogIndexer catalogIndexer;
+    private final CatalogChangeService changeService;
+
+    public PriceScheduleService(ScheduledPriceChangeRepository changeRepository, ProductRepository productRepository,
+                                ProductBulkUpdateRepository bulkUpdateRepository, PriceChangeTimers timers,
+                                TransactionTemplate transactionTemplate, CatalogIndexer catalogIndexer,
+                                CatalogChangeService changeService) {
+        this.changeRepository = changeRepository;
+        this.productRepository = productRepository;
+        this.bulkUpdateRepository = bulkUpdateRepository;
+        this.timers = timers;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogIndexer = catalogIndexer;
+        this.changeService = changeService;
+    }
+
+    // Changes that fell due while the service was down are applied on the first tick
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverSchedule() {
+        List<Object[]> pending = changeRepository.findTimersByStatus(ScheduledPriceChange.PENDING);
+        for (Object[] row : pending) {
+            timers.schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} scheduled price changes", pending.size());
+        }
+    }
+
+    /**
+     * Stores one change per product at {@code startsAt} and, when {@code endsAt} is given, one that restores the
+     * fields the sale touches to their values at scheduling time.
+     */
+    public List<ScheduledPriceChangeDto> schedule(PriceScheduleRequestDto request) {
+        Set<Long> productIds = validate(request);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startsAt = request.getStartsAt() != null ? request.getStartsAt() : now;
+
+        List<ScheduledPriceChange> saved = transactionTemplate.execute(status -> {
+            Map<Long, PriceChange> current = new LinkedHashMap<>();
+            for (PriceChange price : productRepository.findPricesByIdIn(productIds)) {
+                current.put(price.getProductId(), price);
+            }
+            List<ScheduledPriceChange> changes = new ArrayList<>();
+            for (Long productId : productIds) {
+                PriceChange before = current.get(productId);
+                if (before == null) {
+                    throw new ProductNotFoundException("Product not found with id: " + productId);
+                }
+                changes.add(new ScheduledPriceChange(null, productId, request.getPrice(), request.getDiscountPercentage(),
+                    startsAt, ScheduledPriceChange.PENDING, request.getReference(), now, null));
+                if (request.getEndsAt() != null) {
+                    changes.add(new ScheduledPriceChange(null, productId,
+                        request.getPrice() != null ? before.getPrice() : null,
+                        request.getDiscountPercentage() != null ? before.getDiscountPercentage() : null,
+                        request.getEndsAt(), ScheduledPriceChange.PENDING, request.getReference(), now, null));
+                }
+            }
+            return changeRepository.saveAll(changes);
+        });
+
+        // Only timed once committed, so a tick never looks for rows it cannot see yet
+        for (ScheduledPriceChange change : saved) {
+            timers.schedule(change.getId(), change.getEffectiveAt());
+        }
+        log.info("Scheduled {} price changes for {} products starting {}", saved.size(), productIds.size(), startsAt);
+        return saved.stream().map(PriceScheduleService::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledPriceChangeDto> getPending(Long productId) {
+        return changeRepository.findByProductIdAndStatusOrderByEffectiveAtAsc(productId, ScheduledPriceChange.PENDING)
+            .stream()
+            .map(PriceScheduleService::toDto)
+            .toList();
+    }
+
+    @Transactional
+    public void cancel(Long changeId) {
+        if (changeRepository.cancel(changeId, ScheduledPriceChange.PENDING, ScheduledPriceChange.CANCELLED) == 0) {
+            ScheduledPriceChange change = changeRepository.findById(changeId)
+                .orElseThrow(() -> new PriceScheduleNotFoundException(changeId));
+            throw new ProductValidationException("Scheduled price change " + changeId + " is " + change.getStatus());
+        }
+    }
+
+    /**
+     * Applies the changes that fell due, a chunk per transaction, then refreshes the catalog indexes, which also
+     * evicts the cached products. A chunk that fails for any reason, including a database that cannot be reached,
+     * and everything after it are retried on the next tick.
+     */
+    @Scheduled(fixedDelayString = "${productservice.pricing.tick-interval:PT1S}")
+    public void applyDue() {
+        List<Long> due = timers.due();
+        for (int from = 0; from < due.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = due.subList(from, Math.min(from + CHUNK_SIZE, due.size()));
+            List<Long> productIds;
+            try {
+                productIds = transactionTemplate.execute(status -> apply(chunk));
+            } catch (RuntimeException e) {
+                List<Long> remaining = new ArrayList<>(due.subList(from, due.size()));
+                log.warn("Failed to apply scheduled price changes, {} will be retried: {}", remaining.size(), e.getMessage());
+                timers.retry(remaining);
+                return;
+            }
+            if (productIds != null && !productIds.isEmpty()) {
+                catalogIndexer.refresh(productIds);
+                log.info("Applied scheduled price changes to {} products", productIds.size());
+            }
+        }
+    }
+
+    /**
+     * Hands the wheel every change the database says is due. Timers only live on the instance that scheduled or
+     * recovered them, so this is what applies changes created through a replica that stopped before they fell
+     * due. A change that is also on its owner's wheel is still applied once, since applying locks and re-checks it.
+     */
+    @Scheduled(fixedDelayString = "${productservice.pricing.sweep-interval:PT30S}")
+    public void sweepDue() {
+        List<Long> due = changeRepository.findDueIds(ScheduledPriceChange.PENDING, LocalDateTime.now(), Limit.of(MAX_PRODUCTS));
+        if (!due.isEmpty()) {
+            timers.retry(due);
+        }
+    }
+
+    private List<Long> apply(List<Long> changeIds) {
+        // Locked and re-checked, so a change cancelled after it was timed is skipped
+        List<ScheduledPriceChange> changes = changeRepository.findForUpdate(changeIds, ScheduledPriceChange.PENDING);
+        if (changes.isEmpty()) return List.of();
+
+        // Changes to the same product fall due together after downtime; the latest value of each field wins
+        Map<Long, PriceChange> byProduct = new LinkedHashMap<>();
+        for (ScheduledPriceChange change : changes) {
+            byProduct.merge(change.getProductId(),
+                new PriceChange(change.getProductId(), change.getPrice(), change.getDiscountPercentage()),
+                (earlier, later) -> new PriceChange(later.getProductId(),
+                    later.getPrice() != null ? later.getPrice() : earlier.getPrice(),
+                    later.getDiscountPercentage() != null ? later.getDiscountPercentage() : earlier.getDiscountPercentage()));
+        }
+
+        bulkUpdateRepository.updatePrices(byProduct.values());
+        changeRepository.markApplied(changes.stream().map(ScheduledPriceChange::getId).toList(),
+            ScheduledPriceChange.APPLIED, LocalDateTime.now());
+        List<Long> productIds = new ArrayList<>(byProduct.keySet());
+        changeService.record(CatalogChange.PRODUCT, productIds, CatalogChange.UPSERT);
+        return productIds;
+    }
+
+    private static Set<Long> validate(PriceScheduleRequestDto request) {
+        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+            throw new ProductValidationException("At least one product id is required");
+        }
+        Set<Long> productIds = new LinkedHashSet<>(request.getProductIds());
+        productIds.remove(null);
+        if (productIds.isEmpty()) {
+            throw new ProductValidationException("At least one product id is required");
+        }
+        if (productIds.size() > MAX_PRODUCTS) {
+            throw new ProductValidationException("At most " + MAX_PRODUCTS + " products can be scheduled at once");
+        }
+
+        BigDecimal price = request.getPrice();
+        Double discount = request.getDiscountPercentage();
+        if (price == null && discount == null) {
+            throw new ProductValidationException("A price or discountPercentage is required");
+        }
+        if (price != null && price.signum() <= 0) {
+            throw new ProductValidationException("price", price.toPlainString());
+        }
+        if (discount != null && (discount < 0 || discount > MAX_DISCOUNT)) {
+            throw new ProductValidationException("discountPercentage", String.valueOf(discount));
+        }
+
+        LocalDateTime startsAt = request.getStartsAt() != null ? request.getStartsAt() : LocalDateTime.now();
+        if (request.getEndsAt() != null && !request.getEndsAt().isAfter(startsAt)) {
+            throw new ProductValidationException("endsAt", String.valueOf(request.getEndsAt()));
+        }
+        return productIds;
+    }
+
+    private static ScheduledPriceChangeDto toDto(ScheduledPriceChange change) {
+        return new ScheduledPriceChangeDto(change.getId(), change.getProductId(), change.getPrice(),
+            change.getDiscountPercentage(), change.getEffectiveAt(), change.getStatus(), change.getReference());
+    }
+}
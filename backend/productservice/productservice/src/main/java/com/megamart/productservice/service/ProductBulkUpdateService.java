@@ -0,0 +1,138 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.dto.BulkUpdateOperation;
+import com.megamart.productservice.dto.BulkUpdateRequestDto;
+import com.megamart.productservice.dto.BulkUpdateResultDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.repository.ProductBulkUpdateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class ProductBulkUpdateService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_IDS = 10_000;
+    private static final BigDecimal MAX_SCALE_FACTOR = BigDecimal.TEN;
+    private static final BigDecimal MAX_DISCOUNT = BigDecimal.valueOf(100);
+
+    private final ProductBulkUpdateRepository bulkUpdateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogDictionary catalogDictionary;
+    private final CatalogIndexer catalogIndexer;
+    private final CatalogChangeService changeService;
+
+    public ProductBulkUpdateService(ProductBulkUpdateRepository bulkUpdateRepository, TransactionTemplate transactionTemplate,
+                                    CatalogDictionary catalogDictionary, CatalogIndexer catalogIndexer,
+                                    CatalogChangeService changeService) {
+        this.bulkUpdateRepository = bulkUpdateRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogDictionary = catalogDictionary;
+        this.catalogIndexer = catalogIndexer;
+        this.changeService = changeService;
+    }
+
+    /**
+     * Walks the matching products in id order and updates them one chunk per transaction, so a large selection
+     * never holds row locks for the whole run. Chunks that committed stay applied if a later one fails.
+     */
+    public BulkUpdateResultDto bulkUpdate(BulkUpdateRequestDto request) {
+        long started = System.nanoTime();
+        BulkUpdateOperation operation = BulkUpdateOperation.resolve(request.getOperation());
+        Object value = operationValue(operation, request);
+        ProductBulkUpdateRepository.Filter filter = filter(request);
+
+        long matched = 0;
+        long updated = 0;
+        int chunks = 0;
+        if (filter != null) {
+            long afterId = 0;
+            List<Long> ids;
+            while (!(ids = bulkUpdateRepository.findIds(filter, afterId, CHUNK_SIZE)).isEmpty()) {
+                List<Long> chunk = ids;
+                Integer changed = transactionTemplate.execute(status -> {
+                    int rows = bulkUpdateRepository.update(operation, value, filter, chunk);
+                    changeService.record(CatalogChange.PRODUCT, chunk, CatalogChange.UPSERT);
+                    return rows;
+                });
+                catalogIndexer.refresh(chunk);
+
+                matched += chunk.size();
+                updated += changed != null ? changed : 0;
+                chunks++;
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Bulk {} updated {} of {} matching products in {} chunks, {} ms", operation, updated, matched, chunks, durationMs);
+        return new BulkUpdateResultDto(operation.name(), matched, updated, chunks, durationMs);
+    }
+
+    // Returns null when a named category or brand does not exist, since then nothing can match
+    private ProductBulkUpdateRepository.Filter filter(BulkUpdateRequestDto request) {
+        Set<Long> ids = null;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            ids = new LinkedHashSet<>(request.getIds());
+            ids.remove(null);
+            if (ids.size() > MAX_IDS) {
+                throw new ProductValidationException("At most " + MAX_IDS + " ids can be updated at once");
+            }
+        }
+        String tag = isBlank(request.getTag()) ? null : request.getTag().trim();
+        if (isBlank(request.getCategory()) && isBlank(request.getBrand()) && tag == null && ids == null) {
+            throw new ProductValidationException("A category, brand, tag or ids filter is required");
+        }
+
+        Long categoryId = null;
+        if (!isBlank(request.getCategory())) {
+            categoryId = catalogDictionary.categoryId(request.getCategory());
+            if (categoryId == null) return null;
+        }
+        Long brandId = null;
+        if (!isBlank(request.getBrand())) {
+            brandId = catalogDictionary.brandId(request.getBrand());
+            if (brandId == null) return null;
+        }
+        if (ids != null && ids.isEmpty()) return null;
+        return new ProductBulkUpdateRepository.Filter(categoryId, brandId, tag, ids);
+    }
+
+    private static Object operationValue(BulkUpdateOperation operation, BulkUpdateRequestDto request) {
+        if (operation == BulkUpdateOperation.SET_AVAILABILITY) {
+            if (isBlank(request.getAvailabilityStatus())) {
+                throw new ProductValidationException("availabilityStatus is required for " + operation);
+            }
+            return request.getAvailabilityStatus().trim();
+        }
+
+        BigDecimal value = request.getValue();
+        if (value == null) {
+            throw new ProductValidationException("value is required for " + operation);
+        }
+        boolean valid = switch (operation) {
+            case SET_PRICE -> value.signum() > 0;
+            case SCALE_PRICE -> value.signum() > 0 && value.compareTo(MAX_SCALE_FACTOR) <= 0;
+            case SET_DISCOUNT -> value.signum() >= 0 && value.compareTo(MAX_DISCOUNT) <= 0;
+            default -> true;
+        };
+        if (!valid) {
+            throw new ProductValidationException("value", value.toPlainString());
+        }
+        return operation == BulkUpdateOperation.SET_DISCOUNT ? value.doubleValue() : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,37 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.exception.ProductValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class ProductCursor {
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final String sortDirection;
+    private final Long id;
+    private final String value;
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy, sortDirection, String.valueOf(id), value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new ProductValidationException("after", token);
+            }
+            return new ProductCursor(parts[0], parts[1], Long.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new ProductValidationException("after", token);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.megamart.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.megamart.productservice.repository.ProductExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+public class ProductExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportService(ProductExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportProducts(LocalDateTime updatedSince, Long afterId, OutputStream outputStream) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        long[] exported = {0};
+        try {
+            exportRepository.streamProducts(updatedSince, afterId, product -> {
+                out.write(objectMapper.writeValueAsBytes(product));
+                out.write('\n');
+                if (++exported[0] % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("Product export aborted after {} rows: {}", exported[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Exported {} products (updatedSince={}, afterId={})", exported[0], updatedSince, afterId);
+    }
+}
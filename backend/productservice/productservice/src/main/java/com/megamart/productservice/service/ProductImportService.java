@@ -0,0 +1,146 @@
+package com.megamart.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.catalog.DictionaryTerm;
+import com.megamart.productservice.dto.ProductImportErrorDto;
+import com.megamart.productservice.dto.ProductImportResultDto;
+import com.megamart.productservice.dto.ProductImportRow;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.importer.ImportRecord;
+import com.megamart.productservice.importer.ParsedRow;
+import com.megamart.productservice.importer.ProductImportFormat;
+import com.megamart.productservice.importer.ProductImportReader;
+import com.megamart.productservice.repository.ProductImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductImportRepository importRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogIndexer catalogIndexer;
+    private final CatalogDictionary catalogDictionary;
+    private final CatalogChangeService changeService;
+    private final ObjectMapper objectMapper;
+
+    public ProductImportService(ProductImportRepository importRepository, TransactionTemplate transactionTemplate,
+                                CatalogIndexer catalogIndexer, CatalogDictionary catalogDictionary,
+                                CatalogChangeService changeService, ObjectMapper objectMapper) {
+        this.importRepository = importRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogIndexer = catalogIndexer;
+        this.catalogDictionary = catalogDictionary;
+        this.changeService = changeService;
+        this.objectMapper = objectMapper;
+    }
+
+    public ProductImportResultDto importProducts(InputStream input, ProductImportFormat format) throws IOException {
+        long started = System.nanoTime();
+        List<ProductImportErrorDto> errors = new ArrayList<>();
+        long total = 0;
+        long imported = 0;
+        long failed = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            ProductImportReader importReader = new ProductImportReader(reader, format, objectMapper);
+            List<ImportRecord> chunk;
+            while (!(chunk = importReader.nextChunk(CHUNK_SIZE)).isEmpty()) {
+                List<ParsedRow> parsed = chunk.parallelStream().map(importReader::parse).toList();
+                total += parsed.size();
+
+                List<ParsedRow> valid = new ArrayList<>(parsed.size());
+                for (ParsedRow row : parsed) {
+                    if (row.isValid()) {
+                        valid.add(row);
+                    } else {
+                        failed++;
+                        addError(errors, row, row.getError());
+                    }
+                }
+
+                if (valid.isEmpty()) continue;
+                Collection<Long> ids;
+                try {
+                    ids = writeChunk(valid);
+                } catch (DataAccessException e) {
+                    String message = "Database error: " + e.getMostSpecificCause().getMessage();
+                    log.warn("Import chunk of {} rows failed: {}", valid.size(), message);
+                    failed += valid.size();
+                    valid.forEach(row -> addError(errors, row, message));
+                    continue;
+                }
+                imported += valid.size();
+                // Indexed from the committed rows; the change feed has not numbered them yet, so a replay would miss them
+                catalogIndexer.refresh(ids);
+            }
+        }
+
+        long durationMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+        double rowsPerSecond = total * 1000.0 / durationMs;
+        log.info("Imported {} of {} products ({} failed) in {} ms, {} rows/s", imported, total, failed, durationMs, Math.round(rowsPerSecond));
+        return new ProductImportResultDto(format.name(), total, imported, failed, durationMs, rowsPerSecond, errors);
+    }
+
+    private Collection<Long> writeChunk(List<ParsedRow> rows) {
+        // A sku repeated within the chunk keeps its last occurrence, the same as it would across chunks
+        Map<String, ProductImportRow> bySku = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        rows.forEach(row -> bySku.put(row.getRow().getSku(), row.getRow()));
+        List<ProductImportRow> products = new ArrayList<>(bySku.values());
+
+        return transactionTemplate.execute(status -> {
+            products.forEach(this::resolveTerms);
+            Map<String, Long> ids = importRepository.upsertProducts(products);
+            Map<Long, List<String>> tags = new LinkedHashMap<>();
+            Map<Long, List<String>> images = new LinkedHashMap<>();
+            for (ProductImportRow product : products) {
+                Long id = ids.get(product.getSku());
+                if (product.getTags() != null) tags.put(id, product.getTags());
+                if (product.getImages() != null) images.put(id, product.getImages());
+            }
+            importRepository.replaceTags(tags);
+            importRepository.replaceImages(images);
+            changeService.record(CatalogChange.PRODUCT, ids.values(), CatalogChange.UPSERT);
+            return ids.values();
+        });
+    }
+
+    private void resolveTerms(ProductImportRow product) {
+        DictionaryTerm category = catalogDictionary.resolveCategory(product.getCategory());
+        if (category != null) {
+            product.setCategoryId(category.getId());
+            product.setCategory(category.getName());
+        }
+        DictionaryTerm brand = catalogDictionary.resolveBrand(product.getBrand());
+        if (brand != null) {
+            product.setBrandId(brand.getId());
+            product.setBrand(brand.getName());
+        }
+    }
+
+    private static void addError(List<ProductImportErrorDto> errors, ParsedRow row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ProductImportErrorDto(row.getLine(), row.getRow() != null ? row.getRow().getSku() : null, message));
+        }
+    }
+}
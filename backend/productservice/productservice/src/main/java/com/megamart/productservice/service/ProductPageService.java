@@ -0,0 +1,67 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.dto.CategoryDto;
+import com.megamart.productservice.dto.ProductDTO;
+import com.megamart.productservice.dto.ProductPageDto;
+import com.megamart.productservice.dto.RelatedProductDto;
+import com.megamart.productservice.dto.ReviewSliceDto;
+import com.megamart.productservice.dto.StockAvailabilityDto;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.inventory.ReservationLedger;
+import com.megamart.productservice.repository.CategoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Everything a product page renders, in one response. The product comes from the product cache and its stock
+ * from the reservation ledger; reviews, category and related products are a primary-key or index lookup each,
+ * run on the one connection of a read-only transaction.
+ */
+@Service
+public class ProductPageService {
+
+    private final ProductService productService;
+    private final ProductReviewService reviewService;
+    private final RelatedProductsService relatedProductsService;
+    private final ReservationLedger ledger;
+    private final CategoryRepository categoryRepository;
+    private final CatalogDictionary catalogDictionary;
+
+    public ProductPageService(ProductService productService, ProductReviewService reviewService,
+                              RelatedProductsService relatedProductsService, ReservationLedger ledger,
+                              CategoryRepository categoryRepository, CatalogDictionary catalogDictionary) {
+        this.productService = productService;
+        this.reviewService = reviewService;
+        this.relatedProductsService = relatedProductsService;
+        this.ledger = ledger;
+        this.categoryRepository = categoryRepository;
+        this.catalogDictionary = catalogDictionary;
+    }
+
+    @Transactional(readOnly = true)
+    public ProductPageDto getPage(Long productId, int reviewSize, int relatedLimit) {
+        ProductDTO product = productService.getProductById(productId)
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
+
+        ReviewSliceDto reviews = reviewService.getFirstReviews(productId, reviewSize);
+        List<RelatedProductDto> related = relatedProductsService.getRelated(productId, relatedLimit);
+
+        Long categoryId = catalogDictionary.categoryId(product.getCategory());
+        CategoryDto category = categoryId == null ? null : categoryRepository.findById(categoryId)
+            .map(c -> new CategoryDto(c.getId(), c.getName(), c.getDescription()))
+            .orElse(null);
+
+        int available = availableStock(product);
+        return new ProductPageDto(product, reviews, category, related, available, available > 0);
+    }
+
+    // Held units are not for sale; a product the ledger has not loaded yet falls back to its stock column
+    private int availableStock(ProductDTO product) {
+        StockAvailabilityDto availability = ledger.availability(product.getId());
+        if (availability != null) return availability.getAvailable();
+        return product.getStock() != null ? Math.max(product.getStock(), 0) : 0;
+    }
+}
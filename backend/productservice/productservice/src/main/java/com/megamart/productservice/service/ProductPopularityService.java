@@ -0,0 +1,92 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.dto.ProductBriefDto;
+import com.megamart.productservice.dto.TrendingProductDto;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.popularity.CounterDelta;
+import com.megamart.productservice.popularity.ProductPopularityTracker;
+import com.megamart.productservice.popularity.TrendingScore;
+import com.megamart.productservice.popularity.TrendingWindow;
+import com.megamart.productservice.repository.ProductCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ProductPopularityService {
+
+    private static final int MAX_TRENDING = 100;
+
+    private final ProductPopularityTracker tracker;
+    private final ProductCounterRepository counterRepository;
+    private final ProductService productService;
+    // Deltas a failed flush could not write; only touched by the flush itself
+    private final Map<Long, CounterDelta> pending = new LinkedHashMap<>();
+
+    public ProductPopularityService(ProductPopularityTracker tracker, ProductCounterRepository counterRepository,
+                                    ProductService productService) {
+        this.tracker = tracker;
+        this.counterRepository = counterRepository;
+        this.productService = productService;
+    }
+
+    public void recordView(Long productId) {
+        tracker.recordView(productId);
+    }
+
+    public void recordCartAdd(Long productId) {
+        tracker.recordCartAdd(productId);
+    }
+
+    public List<TrendingProductDto> getTrending(String window, int limit) {
+        if (limit < 1 || limit > MAX_TRENDING) {
+            throw new ProductValidationException("limit", String.valueOf(limit));
+        }
+        List<TrendingScore> scores = tracker.trending(TrendingWindow.resolve(window), limit);
+        if (scores.isEmpty()) return List.of();
+
+        Map<Long, ProductBriefDto> products = productService.getProductsByIds(scores.stream().map(TrendingScore::getProductId).toList());
+        List<TrendingProductDto> trending = new ArrayList<>(scores.size());
+        for (TrendingScore score : scores) {
+            ProductBriefDto product = products.get(score.getProductId());
+            // Skips products deleted since they were counted
+            if (product == null) continue;
+            trending.add(new TrendingProductDto(product.getId(), product.getTitle(), product.getPrice(), product.getStock(),
+                product.getThumbnail(), score.getScore()));
+        }
+        return trending;
+    }
+
+    /**
+     * Writes the counts gathered since the last run to product_counters as one batched upsert, so the database
+     * sees one write per product per interval however many views it had.
+     */
+    @Scheduled(fixedDelayString = "${productservice.popularity.flush-interval:PT10S}")
+    public synchronized void flush() {
+        for (CounterDelta delta : tracker.drain()) {
+            pending.merge(delta.getProductId(), delta, (a, b) ->
+                new CounterDelta(a.getProductId(), a.getViews() + b.getViews(), a.getCartAdds() + b.getCartAdds()));
+        }
+        if (pending.isEmpty()) return;
+
+        try {
+            counterRepository.addAll(pending.values());
+            pending.clear();
+        } catch (DataAccessException e) {
+            log.warn("Failed to persist counters for {} products, will retry: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,204 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.ProductReviewDTO;
+import com.megamart.productservice.dto.ProductReviewRequestDto;
+import com.megamart.productservice.dto.ReviewSliceDto;
+import com.megamart.productservice.dto.ReviewSummaryDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.entity.ProductReview;
+import com.megamart.productservice.entity.ProductReviewStats;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.exception.ReviewNotFoundException;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ProductReviewRepository;
+import com.megamart.productservice.repository.ProductReviewStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ProductReviewService {
+    
+    private static final int MAX_PAGE_SIZE = 50;
+    
+    private final ProductRepository productRepository;
+    private final ProductReviewRepository reviewRepository;
+    private final ProductReviewStatsRepository statsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogChangeService changeService;
+    private final CatalogIndexer catalogIndexer;
+    private final TransactionTemplate transactionTemplate;
+    
+    public ProductReviewService(ProductRepository productRepository, ProductReviewRepository reviewRepository,
+                                ProductReviewStatsRepository statsRepository, ApplicationEventPublisher eventPublisher,
+                                CatalogChangeService changeService, CatalogIndexer catalogIndexer,
+                                TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.statsRepository = statsRepository;
+        this.eventPublisher = eventPublisher;
+        this.changeService = changeService;
+        this.catalogIndexer = catalogIndexer;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    /**
+     * Builds the review aggregates on first start, then brings products.rating in line with them in one set-based
+     * update. The products whose rating changed go to the change feed and, once committed, to the catalog indexes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStats() {
+        List<Long> refreshed = transactionTemplate.execute(status -> {
+            if (statsRepository.count() > 0) return List.<Long>of();
+            
+            int products = statsRepository.backfillFromReviews();
+            if (products > 0) {
+                log.info("Backfilled review aggregates for {} products", products);
+            }
+            List<Long> stale = statsRepository.findProductIdsWithStaleRating();
+            if (stale.isEmpty()) return stale;
+            
+            statsRepository.refreshStaleProductRatings();
+            changeService.record(CatalogChange.PRODUCT, stale, CatalogChange.UPSERT);
+            log.info("Refreshed the rating of {} products from their reviews", stale.size());
+            return stale;
+        });
+        if (refreshed != null && !refreshed.isEmpty()) {
+            catalogIndexer.refresh(refreshed);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public ReviewSliceDto getReviews(Long productId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductValidationException("size", String.valueOf(size));
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return reviewSlice(productId, cursor, size);
+    }
+    
+    /**
+     * The newest reviews of a product the caller has already loaded, so without the existence check.
+     */
+    @Transactional(readOnly = true)
+    public ReviewSliceDto getFirstReviews(Long productId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductValidationException("size", String.valueOf(size));
+        }
+        return reviewSlice(productId, null, size);
+    }
+    
+    private ReviewSliceDto reviewSlice(Long productId, String cursor, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<ProductReview> slice = cursor == null || cursor.isBlank()
+            ? reviewRepository.findByProductIdOrderByIdDesc(productId, pageRequest)
+            : reviewRepository.findByProductIdAndIdLessThanOrderByIdDesc(productId, ProductCursor.decode(cursor).getId(), pageRequest);
+        
+        List<ProductReviewDTO> reviews = slice.getContent().stream().map(ProductReviewService::convertToDTO).toList();
+        String nextCursor = null;
+        if (slice.hasNext() && !reviews.isEmpty()) {
+            Long lastId = reviews.get(reviews.size() - 1).getId();
+            nextCursor = new ProductCursor("id", "desc", lastId, String.valueOf(lastId)).encode();
+        }
+        return new ReviewSliceDto(reviews, slice.hasNext(), nextCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public ReviewSummaryDto getSummary(Long productId) {
+        return toSummary(statsRepository.findById(productId).orElse(null));
+    }
+    
+    @Transactional
+    public ProductReviewDTO addReview(Long productId, ProductReviewRequestDto request) {
+        validate(request);
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
+        
+        ProductReview review = new ProductReview();
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        review.setReviewerName(request.getReviewerName().trim());
+        review.setReviewerEmail(request.getReviewerEmail().trim());
+        review.setReviewDate(LocalDateTime.now());
+        review.setProduct(product);
+        ProductReviewDTO saved = convertToDTO(reviewRepository.save(review));
+        
+        updateAggregates(productId, request.getRating(), 1);
+        return saved;
+    }
+    
+    @Transactional
+    public void deleteReview(Long productId, Long reviewId) {
+        ProductReview review = reviewRepository.findByIdAndProductId(reviewId, productId)
+            .orElseThrow(() -> new ReviewNotFoundException(reviewId));
+        int rating = review.getRating();
+        reviewRepository.delete(review);
+        
+        updateAggregates(productId, rating, -1);
+    }
+    
+    private void updateAggregates(Long productId, int rating, int delta) {
+        statsRepository.applyReview(productId, rating, delta);
+        statsRepository.refreshProductRating(productId);
+        productRepository.findById(productId)
+            .ifPresent(product -> eventPublisher.publishEvent(ProductChangedEvent.updated(ProductDocument.from(product))));
+    }
+    
+    private static void validate(ProductReviewRequestDto request) {
+        if (request.getRating() == null || request.getRating() < 1 || request.getRating() > 5) {
+            throw new ProductValidationException("rating must be between 1 and 5");
+        }
+        if (request.getReviewerName() == null || request.getReviewerName().isBlank()) {
+            throw new ProductValidationException("reviewerName is required");
+        }
+        if (request.getReviewerEmail() == null || request.getReviewerEmail().isBlank()) {
+            throw new ProductValidationException("reviewerEmail is required");
+        }
+    }
+    
+    static ReviewSummaryDto toSummary(ProductReviewStats stats) {
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        if (stats == null || stats.getReviewCount() == 0) {
+            for (int stars = 1; stars <= 5; stars++) histogram.put(stars, 0);
+            return new ReviewSummaryDto(0, null, histogram);
+        }
+        
+        histogram.put(1, stats.getOneStar());
+        histogram.put(2, stats.getTwoStar());
+        histogram.put(3, stats.getThreeStar());
+        histogram.put(4, stats.getFourStar());
+        histogram.put(5, stats.getFiveStar());
+        double average = Math.round(stats.getRatingSum() * 100.0 / stats.getReviewCount()) / 100.0;
+        return new ReviewSummaryDto(stats.getReviewCount(), average, histogram);
+    }
+    
+    private static ProductReviewDTO convertToDTO(ProductReview review) {
+        ProductReviewDTO dto = new ProductReviewDTO();
+        dto.setId(review.getId());
+        dto.setRating(review.getRating());
+        dto.setComment(review.getComment());
+        dto.setReviewerName(review.getReviewerName());
+        dto.setReviewerEmail(review.getReviewerEmail());
+        dto.setReviewDate(review.getReviewDate());
+        return dto;
+    }
+}
@@ -1,59 +1,213 @@
 package com.megamart.productservice.service;
 
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.CategoryChangedEvent;
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.catalog.DictionaryTerm;
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.config.CacheConfig;
+import com.megamart.productservice.dto.ProductBriefDto;
 import com.megamart.productservice.dto.ProductDTO;
-import com.megamart.productservice.dto.ProductReviewDTO;
+import com.megamart.productservice.dto.ProductFacetsDto;
 import com.megamart.productservice.dto.ProductSearchRequest;
+import com.megamart.productservice.dto.ProductSliceDto;
+import com.megamart.productservice.dto.ProductSummaryDTO;
+import com.megamart.productservice.dto.StockAdjustmentDto;
+import com.megamart.productservice.dto.StockLevelDto;
+import com.megamart.productservice.dto.SuggestionDto;
 import com.megamart.productservice.entity.Product;
 import com.megamart.productservice.entity.ProductImage;
-import com.megamart.productservice.entity.ProductReview;
 import com.megamart.productservice.entity.ProductTag;
 import com.megamart.productservice.entity.Category;
 import com.megamart.productservice.exception.CategoryNotFoundException;
+import com.megamart.productservice.exception.InsufficientStockException;
 import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
 import com.megamart.productservice.repository.CategoryRepository;
+import com.megamart.productservice.repository.ProductImageRepository;
+import com.megamart.productservice.repository.ProductMetadataRepository;
 import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ProductReviewStatsRepository;
+import com.megamart.productservice.repository.ProductTagRepository;
+import com.megamart.productservice.search.FuzzyTermDictionary;
+import com.megamart.productservice.search.ProductCodeIndex;
+import com.megamart.productservice.search.ProductFilterIndex;
+import com.megamart.productservice.search.ProductSearchIndex;
+import com.megamart.productservice.search.ProductSuggestIndex;
+import com.megamart.productservice.search.SearchHits;
 import com.megamart.productservice.service.interfaces.ProductServiceInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ProductService implements ProductServiceInterface {
     
+    private static final int MAX_BATCH_LOOKUP_SIZE = 500;
+    // The admin screens and header search load up to 1000 products in one page
+    private static final int MAX_PAGE_SIZE = 1000;
+    // Database keysets compare with plain < and >, so only columns that can never be null qualify
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("id", "title", "price", "stock");
+    // Filter value for a category or brand name that is not in the dictionary, so the query matches nothing
+    private static final Long UNKNOWN_TERM = -1L;
+    
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductTagRepository productTagRepository;
+    private final ProductImageRepository productImageRepository;
+    private final ProductReviewStatsRepository reviewStatsRepository;
+    private final ProductMetadataRepository metadataRepository;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFilterIndex filterIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductCodeIndex codeIndex;
+    private final FuzzyTermDictionary fuzzyTerms;
+    private final CatalogDictionary catalogDictionary;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                          ProductTagRepository productTagRepository, ProductImageRepository productImageRepository,
+                          ProductReviewStatsRepository reviewStatsRepository, ProductMetadataRepository metadataRepository,
+                          ProductSearchIndex searchIndex,
+                          ProductFilterIndex filterIndex, ProductSuggestIndex suggestIndex,
+                          ProductCodeIndex codeIndex, FuzzyTermDictionary fuzzyTerms,
+                          CatalogDictionary catalogDictionary, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productTagRepository = productTagRepository;
+        this.productImageRepository = productImageRepository;
+        this.reviewStatsRepository = reviewStatsRepository;
+        this.metadataRepository = metadataRepository;
+        this.searchIndex = searchIndex;
+        this.filterIndex = filterIndex;
+        this.suggestIndex = suggestIndex;
+        this.codeIndex = codeIndex;
+        this.fuzzyTerms = fuzzyTerms;
+        this.catalogDictionary = catalogDictionary;
+        this.eventPublisher = eventPublisher;
     }
     
-    public Page<ProductDTO> getAllProducts(int page, int size, String sortBy, String sortDirection) {
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getAllProducts(int page, int size, String sortBy, String sortDirection) {
+        checkPage(page, size);
         Sort sort = sortDirection.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        return productRepository.findAll(pageable).map(this::convertToDTO);
+        return toSummaryPage(productRepository.findAll(pageable));
     }
     
+    @Transactional(readOnly = true)
+    public ProductSliceDto getAllProductsAfter(String after, int size, String sortBy, String sortDirection) {
+        ProductCursor cursor = parseCursor(after);
+        if (cursor != null) {
+            sortBy = cursor.getSortBy();
+            sortDirection = cursor.getSortDirection();
+        }
+        Sort sort = keysetSort(sortBy, sortDirection);
+        Window<Product> window = productRepository.findAllBy(scrollPosition(cursor, sortBy), sort, keysetLimit(size));
+        return toSlice(window, sortBy, sortDirection);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public Optional<ProductDTO> getProductById(Long id) {
         return productRepository.findById(id).map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
+    public Map<Long, ProductBriefDto> getProductsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_BATCH_LOOKUP_SIZE) {
+            throw new ProductValidationException("At most " + MAX_BATCH_LOOKUP_SIZE + " ids can be requested at once");
+        }
+        if (uniqueIds.isEmpty()) return Map.of();
+        
+        Map<Long, ProductBriefDto> productsById = new LinkedHashMap<>();
+        for (ProductBriefDto product : productRepository.findBriefsByIdIn(uniqueIds)) {
+            productsById.put(product.getId(), product);
+        }
+        return productsById;
+    }
+    
+    /**
+     * Resolves a scanned SKU or barcode. The product itself is then loaded through the cached by-id lookup.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findProductIdByCode(String code) {
+        if (code == null || code.isBlank()) return Optional.empty();
+        if (codeIndex.isReady()) return Optional.ofNullable(codeIndex.find(code));
+        return Optional.ofNullable(lookupCodes(List.of(code)).get(code));
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, ProductBriefDto> getProductsByCodes(Collection<String> codes) {
+        Set<String> uniqueCodes = new LinkedHashSet<>(codes);
+        uniqueCodes.removeIf(code -> code == null || code.isBlank());
+        if (uniqueCodes.size() > MAX_BATCH_LOOKUP_SIZE) {
+            throw new ProductValidationException("At most " + MAX_BATCH_LOOKUP_SIZE + " codes can be requested at once");
+        }
+        if (uniqueCodes.isEmpty()) return Map.of();
+        
+        Map<String, Long> ids = codeIndex.isReady() ? codeIndex.findAll(uniqueCodes) : lookupCodes(uniqueCodes);
+        Map<Long, ProductBriefDto> products = getProductsByIds(ids.values());
+        Map<String, ProductBriefDto> productsByCode = new LinkedHashMap<>();
+        ids.forEach((code, id) -> {
+            ProductBriefDto product = products.get(id);
+            if (product != null) productsByCode.put(code, product);
+        });
+        return productsByCode;
+    }
+    
+    // Until the code index is built; sku and barcode columns compare case-insensitively like the index
+    private Map<String, Long> lookupCodes(Collection<String> codes) {
+        Map<String, Long> idsByCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Object[] row : productRepository.findCodeMatches(codes.stream().map(String::trim).toList())) {
+            if (row[2] != null) idsByCode.put((String) row[2], (Long) row[0]);
+            if (row[1] != null) idsByCode.put((String) row[1], (Long) row[0]);
+        }
+        Map<String, Long> found = new LinkedHashMap<>();
+        for (String code : codes) {
+            Long id = idsByCode.get(code.trim());
+            if (id != null) found.put(code, id);
+        }
+        return found;
+    }
+    
     @Transactional
     public ProductDTO createProduct(ProductDTO productDTO) {
         Product product = convertToEntity(productDTO);
         Product savedProduct = productRepository.save(product);
+        publishChange(savedProduct);
         return convertToDTO(savedProduct);
     }
     
@@ -64,6 +218,7 @@ public class ProductService implements ProductServiceInterface {
         
         updateProductFields(existingProduct, productDTO);
         Product updatedProduct = productRepository.save(existingProduct);
+        publishChange(updatedProduct);
         return convertToDTO(updatedProduct);
     }
     
@@ -72,27 +227,183 @@ public class ProductService implements ProductServiceInterface {
         if (!productRepository.existsById(id)) {
             throw new ProductNotFoundException("Product not found with id: " + id);
         }
+        // Metadata is not cascaded from the product, so it goes first to keep its foreign key satisfied
+        metadataRepository.deleteByProductId(id);
         productRepository.deleteById(id);
+        reviewStatsRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
     
-    public Page<ProductDTO> getProductsByCategory(String category, int page, int size) {
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getProductsByCategory(String category, int page, int size) {
+        checkPage(page, size);
+        if (filterIndex.isReady()) {
+            ProductSearchRequest request = browseRequest(page, size);
+            request.setCategory(category);
+            canonicalizeTerms(request);
+            return searchFromIndex(filterIndex.search(request), request);
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        return productRepository.findByCategory(category, pageable).map(this::convertToDTO);
+        return toSummaryPage(productRepository.findByCategoryId(termFilter(category, catalogDictionary::categoryId), pageable));
     }
     
-    public Page<ProductDTO> searchProducts(ProductSearchRequest request) {
+    @Transactional(readOnly = true)
+    public ProductSliceDto getProductsByCategoryAfter(String category, String after, int size) {
+        ProductCursor cursor = parseCursor(after);
+        Window<Product> window = productRepository.findByCategoryId(termFilter(category, catalogDictionary::categoryId),
+            scrollPosition(cursor, "id"), keysetSort("id", "asc"), keysetLimit(size));
+        return toSlice(window, "id", "asc");
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> searchProducts(ProductSearchRequest request) {
+        checkPage(request.getPage(), request.getSize());
+        canonicalizeTerms(request);
+        if (filterIndex.supports(request)) {
+            return searchFromIndex(filterIndex.search(request), request);
+        }
+        if (searchIndex.isReady()) {
+            return searchFromIndex(searchWithCorrection(request, searchIndex::search), request);
+        }
+        
+        String sortBy = ProductSearchIndex.RELEVANCE.equalsIgnoreCase(request.getSortBy()) ? "id" : request.getSortBy();
         Sort sort = request.getSortDirection().equalsIgnoreCase("desc") ? 
-            Sort.by(request.getSortBy()).descending() : Sort.by(request.getSortBy()).ascending();
+            Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
         
-        return productRepository.findProductsWithFilters(
+        return toSummaryPage(productRepository.findProductsWithFilters(
             request.getQuery(),
-            request.getCategory(),
-            request.getBrand(),
+            termFilter(request.getCategory(), catalogDictionary::categoryId),
+            termFilter(request.getBrand(), catalogDictionary::brandId),
             request.getMinPrice(),
             request.getMaxPrice(),
+            request.getInStock(),
+            request.getAvailabilityStatus(),
             pageable
-        ).map(this::convertToDTO);
+        ));
+    }
+    
+    @Transactional(readOnly = true)
+    public ProductSliceDto searchProductsAfter(ProductSearchRequest request, String after) {
+        ProductCursor cursor = parseCursor(after);
+        keysetLimit(request.getSize());
+        canonicalizeTerms(request);
+        
+        if (cursor != null) {
+            request.setSortBy(cursor.getSortBy());
+            request.setSortDirection(cursor.getSortDirection());
+        }
+        request.setPage(0);
+        
+        boolean filterOnly = filterIndex.supports(request);
+        if (filterOnly || searchIndex.isReady()) {
+            SearchHits hits;
+            if (cursor == null) {
+                hits = filterOnly ? filterIndex.search(request) : searchWithCorrection(request, searchIndex::search);
+            } else {
+                hits = filterOnly ? filterIndex.searchAfter(request, cursor.getValue(), cursor.getId()) :
+                    searchWithCorrection(request, r -> searchIndex.searchAfter(r, cursor.getValue(), cursor.getId()));
+            }
+            List<Product> products = findAllInOrder(hits.getProductIds());
+            boolean hasNext = hits.getTotalHits() > hits.getProductIds().size() && !products.isEmpty();
+            String nextCursor = hasNext ? new ProductCursor(request.getSortBy(), request.getSortDirection(),
+                hits.getProductIds().get(hits.getProductIds().size() - 1), hits.getLastSortValue()).encode() : null;
+            return new ProductSliceDto(toSummaries(products), products.size(), hasNext, nextCursor);
+        }
+        
+        // Until the index is built, walk the filtered rows in id order
+        Slice<Product> slice = productRepository.findProductsWithFiltersAfter(
+            request.getQuery(),
+            termFilter(request.getCategory(), catalogDictionary::categoryId),
+            termFilter(request.getBrand(), catalogDictionary::brandId),
+            request.getMinPrice(),
+            request.getMaxPrice(),
+            request.getInStock(),
+            request.getAvailabilityStatus(),
+            cursor != null ? cursor.getId() : null,
+            PageRequest.of(0, request.getSize())
+        );
+        List<Product> products = slice.getContent();
+        String nextCursor = slice.hasNext() ? idCursor(products.get(products.size() - 1)) : null;
+        return new ProductSliceDto(toSummaries(products), products.size(), slice.hasNext(), nextCursor);
+    }
+    
+    /**
+     * Runs the search and, when nothing matches, once more with misspelled words replaced by the closest catalog
+     * terms. Later pages carry the query as typed, so they take the same detour and stay on the corrected results.
+     */
+    private SearchHits searchWithCorrection(ProductSearchRequest request, Function<ProductSearchRequest, SearchHits> search) {
+        SearchHits hits = search.apply(request);
+        if (hits.getTotalHits() > 0 || request.getQuery() == null || request.getQuery().isBlank() || !fuzzyTerms.isReady()) {
+            return hits;
+        }
+        String corrected = fuzzyTerms.correct(request.getQuery());
+        if (corrected == null) return hits;
+        
+        log.debug("No matches for '{}', searching for '{}'", request.getQuery(), corrected);
+        request.setQuery(corrected);
+        return search.apply(request);
+    }
+    
+    private Page<ProductSummaryDTO> searchFromIndex(SearchHits hits, ProductSearchRequest request) {
+        List<Product> products = findAllInOrder(hits.getProductIds());
+        return new PageImpl<>(toSummaries(products), PageRequest.of(request.getPage(), request.getSize()), hits.getTotalHits());
+    }
+    
+    // The in-memory indexes match on labels, so a slug or differently spelled name becomes the canonical name
+    private void canonicalizeTerms(ProductSearchRequest request) {
+        Long categoryId = catalogDictionary.categoryId(request.getCategory());
+        if (categoryId != null) request.setCategory(catalogDictionary.categoryName(categoryId));
+        Long brandId = catalogDictionary.brandId(request.getBrand());
+        if (brandId != null) request.setBrand(catalogDictionary.brandName(brandId));
+    }
+    
+    private Long termFilter(String nameOrSlug, Function<String, Long> lookup) {
+        if (nameOrSlug == null || nameOrSlug.isBlank()) return null;
+        Long id = lookup.apply(nameOrSlug);
+        return id != null ? id : UNKNOWN_TERM;
+    }
+    
+    private ProductSearchRequest browseRequest(int page, int size) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSortBy("id");
+        request.setPage(page);
+        request.setSize(size);
+        return request;
+    }
+    
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        
+        Map<Long, Product> productsById = productRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+            .map(productsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    public ProductFacetsDto getFacets(ProductSearchRequest request) {
+        canonicalizeTerms(request);
+        boolean hasQuery = request.getQuery() != null && !request.getQuery().isBlank();
+        if (hasQuery ? searchIndex.isReady() : filterIndex.isReady()) {
+            return filterIndex.facets(request, hasQuery ? searchIndex.matchingIds(request.getQuery()) : null);
+        }
+        
+        // Until the indexes are built, count the rows the database returns in a throwaway index
+        ProductFilterIndex snapshot = new ProductFilterIndex();
+        productRepository.findFacetRows(hasQuery ? request.getQuery() : null, request.getInStock(), request.getAvailabilityStatus())
+            .forEach(row -> snapshot.apply(new ProductDocument((Long) row[0], null, null, (String) row[1], (String) row[2],
+                (BigDecimal) row[3], null, (Double) row[4], (Integer) row[5], null, (String) row[6], null, null, List.of())));
+        return snapshot.facets(request, null);
+    }
+    
+    public List<SuggestionDto> suggest(String query, int limit) {
+        if (limit < 1) {
+            throw new ProductValidationException("limit", String.valueOf(limit));
+        }
+        return suggestIndex.suggest(query, Math.min(limit, ProductSuggestIndex.MAX_SUGGESTIONS));
     }
     
     public List<String> getAllCategories() {
@@ -104,36 +415,237 @@ public class ProductService implements ProductServiceInterface {
     }
     
     public List<String> getBrandsByCategory(String category) {
-        return productRepository.findBrandsByCategory(category);
+        Long categoryId = catalogDictionary.categoryId(category);
+        return categoryId == null ? List.of() : productRepository.findBrandsByCategoryId(categoryId);
     }
     
-    public Page<ProductDTO> getProductsInStock(int page, int size) {
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getProductsInStock(int page, int size) {
+        checkPage(page, size);
+        if (filterIndex.isReady()) {
+            ProductSearchRequest request = browseRequest(page, size);
+            request.setInStock(true);
+            return searchFromIndex(filterIndex.search(request), request);
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        return productRepository.findByStockGreaterThan(0, pageable).map(this::convertToDTO);
+        return toSummaryPage(productRepository.findByStockGreaterThan(0, pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public ProductSliceDto getProductsInStockAfter(String after, int size) {
+        ProductCursor cursor = parseCursor(after);
+        Window<Product> window = productRepository.findByStockGreaterThan(
+            0, scrollPosition(cursor, "id"), keysetSort("id", "asc"), keysetLimit(size));
+        return toSlice(window, "id", "asc");
     }
     
     @Transactional
     public ProductDTO updateStock(Long id, Integer stockChange) {
-        System.out.println("Updating stock for product " + id + " with change: " + stockChange);
+        log.info("Updating stock for product {} with change: {}", id, stockChange);
         
-        Product product = productRepository.findById(id)
+        if (productRepository.adjustStock(id, stockChange) == 0) {
+            throw stockFailure(id, stockChange);
+        }
+        
+        Product updatedProduct = productRepository.findById(id)
             .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        publishChange(updatedProduct);
         
-        int oldStock = product.getStock();
-        int newStock = oldStock + stockChange;
+        log.info("Stock updated successfully for product {}. New stock: {}", id, updatedProduct.getStock());
+        return convertToDTO(updatedProduct);
+    }
+    
+    @Transactional
+    public List<StockLevelDto> updateStockBatch(List<StockAdjustmentDto> adjustments) {
+        // Apply in id order so concurrent batches lock rows in the same sequence
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockAdjustmentDto adjustment : adjustments) {
+            if (adjustment.getProductId() == null || adjustment.getStockChange() == null) {
+                throw new ProductValidationException("productId and stockChange are required for every item");
+            }
+            deltas.merge(adjustment.getProductId(), adjustment.getStockChange(), Integer::sum);
+        }
         
-        System.out.println("Product " + id + " stock: " + oldStock + " -> " + newStock);
+        for (Map.Entry<Long, Integer> delta : deltas.entrySet()) {
+            if (productRepository.adjustStock(delta.getKey(), delta.getValue()) == 0) {
+                throw stockFailure(delta.getKey(), delta.getValue());
+            }
+        }
         
-        if (newStock < 0) {
-            throw new IllegalArgumentException("Stock cannot be negative. Current: " + oldStock + ", Change: " + stockChange);
+        List<Product> products = productRepository.findAllById(deltas.keySet());
+        products.forEach(this::publishChange);
+        log.info("Applied batch stock update to {} products", products.size());
+        return products.stream()
+            .map(product -> new StockLevelDto(product.getId(), product.getStock()))
+            .toList();
+    }
+    
+    /**
+     * Holds the quantities for a reservation, all or none. Held units stay in stock but no other reservation
+     * or direct decrement can take them.
+     */
+    @Transactional
+    public void reserveStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        for (Map.Entry<Long, Integer> item : ordered.entrySet()) {
+            if (productRepository.reserveStock(item.getKey(), item.getValue()) == 0) {
+                throw stockFailure(item.getKey(), -item.getValue());
+            }
+        }
+        productRepository.findAllById(ordered.keySet()).forEach(this::publishChange);
+    }
+    
+    @Transactional
+    public void releaseReservedStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        for (Map.Entry<Long, Integer> item : ordered.entrySet()) {
+            if (productRepository.releaseReservedStock(item.getKey(), item.getValue()) == 0) {
+                log.warn("Product {} no longer holds {} reserved units", item.getKey(), item.getValue());
+            }
+        }
+        productRepository.findAllById(ordered.keySet()).forEach(this::publishChange);
+    }
+    
+    // Turns held units into a real decrement
+    @Transactional
+    public void commitReservedStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        for (Map.Entry<Long, Integer> item : ordered.entrySet()) {
+            if (productRepository.commitReservedStock(item.getKey(), item.getValue()) == 0) {
+                throw stockFailure(item.getKey(), -item.getValue());
+            }
+        }
+        productRepository.findAllById(ordered.keySet()).forEach(this::publishChange);
+    }
+    
+    private RuntimeException stockFailure(Long id, int stockChange) {
+        Product product = productRepository.findById(id)
+            .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
+        int reserved = product.getReservedStock() != null ? product.getReservedStock() : 0;
+        return new InsufficientStockException(id, -stockChange, Math.max(product.getStock() - reserved, 0));
+    }
+    
+    private ProductCursor parseCursor(String after) {
+        return after == null || after.isBlank() ? null : ProductCursor.decode(after);
+    }
+    
+    private Sort keysetSort(String sortBy, String sortDirection) {
+        if (!KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new ProductValidationException("sortBy", sortBy);
+        }
+        Sort sort = Sort.by("desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+    
+    private Limit keysetLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductValidationException("size", String.valueOf(size));
+        }
+        return Limit.of(size);
+    }
+    
+    // Bounded here so a page offset can never overflow or go negative further down
+    private static void checkPage(int page, int size) {
+        if (page < 0) {
+            throw new ProductValidationException("page", String.valueOf(page));
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductValidationException("size", String.valueOf(size));
         }
+    }
+    
+    private ScrollPosition scrollPosition(ProductCursor cursor, String sortBy) {
+        if (cursor == null) return ScrollPosition.keyset();
         
-        product.setStock(newStock);
-        Product updatedProduct = productRepository.save(product);
+        Map<String, Object> keys = new HashMap<>();
+        keys.put("id", cursor.getId());
+        if (!"id".equals(sortBy)) {
+            keys.put(sortBy, keysetValue(sortBy, cursor.getValue()));
+        }
+        return ScrollPosition.forward(keys);
+    }
+    
+    private Object keysetValue(String sortBy, String value) {
+        try {
+            return switch (sortBy) {
+                case "price" -> new BigDecimal(value);
+                case "stock" -> Integer.valueOf(value);
+                default -> value;
+            };
+        } catch (NumberFormatException e) {
+            throw new ProductValidationException("after", value);
+        }
+    }
+    
+    private String sortValue(Product product, String sortBy) {
+        Object value = switch (sortBy) {
+            case "title" -> product.getTitle();
+            case "price" -> product.getPrice();
+            case "stock" -> product.getStock();
+            default -> product.getId();
+        };
+        return String.valueOf(value);
+    }
+    
+    private String idCursor(Product product) {
+        return new ProductCursor("id", "asc", product.getId(), String.valueOf(product.getId())).encode();
+    }
+    
+    private ProductSliceDto toSlice(Window<Product> window, String sortBy, String sortDirection) {
+        List<Product> products = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !products.isEmpty()) {
+            Product last = products.get(products.size() - 1);
+            nextCursor = new ProductCursor(sortBy, sortDirection, last.getId(), sortValue(last, sortBy)).encode();
+        }
+        return new ProductSliceDto(toSummaries(products), products.size(), window.hasNext(), nextCursor);
+    }
+    
+    private Page<ProductSummaryDTO> toSummaryPage(Page<Product> page) {
+        return new PageImpl<>(toSummaries(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+    
+    private List<ProductSummaryDTO> toSummaries(List<Product> products) {
+        if (products.isEmpty()) return List.of();
         
-        System.out.println("Stock updated successfully for product " + id + ". New stock: " + updatedProduct.getStock());
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        Map<Long, List<String>> tagsByProduct = productTagRepository.findByProductIds(ids).stream()
+            .collect(Collectors.groupingBy(tag -> tag.getProduct().getId(),
+                Collectors.mapping(ProductTag::getTag, Collectors.toList())));
+        Map<Long, String> imageByProduct = new HashMap<>();
+        for (ProductImage image : productImageRepository.findByProductIds(ids)) {
+            imageByProduct.putIfAbsent(image.getProduct().getId(), image.getImageUrl());
+        }
         
-        return convertToDTO(updatedProduct);
+        return products.stream()
+            .map(product -> convertToSummaryDTO(product,
+                tagsByProduct.getOrDefault(product.getId(), List.of()),
+                imageByProduct.get(product.getId())))
+            .toList();
+    }
+    
+    private ProductSummaryDTO convertToSummaryDTO(Product product, List<String> tags, String primaryImage) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(product.getId());
+        dto.setTitle(product.getTitle());
+        dto.setDescription(product.getDescription());
+        dto.setCategory(product.getCategory());
+        dto.setPrice(product.getPrice());
+        dto.setDiscountPercentage(product.getDiscountPercentage());
+        dto.setRating(product.getRating());
+        dto.setStock(product.getStock());
+        dto.setBrand(product.getBrand());
+        dto.setSku(product.getSku());
+        dto.setAvailabilityStatus(product.getAvailabilityStatus());
+        dto.setThumbnail(product.getThumbnail());
+        dto.setTags(tags);
+        dto.setImages(primaryImage != null ? List.of(primaryImage) : List.of());
+        return dto;
+    }
+    
+    private void publishChange(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.updated(ProductDocument.from(product)));
     }
     
     private ProductDTO convertToDTO(Product product) {
@@ -163,11 +675,8 @@ public class ProductService implements ProductServiceInterface {
                 .toList());
         }
         
-        if (product.getReviews() != null) {
-            dto.setReviews(product.getReviews().stream()
-                .map(this::convertReviewToDTO)
-                .toList());
-        }
+        dto.setReviewSummary(ProductReviewService.toSummary(
+            product.getId() != null ? reviewStatsRepository.findById(product.getId()).orElse(null) : null));
         
         return dto;
     }
@@ -178,7 +687,9 @@ public class ProductService implements ProductServiceInterface {
     
     @Transactional
     public Category createCategory(Category category) {
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.updated(savedCategory.getId()));
+        return savedCategory;
     }
     
     @Transactional
@@ -186,11 +697,19 @@ public class ProductService implements ProductServiceInterface {
         Category existingCategory = categoryRepository.findById(id)
             .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
         
+        boolean renamed = !Objects.equals(existingCategory.getName(), category.getName());
         existingCategory.setName(category.getName());
         existingCategory.setDescription(category.getDescription());
         existingCategory.setSlug(category.getSlug());
         
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = categoryRepository.save(existingCategory);
+        if (renamed) {
+            // Products carry the name as a label next to the id, so they are relabelled and re-indexed
+            productRepository.relabelCategory(id, savedCategory.getName());
+            productRepository.findAllByCategoryId(id).forEach(this::publishChange);
+        }
+        eventPublisher.publishEvent(CategoryChangedEvent.updated(id));
+        return savedCategory;
     }
     
     @Transactional
@@ -198,19 +717,23 @@ public class ProductService implements ProductServiceInterface {
         if (!categoryRepository.existsById(id)) {
             throw new CategoryNotFoundException("Category not found with id: " + id);
         }
+        if (productRepository.existsByCategoryId(id)) {
+            throw new ProductValidationException("Category " + id + " still has products and cannot be deleted");
+        }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
     }
     
     private Product convertToEntity(ProductDTO dto) {
         Product product = new Product();
         product.setTitle(dto.getTitle());
         product.setDescription(dto.getDescription());
-        product.setCategory(dto.getCategory());
+        applyCategory(product, dto.getCategory());
         product.setPrice(dto.getPrice());
         product.setDiscountPercentage(dto.getDiscountPercentage());
         product.setRating(dto.getRating());
         product.setStock(dto.getStock());
-        product.setBrand(dto.getBrand());
+        applyBrand(product, dto.getBrand());
         product.setSku(dto.getSku());
         product.setAvailabilityStatus(dto.getAvailabilityStatus());
         product.setThumbnail(dto.getThumbnail());
@@ -239,17 +762,29 @@ public class ProductService implements ProductServiceInterface {
     private void updateBasicFields(Product product, ProductDTO dto) {
         if (dto.getTitle() != null) product.setTitle(dto.getTitle());
         if (dto.getDescription() != null) product.setDescription(dto.getDescription());
-        if (dto.getCategory() != null) product.setCategory(dto.getCategory());
+        if (dto.getCategory() != null) applyCategory(product, dto.getCategory());
         if (dto.getPrice() != null) product.setPrice(dto.getPrice());
         if (dto.getDiscountPercentage() != null) product.setDiscountPercentage(dto.getDiscountPercentage());
         if (dto.getRating() != null) product.setRating(dto.getRating());
         if (dto.getStock() != null) product.setStock(dto.getStock());
-        if (dto.getBrand() != null) product.setBrand(dto.getBrand());
+        if (dto.getBrand() != null) applyBrand(product, dto.getBrand());
         if (dto.getSku() != null) product.setSku(dto.getSku());
         if (dto.getAvailabilityStatus() != null) product.setAvailabilityStatus(dto.getAvailabilityStatus());
         if (dto.getThumbnail() != null) product.setThumbnail(dto.getThumbnail());
     }
     
+    private void applyCategory(Product product, String category) {
+        DictionaryTerm term = catalogDictionary.resolveCategory(category);
+        product.setCategoryId(term != null ? term.getId() : null);
+        product.setCategory(term != null ? term.getName() : category);
+    }
+    
+    private void applyBrand(Product product, String brand) {
+        DictionaryTerm term = catalogDictionary.resolveBrand(brand);
+        product.setBrandId(term != null ? term.getId() : null);
+        product.setBrand(term != null ? term.getName() : brand);
+    }
+    
     private void updateImages(Product product, ProductDTO dto) {
         if (dto.getImages() == null) return;
         
@@ -274,15 +809,4 @@ public class ProductService implements ProductServiceInterface {
             product.getImages().add(image);
         }
     }
-    
-    private ProductReviewDTO convertReviewToDTO(ProductReview review) {
-        ProductReviewDTO dto = new ProductReviewDTO();
-        dto.setId(review.getId());
-        dto.setRating(review.getRating());
-        dto.setComment(review.getComment());
-        dto.setReviewerName(review.getReviewerName());
-        dto.setReviewerEmail(review.getReviewerEmail());
-        dto.setReviewDate(review.getReviewDate());
-        return dto;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.dto.RelatedProductDto;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.related.RelatedProductsIndex;
+import com.megamart.productservice.related.SimilarProduct;
+import com.megamart.productservice.repository.RelatedProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class RelatedProductsService {
+
+    static final int TOP_N = 20;
+    private static final int CHUNK_SIZE = 500;
+
+    private final RelatedProductsIndex relatedIndex;
+    private final RelatedProductRepository relatedRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RelatedProductsService(RelatedProductsIndex relatedIndex, RelatedProductRepository relatedRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.relatedIndex = relatedIndex;
+        this.relatedRepository = relatedRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<RelatedProductDto> getRelated(Long productId, int limit) {
+        if (limit < 1 || limit > TOP_N) {
+            throw new ProductValidationException("limit", String.valueOf(limit));
+        }
+        return relatedRepository.findRelated(productId, limit);
+    }
+
+    /**
+     * Recomputes the stored rankings of every product whose features, or whose neighbours' features, changed since
+     * the last run. After a restart the whole catalog is dirty once. Each chunk is written in its own transaction;
+     * a failed chunk and everything after it are queued for the next run.
+     */
+    @Scheduled(fixedDelayString = "${productservice.related.recompute-interval:PT30S}")
+    public synchronized void recompute() {
+        if (!relatedIndex.isReady()) return;
+        List<Long> dirty = new ArrayList<>(relatedIndex.drainDirty());
+        if (dirty.isEmpty()) return;
+
+        long started = System.nanoTime();
+        for (int from = 0; from < dirty.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = dirty.subList(from, Math.min(from + CHUNK_SIZE, dirty.size()));
+            Map<Long, List<SimilarProduct>> related = new LinkedHashMap<>();
+            for (Long productId : chunk) {
+                List<SimilarProduct> similar = relatedIndex.similar(productId, TOP_N);
+                // Deleted products only have their rows cleared
+                if (similar != null) related.put(productId, similar);
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> relatedRepository.replace(chunk, related));
+            } catch (DataAccessException e) {
+                Set<Long> remaining = Set.copyOf(dirty.subList(from, dirty.size()));
+                log.warn("Failed to store related products, {} products will be retried: {}", remaining.size(), e.getMessage());
+                relatedIndex.requeue(remaining);
+                return;
+            }
+        }
+        log.info("Recomputed related products for {} products in {} ms", dirty.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
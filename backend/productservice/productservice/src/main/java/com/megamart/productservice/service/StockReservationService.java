@@ -0,0 +1,160 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.dto.ReservationDto;
+import com.megamart.productservice.dto.ReservationItemDto;
+import com.megamart.productservice.dto.ReservationRequestDto;
+import com.megamart.productservice.dto.StockAvailabilityDto;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.exception.ReservationNotFoundException;
+import com.megamart.productservice.inventory.Reservation;
+import com.megamart.productservice.inventory.ReservationLedger;
+import com.megamart.productservice.inventory.ReservationStatus;
+import com.megamart.productservice.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * TTL holds on stock. Each hold is stored and counted against products.reserved_stock in one transaction, so
+ * every instance sees and enforces the same holds; availability reads come from the ledger, which indexes that
+ * column from the product documents.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+    private static final Duration MAX_TTL = Duration.ofHours(1);
+    private static final int MAX_ITEMS = 100;
+
+    private final ReservationLedger ledger;
+    private final StockReservationRepository reservationRepository;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+
+    public StockReservationService(ReservationLedger ledger, StockReservationRepository reservationRepository,
+                                   ProductService productService, TransactionTemplate transactionTemplate) {
+        this.ledger = ledger;
+        this.reservationRepository = reservationRepository;
+        this.productService = productService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public ReservationDto reserve(ReservationRequestDto request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new ProductValidationException("At least one item is required");
+        }
+        if (request.getItems().size() > MAX_ITEMS) {
+            throw new ProductValidationException("At most " + MAX_ITEMS + " items can be reserved at once");
+        }
+
+        Map<Long, Integer> items = new TreeMap<>();
+        for (ReservationItemDto item : request.getItems()) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new ProductValidationException("productId and a positive quantity are required for every item");
+            }
+            items.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : DEFAULT_TTL;
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(MAX_TTL) > 0) {
+            throw new ProductValidationException("ttlSeconds", String.valueOf(request.getTtlSeconds()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), request.getReference(), items, now,
+            now.plus(ttl), ReservationStatus.HELD, now);
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.reserveStock(reservation.getItems());
+            reservationRepository.insert(reservation);
+        });
+        log.info("Reserved {} products under {} until {}", items.size(), reservation.getId(), reservation.getExpiresAt());
+        return toDto(reservation);
+    }
+
+    public ReservationDto getReservation(String id) {
+        return toDto(find(id));
+    }
+
+    // The status change and the stock decrement commit together, so a hold is confirmed exactly once
+    public ReservationDto confirm(String id) {
+        Reservation confirmed = transactionTemplate.execute(status -> {
+            Reservation reservation = finish(id, ReservationStatus.CONFIRMED);
+            productService.commitReservedStock(reservation.getItems());
+            return reservation;
+        });
+        return toDto(confirmed);
+    }
+
+    public ReservationDto release(String id) {
+        return toDto(releaseHold(id, ReservationStatus.RELEASED));
+    }
+
+    public StockAvailabilityDto getAvailability(Long productId) {
+        StockAvailabilityDto availability = ledger.availability(productId);
+        if (availability == null) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return availability;
+    }
+
+    @Scheduled(fixedDelayString = "${productservice.reservations.sweep-interval:PT1S}")
+    public void expireHolds() {
+        int expired = 0;
+        for (Reservation reservation : reservationRepository.findExpired(LocalDateTime.now())) {
+            try {
+                releaseHold(reservation.getId(), ReservationStatus.EXPIRED);
+                expired++;
+            } catch (ProductValidationException e) {
+                // Confirmed, released or expired by another instance since the query
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+    }
+
+    private Reservation releaseHold(String id, ReservationStatus to) {
+        return transactionTemplate.execute(status -> {
+            Reservation reservation = finish(id, to);
+            productService.releaseReservedStock(reservation.getItems());
+            return reservation;
+        });
+    }
+
+    private Reservation finish(String id, ReservationStatus to) {
+        Reservation reservation = find(id);
+        LocalDateTime now = LocalDateTime.now();
+        if (reservation.getStatus() != ReservationStatus.HELD) {
+            throw new ProductValidationException("Reservation " + id + " is " + reservation.getStatus());
+        }
+        if (to == ReservationStatus.CONFIRMED && !reservation.getExpiresAt().isAfter(now)) {
+            throw new ProductValidationException("Reservation " + id + " has expired");
+        }
+        if (!reservationRepository.transition(id, ReservationStatus.HELD, to, now)) {
+            throw new ProductValidationException("Reservation " + id + " is " + find(id).getStatus());
+        }
+        return reservation.withStatus(to, now);
+    }
+
+    private Reservation find(String id) {
+        return reservationRepository.findById(id).orElseThrow(() -> new ReservationNotFoundException(id));
+    }
+
+    private static ReservationDto toDto(Reservation reservation) {
+        List<ReservationItemDto> items = reservation.getItems().entrySet().stream()
+            .map(item -> new ReservationItemDto(item.getKey(), item.getValue()))
+            .toList();
+        return new ReservationDto(reservation.getId(), reservation.getReference(), reservation.getStatus().name(),
+            reservation.getExpiresAt(), items);
+    }
+}
@@ -2,6 +2,8 @@ package com.megamart.productservice.service.interfaces;
 
 import com.megamart.productservice.dto.ProductDTO;
 import com.megamart.productservice.dto.ProductSearchRequest;
+import com.megamart.productservice.dto.ProductSliceDto;
+import com.megamart.productservice.dto.ProductSummaryDTO;
 import com.megamart.productservice.entity.Category;
 import org.springframework.data.domain.Page;
 
@@ -9,16 +11,20 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ProductServiceInterface {
-    Page<ProductDTO> getAllProducts(int page, int size, String sortBy, String sortDirection);
+    Page<ProductSummaryDTO> getAllProducts(int page, int size, String sortBy, String sortDirection);
+    ProductSliceDto getAllProductsAfter(String after, int size, String sortBy, String sortDirection);
     Optional<ProductDTO> getProductById(Long id);
     ProductDTO createProduct(ProductDTO productDTO);
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
     void deleteProduct(Long id);
-    Page<ProductDTO> getProductsByCategory(String category, int page, int size);
-    Page<ProductDTO> searchProducts(ProductSearchRequest request);
+    Page<ProductSummaryDTO> getProductsByCategory(String category, int page, int size);
+    ProductSliceDto getProductsByCategoryAfter(String category, String after, int size);
+    Page<ProductSummaryDTO> searchProducts(ProductSearchRequest request);
+    ProductSliceDto searchProductsAfter(ProductSearchRequest request, String after);
     List<String> getAllCategories();
     List<String> getAllBrands();
-    Page<ProductDTO> getProductsInStock(int page, int size);
+    Page<ProductSummaryDTO> getProductsInStock(int page, int size);
+    ProductSliceDto getProductsInStockAfter(String after, int size);
     
     // Category methods
     List<Category> getAllCategoryEntities();
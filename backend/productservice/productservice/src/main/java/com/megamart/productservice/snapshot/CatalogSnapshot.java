@@ -0,0 +1,169 @@
+package com.megamart.productservice.snapshot;
+
+import com.megamart.productservice.catalog.ProductDocument;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of a catalog snapshot file, mapped into memory rather than read onto the heap.
+ * <p>
+ * Layout: a fixed header, then one fixed-width column per field with a value for every product in id order, then
+ * a string pool. String columns hold the pool offset of a length-prefixed UTF-8 value, or -1 for null; tags are
+ * stored as one newline-separated value. Missing numbers are stored as NaN or the type's minimum.
+ * <p>
+ * The mapping only saves the database load on start-up: the indexes are still rebuilt from decoded on-heap
+ * documents. Serving index reads from the mapped columns themselves is follow-up work.
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x4D4D4353;
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 48;
+    static final int NULL_REF = -1;
+    static final long NULL_PRICE = Long.MIN_VALUE;
+    static final int NULL_STOCK = Integer.MIN_VALUE;
+    static final int PRICE_SCALE = 2;
+    static final String TAG_SEPARATOR = "\n";
+
+    static final int ID = 0;
+    static final int PRICE = 1;
+    static final int DISCOUNT = 2;
+    static final int RATING = 3;
+    static final int STOCK = 4;
+    static final int TITLE = 5;
+    static final int DESCRIPTION = 6;
+    static final int CATEGORY = 7;
+    static final int BRAND = 8;
+    static final int AVAILABILITY = 9;
+    static final int SKU = 10;
+    static final int BARCODE = 11;
+    static final int TAGS = 12;
+    static final int RESERVED = 13;
+    static final int[] WIDTHS = {8, 8, 8, 8, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4};
+
+    private final ByteBuffer buffer;
+    private final long catalogVersion;
+    private final int size;
+    private final Instant createdAt;
+    private final int[] columnOffsets = new int[WIDTHS.length];
+    private final int poolOffset;
+
+    private CatalogSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog snapshot format " + buffer.getInt(4));
+        }
+        this.catalogVersion = buffer.getLong(8);
+        this.size = buffer.getInt(16);
+        long poolStart = buffer.getLong(24);
+        long poolLength = buffer.getLong(32);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(40));
+
+        long offset = HEADER_BYTES;
+        for (int column = 0; column < WIDTHS.length; column++) {
+            columnOffsets[column] = (int) offset;
+            offset += (long) size * WIDTHS[column];
+        }
+        if (size < 0 || offset != poolStart || poolStart + poolLength != buffer.capacity()) {
+            throw new IOException("Catalog snapshot is truncated or corrupt");
+        }
+        this.poolOffset = (int) poolStart;
+    }
+
+    /**
+     * Maps the file read-only. The mapping stays valid after the file is replaced, since the old contents are
+     * only released once nothing maps them.
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot exceeds 2 GB: " + path);
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ProductDocument document(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException(row);
+
+        long priceCents = buffer.getLong(cell(PRICE, row));
+        double discount = buffer.getDouble(cell(DISCOUNT, row));
+        double rating = buffer.getDouble(cell(RATING, row));
+        int stock = buffer.getInt(cell(STOCK, row));
+        int reserved = buffer.getInt(cell(RESERVED, row));
+        String tags = string(TAGS, row);
+        return new ProductDocument(
+            buffer.getLong(cell(ID, row)),
+            string(TITLE, row),
+            string(DESCRIPTION, row),
+            string(CATEGORY, row),
+            string(BRAND, row),
+            priceCents == NULL_PRICE ? null : BigDecimal.valueOf(priceCents, PRICE_SCALE),
+            Double.isNaN(discount) ? null : discount,
+            Double.isNaN(rating) ? null : rating,
+            stock == NULL_STOCK ? null : stock,
+            reserved == NULL_STOCK ? null : reserved,
+            string(AVAILABILITY, row),
+            string(SKU, row),
+            string(BARCODE, row),
+            tags == null ? List.of() : Arrays.asList(tags.split(TAG_SEPARATOR))
+        );
+    }
+
+    /**
+     * Every product in id order. Documents are decoded from the mapping as they are read and not retained, so
+     * each pass over the list decodes every string again; callers reading it more than once should copy it.
+     */
+    public List<ProductDocument> documents() {
+        return new AbstractList<>() {
+            @Override
+            public ProductDocument get(int row) {
+                return document(row);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int cell(int column, int row) {
+        return columnOffsets[column] + row * WIDTHS[column];
+    }
+
+    private String string(int column, int row) {
+        int ref = buffer.getInt(cell(column, row));
+        if (ref == NULL_REF) return null;
+
+        int at = poolOffset + ref;
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
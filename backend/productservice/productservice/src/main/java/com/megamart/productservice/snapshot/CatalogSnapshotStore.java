@@ -0,0 +1,71 @@
+package com.megamart.productservice.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Location of the catalog snapshot file, which replicas may share through a common volume.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    public interface SnapshotSource {
+        void writeTo(CatalogSnapshotWriter writer) throws IOException;
+    }
+
+    private final Path path;
+    private final boolean enabled;
+
+    public CatalogSnapshotStore(@Value("${productservice.snapshot.path:data/catalog.snapshot}") Path path,
+                                @Value("${productservice.snapshot.enabled:true}") boolean enabled) {
+        this.path = path.toAbsolutePath();
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Maps the current snapshot, or returns null when there is none or it cannot be read.
+     */
+    public CatalogSnapshot open() {
+        if (!enabled || !Files.isRegularFile(path)) return null;
+        try {
+            return CatalogSnapshot.open(path);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a new snapshot beside the current one and moves it into place atomically, so a replica mapping the
+     * file at the same time sees either the old or the new snapshot in full.
+     */
+    public int write(long catalogVersion, SnapshotSource source) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path pool = Files.createTempFile(path.getParent(), "catalog", ".pool");
+        Path target = Files.createTempFile(path.getParent(), "catalog", ".snapshot");
+        try {
+            int size;
+            try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(pool)) {
+                source.writeTo(writer);
+                writer.finish(target, catalogVersion);
+                size = writer.size();
+            }
+            Files.move(target, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return size;
+        } finally {
+            Files.deleteIfExists(pool);
+            Files.deleteIfExists(target);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.megamart.productservice.snapshot;
+
+import com.megamart.productservice.catalog.ProductDocument;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.megamart.productservice.snapshot.CatalogSnapshot.*;
+
+/**
+ * Writes a {@link CatalogSnapshot} from products added in ascending id order. Only the fixed-width columns, about
+ * 70 bytes per product, are buffered on the heap; strings go straight to a spill file that becomes the pool.
+ */
+public class CatalogSnapshotWriter implements Closeable {
+
+    private final ByteArrayOutputStream[] columnBytes = new ByteArrayOutputStream[WIDTHS.length];
+    private final DataOutputStream[] columns = new DataOutputStream[WIDTHS.length];
+    private final Path poolFile;
+    private final DataOutputStream pool;
+    // Only low-cardinality labels are shared; titles and descriptions are nearly always unique
+    private final Map<String, Integer> sharedLabels = new HashMap<>();
+    private long poolLength;
+    private int size;
+    private long lastId = Long.MIN_VALUE;
+
+    public CatalogSnapshotWriter(Path poolFile) throws IOException {
+        this.poolFile = poolFile;
+        this.pool = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(poolFile)));
+        for (int column = 0; column < WIDTHS.length; column++) {
+            columnBytes[column] = new ByteArrayOutputStream();
+            columns[column] = new DataOutputStream(columnBytes[column]);
+        }
+    }
+
+    public void add(ProductDocument document) throws IOException {
+        if (document.getId() <= lastId) {
+            throw new IllegalArgumentException("Products must be added in ascending id order, got " + document.getId() + " after " + lastId);
+        }
+        lastId = document.getId();
+
+        BigDecimal price = document.getPrice();
+        columns[ID].writeLong(document.getId());
+        columns[PRICE].writeLong(price == null ? NULL_PRICE
+            : price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        columns[DISCOUNT].writeDouble(document.getDiscountPercentage() == null ? Double.NaN : document.getDiscountPercentage());
+        columns[RATING].writeDouble(document.getRating() == null ? Double.NaN : document.getRating());
+        columns[STOCK].writeInt(document.getStock() == null ? NULL_STOCK : document.getStock());
+        columns[TITLE].writeInt(string(document.getTitle()));
+        columns[DESCRIPTION].writeInt(string(document.getDescription()));
+        columns[CATEGORY].writeInt(label(document.getCategory()));
+        columns[BRAND].writeInt(label(document.getBrand()));
+        columns[AVAILABILITY].writeInt(label(document.getAvailabilityStatus()));
+        columns[SKU].writeInt(string(document.getSku()));
+        columns[BARCODE].writeInt(string(document.getBarcode()));
+        columns[TAGS].writeInt(document.getTags() == null || document.getTags().isEmpty()
+            ? NULL_REF : string(String.join(TAG_SEPARATOR, document.getTags())));
+        columns[RESERVED].writeInt(document.getReservedStock() == null ? NULL_STOCK : document.getReservedStock());
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes header, columns and pool to {@code target} and forces it to disk.
+     */
+    public void finish(Path target, long catalogVersion) throws IOException {
+        pool.flush();
+        long poolOffset = HEADER_BYTES;
+        for (int column = 0; column < WIDTHS.length; column++) {
+            poolOffset += (long) size * WIDTHS[column];
+        }
+        if (poolOffset + poolLength > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot would exceed 2 GB");
+        }
+
+        try (OutputStream file = Files.newOutputStream(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(catalogVersion);
+            out.writeInt(size);
+            out.writeInt(0);
+            out.writeLong(poolOffset);
+            out.writeLong(poolLength);
+            out.writeLong(System.currentTimeMillis());
+            for (ByteArrayOutputStream column : columnBytes) {
+                column.writeTo(out);
+            }
+            Files.copy(poolFile, out);
+            out.flush();
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+    }
+
+    private int label(String value) throws IOException {
+        if (value == null) return NULL_REF;
+        Integer ref = sharedLabels.get(value);
+        if (ref == null) {
+            ref = string(value);
+            sharedLabels.put(value, ref);
+        }
+        return ref;
+    }
+
+    private int string(String value) throws IOException {
+        if (value == null) return NULL_REF;
+        if (poolLength > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot string pool exceeds 2 GB");
+        }
+        int ref = (int) poolLength;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        pool.writeInt(bytes.length);
+        pool.write(bytes);
+        poolLength += Integer.BYTES + bytes.length;
+        return ref;
+    }
+}
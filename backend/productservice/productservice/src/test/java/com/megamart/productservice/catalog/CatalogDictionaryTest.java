@@ -0,0 +1,103 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.repository.CatalogDictionaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogDictionaryTest {
+
+    @Mock
+    private CatalogDictionaryRepository dictionaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CatalogDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new CatalogDictionary(dictionaryRepository, eventPublisher);
+        when(dictionaryRepository.findAll(CatalogDictionaryRepository.CATEGORIES))
+            .thenReturn(List.of(new DictionaryTerm(1L, "Home Decor", "home-decor"), new DictionaryTerm(2L, "Beauty", "beauty")));
+        when(dictionaryRepository.findAll(CatalogDictionaryRepository.BRANDS))
+            .thenReturn(List.of(new DictionaryTerm(7L, "Essence", "essence")));
+        dictionary.initialize();
+    }
+
+    @Test
+    void initialize_ShouldLinkProductsBeforeLoading() {
+        verify(dictionaryRepository).relabelProducts();
+        verify(dictionaryRepository).ensureForeignKeys();
+    }
+
+    @Test
+    void initialize_ShouldLinkUnlinkedLabelsThroughTheSameSlugs() {
+        when(dictionaryRepository.findUnlinkedLabels(CatalogDictionaryRepository.CATEGORIES))
+            .thenReturn(List.of("home  decor", "Garden Tools"));
+        when(dictionaryRepository.findOrCreate(CatalogDictionaryRepository.CATEGORIES, "home  decor", "home-decor"))
+            .thenReturn(new DictionaryTerm(1L, "Home Decor", "home-decor"));
+        when(dictionaryRepository.findOrCreate(CatalogDictionaryRepository.CATEGORIES, "Garden Tools", "garden-tools"))
+            .thenReturn(new DictionaryTerm(3L, "Garden Tools", "garden-tools"));
+
+        dictionary.initialize();
+
+        verify(dictionaryRepository).linkProducts(CatalogDictionaryRepository.CATEGORIES, "home  decor", 1L);
+        verify(dictionaryRepository).linkProducts(CatalogDictionaryRepository.CATEGORIES, "Garden Tools", 3L);
+    }
+
+    @Test
+    void lookups_ShouldAcceptNamesAndSlugsInAnyCase() {
+        assertEquals(1L, dictionary.categoryId("Home Decor"));
+        assertEquals(1L, dictionary.categoryId("home-decor"));
+        assertEquals(1L, dictionary.categoryId(" HOME DECOR "));
+        assertEquals(7L, dictionary.brandId("essence"));
+        assertEquals("Home Decor", dictionary.categoryName(1L));
+        assertNull(dictionary.categoryId("garden"));
+        assertNull(dictionary.categoryId(null));
+    }
+
+    @Test
+    void resolveCategory_WhenUnknown_ShouldCreateAndAnnounceIt() {
+        when(dictionaryRepository.findOrCreate(CatalogDictionaryRepository.CATEGORIES, "Garden Tools", "garden-tools"))
+            .thenReturn(new DictionaryTerm(3L, "Garden Tools", "garden-tools"));
+
+        DictionaryTerm term = dictionary.resolveCategory(" Garden Tools ");
+
+        assertEquals(3L, term.getId());
+        verify(eventPublisher).publishEvent(any(CategoryChangedEvent.class));
+    }
+
+    @Test
+    void resolveBrand_WhenKnown_ShouldNotTouchTheDatabase() {
+        assertEquals(7L, dictionary.resolveBrand("ESSENCE").getId());
+
+        verify(dictionaryRepository, never()).findOrCreate(any(), any(), any());
+    }
+
+    @Test
+    void onCategoryChanged_ShouldFollowRenamesAndDeletes() {
+        when(dictionaryRepository.findById(CatalogDictionaryRepository.CATEGORIES, 2L))
+            .thenReturn(Optional.of(new DictionaryTerm(2L, "Beauty & Care", "beauty-care")));
+
+        dictionary.onCategoryChanged(CategoryChangedEvent.updated(2L));
+
+        assertNull(dictionary.categoryId("beauty"));
+        assertEquals(2L, dictionary.categoryId("beauty-care"));
+
+        dictionary.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+
+        assertNull(dictionary.categoryId("Beauty & Care"));
+    }
+}
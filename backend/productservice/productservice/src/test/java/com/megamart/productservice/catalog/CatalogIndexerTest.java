@@ -0,0 +1,155 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.dto.CatalogChangeDto;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.snapshot.CatalogSnapshot;
+import com.megamart.productservice.snapshot.CatalogSnapshotStore;
+import com.megamart.productservice.snapshot.CatalogSnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogIndexerTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CatalogIndex index;
+
+    @Mock
+    private CatalogSnapshotStore snapshotStore;
+
+    @Mock
+    private CatalogChangeService changeService;
+
+    private CatalogIndexer catalogIndexer;
+
+    @BeforeEach
+    void setUp() {
+        catalogIndexer = new CatalogIndexer(productRepository, List.of(index), snapshotStore, changeService);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void buildIndexes_ShouldWarmStartFromSnapshotAndReplayLaterChanges() throws IOException {
+        when(snapshotStore.open()).thenReturn(snapshot(10L));
+        when(changeService.getLatestVersion()).thenReturn(13L);
+        when(changeService.getChanges(10L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(
+            new CatalogChangeDto(11L, CatalogChange.PRODUCT, 1L, CatalogChange.UPSERT, null),
+            new CatalogChangeDto(12L, CatalogChange.PRODUCT, 2L, CatalogChange.DELETE, null),
+            new CatalogChangeDto(13L, CatalogChange.PRODUCT, 3L, CatalogChange.UPSERT, null)), 13L, 13L, false, false));
+        Product updated = new Product();
+        updated.setId(1L);
+        updated.setTitle("Renamed");
+        when(productRepository.findAllWithTagsByIdIn(List.of(1L, 3L))).thenReturn(List.of(updated));
+
+        catalogIndexer.buildIndexes();
+
+        ArgumentCaptor<Collection<ProductDocument>> rebuilt = ArgumentCaptor.forClass(Collection.class);
+        verify(index).rebuild(rebuilt.capture());
+        assertEquals(2, rebuilt.getValue().size());
+        verify(index).apply(argThat(document -> document.getId() == 1L && "Renamed".equals(document.getTitle())));
+        verify(index).remove(2L);
+        verify(index).remove(3L);
+        verify(productRepository, never()).findAllWithTags();
+    }
+
+    @Test
+    void buildIndexes_WhenFeedWasPruned_ShouldLoadFromDatabase() throws IOException {
+        when(snapshotStore.open()).thenReturn(snapshot(10L));
+        when(changeService.getLatestVersion()).thenReturn(500L);
+        when(changeService.getChanges(10L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(), 500L, 500L, false, true));
+        when(productRepository.findAllWithTags()).thenReturn(List.of());
+
+        catalogIndexer.buildIndexes();
+
+        verify(index).rebuild(List.of());
+        verify(productRepository).findAllWithTags();
+    }
+
+    @Test
+    void buildIndexes_WithoutSnapshot_ShouldLoadFromDatabase() {
+        when(productRepository.findAllWithTags()).thenReturn(List.of());
+
+        catalogIndexer.buildIndexes();
+
+        verify(index).rebuild(List.of());
+        verify(changeService, never()).getChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    void followChanges_ShouldApplyChangesMadeSinceTheBuild() {
+        when(changeService.getLatestVersion()).thenReturn(5L);
+        when(productRepository.findAllWithTags()).thenReturn(List.of());
+        catalogIndexer.buildIndexes();
+        when(changeService.getChanges(5L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(
+            new CatalogChangeDto(6L, CatalogChange.PRODUCT, 1L, CatalogChange.UPSERT, null),
+            new CatalogChangeDto(7L, CatalogChange.CATEGORY, 3L, CatalogChange.UPSERT, null),
+            new CatalogChangeDto(8L, CatalogChange.PRODUCT, 2L, CatalogChange.DELETE, null)), 8L, 8L, false, false));
+        Product updated = new Product();
+        updated.setId(1L);
+        updated.setTitle("Renamed");
+        when(productRepository.findAllWithTagsByIdIn(List.of(1L))).thenReturn(List.of(updated));
+        when(changeService.getChanges(8L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(), 8L, 8L, false, false));
+
+        catalogIndexer.followChanges();
+        catalogIndexer.followChanges();
+
+        verify(index).apply(argThat(document -> document.getId() == 1L && "Renamed".equals(document.getTitle())));
+        verify(index).remove(2L);
+        verify(changeService).getChanges(8L, 1000);
+    }
+
+    @Test
+    void followChanges_WhenFeedWasPruned_ShouldReloadFromDatabase() {
+        when(changeService.getLatestVersion()).thenReturn(5L, 900L);
+        when(productRepository.findAllWithTags()).thenReturn(List.of());
+        catalogIndexer.buildIndexes();
+        when(changeService.getChanges(5L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(), 900L, 900L, false, true));
+
+        catalogIndexer.followChanges();
+
+        verify(index, times(2)).rebuild(List.of());
+        verify(productRepository, times(2)).findAllWithTags();
+    }
+
+    @Test
+    void followChanges_BeforeTheIndexesAreBuilt_ShouldDoNothing() {
+        catalogIndexer.followChanges();
+
+        verifyNoInteractions(changeService, index);
+    }
+
+    private CatalogSnapshot snapshot(long version) throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("catalog.pool"))) {
+            writer.add(new ProductDocument(1L, "Mascara", null, "beauty", null, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", null, null, List.of()));
+            writer.add(new ProductDocument(2L, "Bed", null, "furniture", null, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", null, null, List.of()));
+            writer.finish(file, version);
+        }
+        return CatalogSnapshot.open(file);
+    }
+}
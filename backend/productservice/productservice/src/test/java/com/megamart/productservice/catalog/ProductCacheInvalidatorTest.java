@@ -0,0 +1,70 @@
+package com.megamart.productservice.catalog;
+
+import com.megamart.productservice.config.CacheConfig;
+import com.megamart.productservice.dto.CatalogChangeDto;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.snapshot.CatalogSnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCacheInvalidatorTest {
+
+    private Cache cache;
+    private ProductCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+        cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        invalidator = new ProductCacheInvalidator(cacheManager);
+        cache.put(1L, "product 1");
+        cache.put(2L, "product 2");
+    }
+
+    @Test
+    void apply_ShouldEvictChangedProduct() {
+        invalidator.apply(new ProductDocument(1L, "Test", null, "beauty", null, BigDecimal.ONE, 0.0, 0.0, 1, 0, "In Stock", null, null, List.of()));
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+    }
+
+    @Test
+    void followChanges_ShouldEvictProductsChangedThroughAnotherInstance() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        CatalogChangeService changeService = mock(CatalogChangeService.class);
+        CatalogIndexer catalogIndexer = new CatalogIndexer(productRepository, List.of(invalidator),
+            mock(CatalogSnapshotStore.class), changeService);
+        when(changeService.getLatestVersion()).thenReturn(5L);
+        when(productRepository.findAllWithTags()).thenReturn(List.of());
+        catalogIndexer.buildIndexes();
+        cache.put(1L, "product 1");
+        cache.put(2L, "product 2");
+        when(changeService.getChanges(5L, 1000)).thenReturn(new CatalogChangeFeedDto(List.of(
+            new CatalogChangeDto(6L, CatalogChange.PRODUCT, 1L, CatalogChange.DELETE, null)), 6L, 6L, false, false));
+
+        catalogIndexer.followChanges();
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+    }
+
+    @Test
+    void remove_ShouldEvictDeletedProduct() {
+        invalidator.remove(2L);
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+}
@@ -1,7 +1,34 @@
 package com.megamart.productservice.controller;
 
+import com.megamart.productservice.dto.BulkUpdateResultDto;
+import com.megamart.productservice.dto.CatalogChangeDto;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
 import com.megamart.productservice.dto.ProductDTO;
+import com.megamart.productservice.dto.ProductFacetsDto;
+import com.megamart.productservice.dto.ProductImportResultDto;
+import com.megamart.productservice.dto.ProductPageDto;
+import com.megamart.productservice.dto.ProductReviewDTO;
+import com.megamart.productservice.dto.ReviewSliceDto;
+import com.megamart.productservice.dto.ProductSliceDto;
+import com.megamart.productservice.dto.ProductSummaryDTO;
+import com.megamart.productservice.dto.RelatedProductDto;
+import com.megamart.productservice.dto.ReservationDto;
+import com.megamart.productservice.dto.ReservationItemDto;
+import com.megamart.productservice.dto.StockLevelDto;
+import com.megamart.productservice.dto.SuggestionDto;
+import com.megamart.productservice.dto.TrendingProductDto;
+import com.megamart.productservice.importer.ProductImportFormat;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.service.PriceScheduleService;
+import com.megamart.productservice.service.ProductBulkUpdateService;
+import com.megamart.productservice.service.ProductExportService;
+import com.megamart.productservice.service.ProductImportService;
+import com.megamart.productservice.service.ProductPageService;
+import com.megamart.productservice.service.ProductPopularityService;
+import com.megamart.productservice.service.ProductReviewService;
 import com.megamart.productservice.service.ProductService;
+import com.megamart.productservice.service.RelatedProductsService;
+import com.megamart.productservice.service.StockReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,11 +38,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -29,11 +61,42 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductExportService productExportService;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private ProductReviewService productReviewService;
+
+    @Mock
+    private CatalogChangeService catalogChangeService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private ProductBulkUpdateService productBulkUpdateService;
+
+    @Mock
+    private ProductPopularityService productPopularityService;
+
+    @Mock
+    private RelatedProductsService relatedProductsService;
+
+    @Mock
+    private PriceScheduleService priceScheduleService;
+
+    @Mock
+    private ProductPageService productPageService;
+
     @InjectMocks
     private ProductController productController;
 
     private MockMvc mockMvc;
     private ProductDTO productDTO;
+    private ProductSummaryDTO productSummary;
 
     @BeforeEach
     void setUp() {
@@ -43,11 +106,14 @@ class ProductControllerTest {
         productDTO.setTitle("Test Product");
         productDTO.setPrice(BigDecimal.valueOf(99.99));
         productDTO.setStock(10);
+        productSummary = new ProductSummaryDTO();
+        productSummary.setId(1L);
+        productSummary.setTitle("Test Product");
     }
 
     @Test
     void getAllProducts_ShouldReturnProducts() throws Exception {
-        Page<ProductDTO> page = new PageImpl<>(Arrays.asList(productDTO));
+        Page<ProductSummaryDTO> page = new PageImpl<>(Arrays.asList(productSummary));
         when(productService.getAllProducts(anyInt(), anyInt(), anyString(), anyString())).thenReturn(page);
 
         mockMvc.perform(get("/api/products"))
@@ -57,6 +123,59 @@ class ProductControllerTest {
         verify(productService).getAllProducts(0, 30, "id", "asc");
     }
 
+    @Test
+    void getAllProducts_WithCursor_ShouldReturnSlice() throws Exception {
+        ProductSliceDto slice = new ProductSliceDto(List.of(productSummary), 1, true, "next");
+        when(productService.getAllProductsAfter("abc", 30, "id", "asc")).thenReturn(slice);
+
+        mockMvc.perform(get("/api/products").param("after", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+
+        verify(productService, never()).getAllProducts(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void exportProducts_ShouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"id\":5}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productExportService).exportProducts(isNull(), eq(4L), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products/export").param("afterId", "4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":5}\n"));
+    }
+
+    @Test
+    void importProducts_ShouldResolveFormatFromFilename() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "catalog.ndjson", "application/x-ndjson",
+            "{\"sku\":\"A-1\"}\n".getBytes(StandardCharsets.UTF_8));
+        ProductImportResultDto result = new ProductImportResultDto("NDJSON", 1, 1, 0, 5, 200.0, List.of());
+        when(productImportService.importProducts(any(), eq(ProductImportFormat.NDJSON))).thenReturn(result);
+
+        mockMvc.perform(multipart("/api/products/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.importedRows").value(1));
+    }
+
+    @Test
+    void getProductReviews_ShouldPassCursorThrough() throws Exception {
+        ReviewSliceDto reviews = new ReviewSliceDto(List.of(new ProductReviewDTO()), true, "next");
+        when(productReviewService.getReviews(1L, "abc", 5)).thenReturn(reviews);
+
+        mockMvc.perform(get("/api/products/1/reviews").param("cursor", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+    }
+
     @Test
     void getProductById_WhenExists_ShouldReturnProduct() throws Exception {
         when(productService.getProductById(1L)).thenReturn(Optional.of(productDTO));
@@ -66,6 +185,79 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.success").value(true));
 
         verify(productService).getProductById(1L);
+        verify(productPopularityService).recordView(1L);
+    }
+
+    @Test
+    void getTrendingProducts_ShouldPassWindowThrough() throws Exception {
+        when(productPopularityService.getTrending("24h", 5)).thenReturn(List.of(
+            new TrendingProductDto(7L, "Lipstick", BigDecimal.TEN, 3, null, 12.5)));
+
+        mockMvc.perform(get("/api/products/trending").param("window", "24h").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(7))
+                .andExpect(jsonPath("$.data[0].score").value(12.5));
+    }
+
+    @Test
+    void getRelatedProducts_ShouldReturnPrecomputedRanking() throws Exception {
+        when(relatedProductsService.getRelated(1L, 10)).thenReturn(List.of(
+            new RelatedProductDto(2L, "Mascara", BigDecimal.TEN, 4, null, 0.75)));
+
+        mockMvc.perform(get("/api/products/1/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(2))
+                .andExpect(jsonPath("$.data[0].score").value(0.75));
+    }
+
+    @Test
+    void getProductPage_ShouldReturnCompositeAndRecordView() throws Exception {
+        when(productPageService.getPage(1L, 5, 8)).thenReturn(new ProductPageDto(productDTO,
+            new ReviewSliceDto(List.of(), false, null), null, List.of(), 10, true));
+
+        mockMvc.perform(get("/api/products/1/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.product.id").value(1))
+                .andExpect(jsonPath("$.data.inStock").value(true))
+                .andExpect(jsonPath("$.data.availableStock").value(10));
+
+        verify(productPopularityService).recordView(1L);
+    }
+
+    @Test
+    void cancelPriceChange_ShouldDelegateToService() throws Exception {
+        mockMvc.perform(delete("/api/products/price-schedules/12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(priceScheduleService).cancel(12L);
+    }
+
+    @Test
+    void recordCartAdd_ShouldReturnAccepted() throws Exception {
+        mockMvc.perform(post("/api/products/7/cart-adds"))
+                .andExpect(status().isAccepted());
+
+        verify(productPopularityService).recordCartAdd(7L);
+    }
+
+    @Test
+    void getProductByCode_ShouldResolveCodeThenLoadProduct() throws Exception {
+        when(productService.findProductIdByCode("4006381333931")).thenReturn(Optional.of(1L));
+        when(productService.getProductById(1L)).thenReturn(Optional.of(productDTO));
+
+        mockMvc.perform(get("/api/products/by-code/4006381333931"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1));
+    }
+
+    @Test
+    void getProductByCode_WhenUnknown_ShouldReturn404() throws Exception {
+        when(productService.findProductIdByCode("NOPE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/products/by-code/NOPE"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
     }
 
     @Test
@@ -116,7 +308,7 @@ class ProductControllerTest {
 
     @Test
     void searchProducts_ShouldReturnFilteredProducts() throws Exception {
-        Page<ProductDTO> page = new PageImpl<>(Arrays.asList(productDTO));
+        Page<ProductSummaryDTO> page = new PageImpl<>(Arrays.asList(productSummary));
         when(productService.searchProducts(any())).thenReturn(page);
 
         mockMvc.perform(get("/api/products/search")
@@ -128,6 +320,74 @@ class ProductControllerTest {
         verify(productService).searchProducts(any());
     }
 
+    @Test
+    void getFacets_ShouldReturnFacetCounts() throws Exception {
+        ProductFacetsDto facets = new ProductFacetsDto();
+        facets.setTotal(1);
+        when(productService.getFacets(any())).thenReturn(facets);
+
+        mockMvc.perform(get("/api/products/facets")
+                .param("category", "electronics")
+                .param("inStock", "true")
+                .param("availabilityStatus", "Low Stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(1));
+
+        verify(productService).getFacets(argThat(request -> Boolean.TRUE.equals(request.getInStock())
+                && "Low Stock".equals(request.getAvailabilityStatus())));
+    }
+
+    @Test
+    void suggest_ShouldReturnCompletions() throws Exception {
+        when(productService.suggest("iph", 5)).thenReturn(List.of(new SuggestionDto("iPhone 15 Pro", "title", 1L, 4.8)));
+
+        mockMvc.perform(get("/api/products/suggest")
+                .param("q", "iph")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("iPhone 15 Pro"))
+                .andExpect(jsonPath("$.data[0].productId").value(1));
+    }
+
+    @Test
+    void getChanges_ShouldReturnFeedPage() throws Exception {
+        CatalogChangeDto change = new CatalogChangeDto(42L, "PRODUCT", 1L, "UPSERT", null);
+        when(catalogChangeService.getChanges(41L, 100)).thenReturn(new CatalogChangeFeedDto(List.of(change), 42L, 42L, false, false));
+
+        mockMvc.perform(get("/api/products/changes")
+                .param("sinceVersion", "41")
+                .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes[0].entityId").value(1))
+                .andExpect(jsonPath("$.data.nextSinceVersion").value(42));
+    }
+
+    @Test
+    void createReservation_ShouldReturnCreatedHold() throws Exception {
+        ReservationDto reservation = new ReservationDto("r-1", "cart-1", "HELD", null, List.of(new ReservationItemDto(1L, 2)));
+        when(stockReservationService.reserve(any())).thenReturn(reservation);
+
+        mockMvc.perform(post("/api/products/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"reference\":\"cart-1\",\"items\":[{\"productId\":1,\"quantity\":2}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.reservationId").value("r-1"))
+                .andExpect(jsonPath("$.data.status").value("HELD"));
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldReturnAffectedCounts() throws Exception {
+        when(productBulkUpdateService.bulkUpdate(argThat(request -> "Laptops".equals(request.getCategory()))))
+            .thenReturn(new BulkUpdateResultDto("SCALE_PRICE", 40, 40, 1, 12));
+
+        mockMvc.perform(post("/api/products/bulk-update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"category\":\"Laptops\",\"operation\":\"scalePrice\",\"value\":0.9}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updatedProducts").value(40))
+                .andExpect(jsonPath("$.data.operation").value("SCALE_PRICE"));
+    }
+
     @Test
     void updateStock_ShouldReturnUpdatedProduct() throws Exception {
         when(productService.updateStock(eq(1L), eq(5))).thenReturn(productDTO);
@@ -141,6 +401,19 @@ class ProductControllerTest {
         verify(productService).updateStock(1L, 5);
     }
 
+    @Test
+    void updateStockBatch_ShouldReturnStockLevels() throws Exception {
+        when(productService.updateStockBatch(anyList())).thenReturn(List.of(new StockLevelDto(1L, 8)));
+
+        mockMvc.perform(post("/api/products/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":1,\"stockChange\":-2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].stock").value(8));
+
+        verify(productService).updateStockBatch(anyList());
+    }
+
     @Test
     void updateStock_WithNullStockChange_ShouldReturnBadRequest() throws Exception {
         mockMvc.perform(post("/api/products/1/stock")
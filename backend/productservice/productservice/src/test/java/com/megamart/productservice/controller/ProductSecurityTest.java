@@ -0,0 +1,139 @@
+package com.megamart.productservice.controller;
+
+import com.megamart.productservice.config.SecurityConfig;
+import com.megamart.productservice.filter.HeaderAuthenticationFilter;
+import com.megamart.productservice.service.CatalogChangeService;
+import com.megamart.productservice.service.PriceScheduleService;
+import com.megamart.productservice.service.ProductBulkUpdateService;
+import com.megamart.productservice.service.ProductExportService;
+import com.megamart.productservice.service.ProductImportService;
+import com.megamart.productservice.service.ProductPageService;
+import com.megamart.productservice.service.ProductPopularityService;
+import com.megamart.productservice.service.ProductReviewService;
+import com.megamart.productservice.service.ProductService;
+import com.megamart.productservice.service.RelatedProductsService;
+import com.megamart.productservice.service.StockReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Calls other services make, run through the real filter chain with the headers their Feign clients send.
+ */
+@WebMvcTest(ProductController.class)
+@Import({SecurityConfig.class, HeaderAuthenticationFilter.class})
+@ActiveProfiles("test")
+class ProductSecurityTest {
+
+    private static final String RESERVATION = "{\"reference\":\"checkout:42\",\"ttlSeconds\":300," +
+        "\"items\":[{\"productId\":1,\"quantity\":2}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private ProductReviewService productReviewService;
+
+    @MockBean
+    private CatalogChangeService catalogChangeService;
+
+    @MockBean
+    private StockReservationService stockReservationService;
+
+    @MockBean
+    private ProductBulkUpdateService productBulkUpdateService;
+
+    @MockBean
+    private ProductPopularityService productPopularityService;
+
+    @MockBean
+    private RelatedProductsService relatedProductsService;
+
+    @MockBean
+    private PriceScheduleService priceScheduleService;
+
+    @MockBean
+    private ProductPageService productPageService;
+
+    @Test
+    void reservationCalls_WithForwardedIdentity_ShouldReachTheService() throws Exception {
+        mockMvc.perform(post("/api/products/reservations")
+                .header("X-User-ID", "42")
+                .header("X-User-Roles", "ROLE_CUSTOMER")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(RESERVATION))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/products/reservations/r-1/confirm")
+                .header("X-User-ID", "42")
+                .header("X-User-Roles", "ROLE_CUSTOMER"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/products/reservations/r-1/release")
+                .header("X-User-ID", "42")
+                .header("X-User-Roles", "ROLE_CUSTOMER"))
+                .andExpect(status().isOk());
+
+        verify(stockReservationService).reserve(any());
+        verify(stockReservationService).confirm("r-1");
+        verify(stockReservationService).release("r-1");
+    }
+
+    @Test
+    void stockBatch_WithForwardedIdentity_ShouldRestoreStock() throws Exception {
+        mockMvc.perform(post("/api/products/stock/batch")
+                .header("X-User-ID", "7")
+                .header("X-User-Roles", "ROLE_ADMIN")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":1,\"stockChange\":2}]}"))
+                .andExpect(status().isOk());
+
+        verify(productService).updateStockBatch(anyList());
+    }
+
+    @Test
+    void stockBatch_WithoutIdentity_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/products/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":1,\"stockChange\":2}]}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void cartAdd_WithoutIdentity_ShouldBeAccepted() throws Exception {
+        mockMvc.perform(post("/api/products/5/cart-adds"))
+                .andExpect(status().isAccepted());
+
+        verify(productPopularityService).recordCartAdd(5L);
+    }
+
+    @Test
+    void reservationCalls_WithoutIdentity_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/products/reservations")
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(RESERVATION))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(stockReservationService);
+    }
+}
@@ -0,0 +1,76 @@
+package com.megamart.productservice.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.megamart.productservice.exception.ProductValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_ShouldParseQuotedFieldsAndLists() throws IOException {
+        ProductImportReader reader = reader(ProductImportFormat.CSV,
+            "sku,title,description,category,price,stock,tags,images\n" +
+            "BEA-001,\"Lipstick, Red\",\"Long\nlasting \"\"matte\"\"\",beauty,12.50,4,beauty|lips,https://cdn/1.webp\n");
+
+        List<ImportRecord> records = reader.nextChunk(10);
+        ParsedRow row = reader.parse(records.get(0));
+
+        assertEquals(1, records.size());
+        assertEquals(2, records.get(0).getLine());
+        assertTrue(row.isValid());
+        assertEquals("Lipstick, Red", row.getRow().getTitle());
+        assertEquals("Long\nlasting \"matte\"", row.getRow().getDescription());
+        assertEquals(new BigDecimal("12.50"), row.getRow().getPrice());
+        assertEquals(List.of("beauty", "lips"), row.getRow().getTags());
+        assertEquals(List.of("https://cdn/1.webp"), row.getRow().getImages());
+    }
+
+    @Test
+    void csv_WithoutListColumns_ShouldLeaveChildrenUntouched() throws IOException {
+        ProductImportReader reader = reader(ProductImportFormat.CSV, "SKU,Title,Category,Price\nA-1,Mug,kitchen,3\n");
+
+        ParsedRow row = reader.parse(reader.nextChunk(10).get(0));
+
+        assertTrue(row.isValid());
+        assertNull(row.getRow().getTags());
+        assertNull(row.getRow().getImages());
+    }
+
+    @Test
+    void csv_WithoutSkuColumn_ShouldBeRejected() {
+        assertThrows(ProductValidationException.class, () -> reader(ProductImportFormat.CSV, "title,price\nMug,3\n"));
+    }
+
+    @Test
+    void ndjson_ShouldReportInvalidRowsWithLineNumbers() throws IOException {
+        ProductImportReader reader = reader(ProductImportFormat.NDJSON,
+            "{\"sku\":\"A-1\",\"title\":\"Mug\",\"category\":\"kitchen\",\"price\":3,\"tags\":[\"home\"]}\n" +
+            "\n" +
+            "{\"sku\":\"A-2\",\"title\":\"Cup\",\"category\":\"kitchen\",\"price\":-1}\n" +
+            "{not json\n");
+
+        List<ParsedRow> rows = reader.nextChunk(10).stream().map(reader::parse).toList();
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals(List.of("home"), rows.get(0).getRow().getTags());
+        assertEquals(3, rows.get(1).getLine());
+        assertEquals("price is out of range", rows.get(1).getError());
+        assertEquals(4, rows.get(2).getLine());
+        assertTrue(rows.get(2).getError().startsWith("Malformed row"));
+    }
+
+    private ProductImportReader reader(ProductImportFormat format, String content) throws IOException {
+        return new ProductImportReader(new BufferedReader(new StringReader(content)), format, objectMapper);
+    }
+}
@@ -0,0 +1,56 @@
+package com.megamart.productservice.inventory;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationLedgerTest {
+
+    private ReservationLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new ReservationLedger();
+        ledger.rebuild(List.of(document(1L, 5, 3), document(2L, 1, 1)));
+    }
+
+    @Test
+    void availability_ShouldSubtractReservedStock() {
+        assertEquals(2, ledger.availability(1L).getAvailable());
+        assertEquals(3, ledger.availability(1L).getReserved());
+        assertEquals(0, ledger.availability(2L).getAvailable());
+    }
+
+    @Test
+    void catalogUpdates_ShouldReplaceStockAndHoldsTogether() {
+        ledger.apply(document(1L, 10, 0));
+
+        assertEquals(10, ledger.availability(1L).getAvailable());
+        assertEquals(0, ledger.availability(1L).getReserved());
+    }
+
+    @Test
+    void availability_ShouldNeverGoNegative() {
+        ledger.apply(document(2L, 1, 4));
+
+        assertEquals(0, ledger.availability(2L).getAvailable());
+    }
+
+    @Test
+    void rebuild_ShouldDropProductsNoLongerInTheCatalog() {
+        ledger.rebuild(List.of(document(1L, 5, 0)));
+
+        assertNull(ledger.availability(2L));
+        ledger.remove(1L);
+        assertNull(ledger.availability(1L));
+    }
+
+    private ProductDocument document(Long id, int stock, int reserved) {
+        return new ProductDocument(id, "Product " + id, null, "beauty", null, BigDecimal.TEN, 0.0, 4.0, stock, reserved, "In Stock", "SKU-" + id, null, List.of());
+    }
+}
@@ -0,0 +1,135 @@
+package com.megamart.productservice.popularity;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPopularityTrackerTest {
+
+    private MutableClock clock;
+    private ProductPopularityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        tracker = new ProductPopularityTracker(clock);
+        tracker.rebuild(List.of(document(1L), document(2L), document(3L)));
+    }
+
+    @Test
+    void drain_ShouldReturnOnlyNewCountsSinceLastDrain() {
+        for (int i = 0; i < 3; i++) tracker.recordView(1L);
+        tracker.recordCartAdd(1L);
+        tracker.recordView(2L);
+
+        List<CounterDelta> first = tracker.drain();
+        tracker.recordView(2L);
+        List<CounterDelta> second = tracker.drain();
+
+        assertEquals(2, first.size());
+        CounterDelta product1 = first.stream().filter(delta -> delta.getProductId() == 1L).findFirst().orElseThrow();
+        assertEquals(3, product1.getViews());
+        assertEquals(1, product1.getCartAdds());
+        assertEquals(1, second.size());
+        assertEquals(2L, second.get(0).getProductId());
+        assertEquals(1, second.get(0).getViews());
+        assertTrue(tracker.drain().isEmpty());
+    }
+
+    @Test
+    void trending_ShouldRankByDecayedScore() {
+        for (int i = 0; i < 10; i++) tracker.recordView(1L);
+        tracker.drain();
+        clock.advance(Duration.ofHours(3));
+        for (int i = 0; i < 4; i++) tracker.recordView(2L);
+        tracker.recordView(3L);
+        tracker.drain();
+
+        List<TrendingScore> hourly = tracker.trending(TrendingWindow.ONE_HOUR, 2);
+        List<TrendingScore> weekly = tracker.trending(TrendingWindow.SEVEN_DAYS, 3);
+
+        assertEquals(List.of(2L, 3L), hourly.stream().map(TrendingScore::getProductId).toList());
+        assertEquals(List.of(1L, 2L, 3L), weekly.stream().map(TrendingScore::getProductId).toList());
+        assertEquals(10 * Math.exp(-3.0 / 168), weekly.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void trending_ShouldWeighCartAddsAboveViews() {
+        for (int i = 0; i < 4; i++) tracker.recordView(1L);
+        tracker.recordCartAdd(2L);
+        tracker.drain();
+
+        List<TrendingScore> trending = tracker.trending(TrendingWindow.ONE_HOUR, 10);
+
+        assertEquals(2L, trending.get(0).getProductId());
+        assertEquals(ProductPopularityTracker.CART_ADD_WEIGHT, trending.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    void rebuild_ShouldDropCountersOfDeletedProducts() {
+        tracker.recordView(1L);
+        tracker.recordView(2L);
+        tracker.drain();
+
+        tracker.rebuild(List.of(document(2L)));
+        tracker.remove(2L);
+
+        assertTrue(tracker.trending(TrendingWindow.ONE_DAY, 10).isEmpty());
+    }
+
+    @Test
+    void record_ShouldIgnoreProductsOutsideTheCatalog() {
+        tracker.recordView(99L);
+        tracker.recordCartAdd(99L);
+        tracker.remove(3L);
+        tracker.recordView(3L);
+        tracker.apply(document(4L));
+        tracker.recordCartAdd(4L);
+
+        List<CounterDelta> deltas = tracker.drain();
+
+        assertEquals(List.of(4L), deltas.stream().map(CounterDelta::getProductId).toList());
+        assertEquals(1, deltas.get(0).getCartAdds());
+    }
+
+    private static ProductDocument document(Long id) {
+        return new ProductDocument(id, "Product " + id, null, "beauty", null, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", null, null, List.of());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.megamart.productservice.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void schedule_ShouldRefuseDeadlinesInCurrentTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+
+        assertFalse(wheel.schedule("past", START - 5000));
+        assertFalse(wheel.schedule("now", START));
+        assertTrue(wheel.schedule("next", START + 1));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldFireEachTimerInItsTickAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, START);
+        Map<Long, Long> deadlines = new HashMap<>();
+        Random random = new Random(42);
+        for (long id = 0; id < 2000; id++) {
+            long deadline = START + 1 + random.nextInt(8 * 8 * 8 * 8 * 1000);
+            deadlines.put(id, deadline);
+            assertTrue(wheel.schedule(id, deadline));
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START + 1000; wheel.size() > 0; now += 1000) {
+            for (Long id : wheel.advance(now)) {
+                long deadline = deadlines.get(id);
+                assertTrue(deadline <= now, "fired early");
+                assertTrue(deadline > now - 1000, "fired late");
+                fired.add(id);
+            }
+        }
+        assertEquals(2000, fired.size());
+    }
+
+    @Test
+    void advance_ShouldCatchUpAfterStall() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+        wheel.schedule("a", START + 3_000);
+        wheel.schedule("b", START + 500_000);
+        wheel.schedule("c", START + 900_000);
+
+        assertEquals(List.of("a", "b"), wheel.advance(START + 600_000));
+        assertTrue(wheel.advance(START + 899_000).isEmpty());
+        assertEquals(List.of("c"), wheel.advance(START + 900_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_WhenEmpty_ShouldJumpAhead() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, START);
+        assertTrue(wheel.advance(START + 86_400_000L).isEmpty());
+
+        assertFalse(wheel.schedule("old", START + 1000));
+        assertTrue(wheel.schedule("new", START + 86_401_000L));
+        assertEquals(List.of("new"), wheel.advance(START + 86_401_000L));
+    }
+}
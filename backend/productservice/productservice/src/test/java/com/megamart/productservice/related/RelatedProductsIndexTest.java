@@ -0,0 +1,82 @@
+package com.megamart.productservice.related;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelatedProductsIndexTest {
+
+    private RelatedProductsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RelatedProductsIndex();
+        index.rebuild(List.of(
+            document(1L, "beauty", "Essence", "mascara", "eyes"),
+            document(2L, "beauty", "Essence", "mascara", "eyes"),
+            document(3L, "beauty", "Essence", "mascara", "lashes"),
+            document(4L, "furniture", "Annibale", "bed")
+        ));
+    }
+
+    @Test
+    void rebuild_ShouldMarkWholeCatalogDirty() {
+        assertEquals(Set.of(1L, 2L, 3L, 4L), index.drainDirty());
+        assertTrue(index.drainDirty().isEmpty());
+    }
+
+    @Test
+    void similar_ShouldRankByJaccardAndSkipUnrelated() {
+        List<SimilarProduct> similar = index.similar(1L, 10);
+
+        assertEquals(2L, similar.get(0).getProductId());
+        assertEquals(1.0, similar.get(0).getScore(), 1e-9);
+        assertTrue(similar.stream().noneMatch(product -> product.getProductId() == 4L));
+        assertTrue(index.similar(4L, 10).isEmpty());
+        assertNull(index.similar(99L, 10));
+    }
+
+    @Test
+    void apply_ShouldMarkOnlyProductAndNeighboursWhenFeaturesChange() {
+        index.drainDirty();
+
+        index.apply(document(4L, "furniture", "Annibale", "bed"));
+        assertTrue(index.drainDirty().isEmpty());
+
+        index.apply(document(4L, "beauty", "Essence", "mascara", "eyes"));
+        Set<Long> dirty = index.drainDirty();
+
+        assertTrue(dirty.containsAll(Set.of(1L, 2L, 4L)));
+        assertTrue(index.similar(1L, 10).stream()
+            .anyMatch(product -> product.getProductId() == 4L && product.getScore() == 1.0));
+    }
+
+    @Test
+    void remove_ShouldMarkNeighboursAndForgetProduct() {
+        index.drainDirty();
+
+        index.remove(2L);
+
+        assertTrue(index.drainDirty().containsAll(Set.of(1L, 2L)));
+        assertNull(index.similar(2L, 10));
+        assertTrue(index.similar(1L, 10).stream().noneMatch(product -> product.getProductId() == 2L));
+    }
+
+    @Test
+    void jaccard_ShouldCountSharedFeatures() {
+        Set<String> a = RelatedProductsIndex.features(document(1L, "beauty", "Essence", "mascara", "eyes"));
+        Set<String> b = RelatedProductsIndex.features(document(3L, "beauty", "Essence", "mascara", "lashes"));
+
+        assertEquals(3.0 / 5, RelatedProductsIndex.jaccard(a, b), 1e-9);
+    }
+
+    private static ProductDocument document(Long id, String category, String brand, String... tags) {
+        return new ProductDocument(id, "Product " + id, null, category, brand, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", null, null, List.of(tags));
+    }
+}
@@ -0,0 +1,89 @@
+package com.megamart.productservice.repository;
+
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.entity.ProductImage;
+import com.megamart.productservice.entity.ProductMetadata;
+import com.megamart.productservice.entity.ProductTag;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductSummaryStatementsTest {
+
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTagRepository productTagRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setTitle("Product " + i);
+            product.setCategory("beauty");
+            product.setPrice(BigDecimal.TEN);
+            product.setSku("SKU-" + i);
+            entityManager.persist(product);
+            entityManager.persist(new ProductMetadata(null, "BAR-" + i, null, product, null, null));
+            entityManager.persist(new ProductTag(null, "tag-" + i, product, null, null));
+            entityManager.persist(new ProductImage(null, "https://img/" + i, true, product, null, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPage_ShouldCostFourStatementsWhateverItsSize() {
+        Page<Product> page = productRepository.findAll(PageRequest.of(0, 10, Sort.by("id")));
+        List<Long> ids = page.getContent().stream().map(Product::getId).toList();
+        productTagRepository.findByProductIds(ids);
+        productImageRepository.findByProductIds(ids);
+
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(PRODUCTS, page.getTotalElements());
+        // Page, count, tags and images; no product_metadata select per product
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(ProductMetadata.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void barcode_ShouldBeReadWithTheProduct() {
+        List<Product> products = productRepository.findAllWithTags();
+
+        assertEquals(PRODUCTS, products.size());
+        assertTrue(products.stream().allMatch(product -> product.getBarcode().startsWith("BAR-")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,69 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyTermDictionaryTest {
+
+    private FuzzyTermDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new FuzzyTermDictionary();
+        dictionary.rebuild(List.of(
+            document(1L, "Galaxy S24 Ultra", "Samsung", "phone"),
+            document(2L, "Galaxy Tab S9", "Samsung", "tablet"),
+            document(3L, "Eyeshadow Palette with Mirror", "Essence", "eyeshadow"),
+            document(4L, "Red Lipstick", "Essence", "lipstick")
+        ));
+    }
+
+    @Test
+    void correct_ShouldReplaceMisspelledWordsWithClosestTerms() {
+        assertEquals("samsung", dictionary.correct("samsng"));
+        assertEquals("eyeshadow palette", dictionary.correct("Eyeshdow palete"));
+        assertEquals("samsung galaxy", dictionary.correct("sumsung galaxy"));
+    }
+
+    @Test
+    void correct_ShouldLeaveKnownWordsAndPrefixesAlone() {
+        assertNull(dictionary.correct("samsung galaxy"));
+        assertNull(dictionary.correct("eyesh"));
+        assertNull(dictionary.correct("  "));
+    }
+
+    @Test
+    void correct_ShouldNotStretchShortOrDistantWords() {
+        assertNull(dictionary.correct("tob"));
+        assertNull(dictionary.correct("sxmxsxng"));
+        assertNull(dictionary.correct("keyboard"));
+    }
+
+    @Test
+    void correct_ShouldTrackUpdatesAndRemovals() {
+        dictionary.apply(document(4L, "Matte Lipstick", "Maybelline"));
+        dictionary.remove(3L);
+
+        assertEquals("maybelline", dictionary.correct("maybeline"));
+        assertNull(dictionary.correct("eyeshdow"));
+        assertEquals("lipstick", dictionary.correct("lipstik"));
+    }
+
+    @Test
+    void distance_ShouldStopAtTheBound() {
+        assertEquals(0, FuzzyTermDictionary.distance("samsung", "samsung", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("samsng", "samsung", 2));
+        assertEquals(2, FuzzyTermDictionary.distance("smasung", "samsung", 2));
+        assertEquals(2, FuzzyTermDictionary.distance("mirror", "lipstick", 1));
+    }
+
+    private ProductDocument document(Long id, String title, String brand, String... tags) {
+        return new ProductDocument(id, title, null, "beauty", brand, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", "SKU-" + id, null, List.of(tags));
+    }
+}
@@ -0,0 +1,90 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCodeIndexTest {
+
+    private ProductCodeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductCodeIndex();
+        index.rebuild(List.of(
+            document(1L, "BEA-MAS-001", "4006381333931"),
+            document(2L, "FUR-BED-002", null),
+            document(3L, null, "0012345678905")
+        ));
+    }
+
+    @Test
+    void find_ShouldMatchSkuAndBarcodeIgnoringCase() {
+        assertEquals(1L, index.find("bea-mas-001"));
+        assertEquals(1L, index.find(" 4006381333931 "));
+        assertEquals(3L, index.find("0012345678905"));
+        assertNull(index.find("UNKNOWN"));
+        assertNull(index.find(""));
+    }
+
+    @Test
+    void apply_ShouldReplaceCodesOfChangedProduct() {
+        index.apply(document(2L, "FUR-BED-003", "5901234123457"));
+
+        assertNull(index.find("FUR-BED-002"));
+        assertEquals(2L, index.find("FUR-BED-003"));
+        assertEquals(2L, index.find("5901234123457"));
+    }
+
+    @Test
+    void remove_ShouldKeepCodeTakenOverByAnotherProduct() {
+        index.apply(document(4L, "BEA-MAS-001", null));
+
+        index.remove(1L);
+
+        assertEquals(4L, index.find("BEA-MAS-001"));
+        assertNull(index.find("4006381333931"));
+    }
+
+    @Test
+    void removeAndRecode_ShouldHandSharedCodeBackToRemainingOwner() {
+        index.apply(document(4L, "BEA-MAS-004", "4006381333931"));
+        index.apply(document(5L, "BEA-MAS-005", "4006381333931"));
+
+        index.remove(5L);
+        assertEquals(4L, index.find("4006381333931"));
+
+        index.apply(document(4L, "BEA-MAS-004", "5901234123457"));
+        assertEquals(1L, index.find("4006381333931"));
+
+        index.remove(1L);
+        assertNull(index.find("4006381333931"));
+        assertEquals(4L, index.find("5901234123457"));
+    }
+
+    @Test
+    void findAll_ShouldSurviveGrowthAndChurn() {
+        List<ProductDocument> documents = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) documents.add(document(id, "SKU-" + id, "BC" + id));
+        index.rebuild(List.of());
+        for (ProductDocument document : documents) index.apply(document);
+        for (long id = 1; id <= 5000; id += 2) index.remove(id);
+
+        Map<String, Long> found = index.findAll(List.of("sku-2", "BC4000", "SKU-3", "missing"));
+
+        assertEquals(Map.of("sku-2", 2L, "BC4000", 4000L), found);
+        assertNull(index.find("SKU-4999"));
+        assertEquals(4998L, index.find("BC4998"));
+    }
+
+    private static ProductDocument document(Long id, String sku, String barcode) {
+        return new ProductDocument(id, "Product " + id, null, "beauty", null, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", sku, barcode, List.of());
+    }
+}
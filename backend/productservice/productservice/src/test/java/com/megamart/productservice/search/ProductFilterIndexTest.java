@@ -0,0 +1,189 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.ProductFacetsDto;
+import com.megamart.productservice.dto.ProductSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterIndexTest {
+
+    private ProductFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFilterIndex();
+        index.rebuild(List.of(
+            document(1L, "beauty", "Glamour Beauty", "19.99", 4.5, 34, "In Stock"),
+            document(2L, "smartphones", "Samsung", "699.99", 4.1, 0, "Out of Stock"),
+            document(3L, "smartphones", "Apple", "549.00", 3.2, 12, "Low Stock"),
+            document(4L, "smartphones", "Apple", "99.00", 4.9, 5, "In Stock")
+        ));
+    }
+
+    @Test
+    void search_ShouldCombineFiltersAndSortByPrimitiveColumn() {
+        ProductSearchRequest request = request("price", "desc");
+        request.setCategory("Smartphones");
+        request.setInStock(true);
+
+        SearchHits hits = index.search(request);
+
+        assertEquals(List.of(3L, 4L), hits.getProductIds());
+        assertEquals(2, hits.getTotalHits());
+        assertEquals("99.0", hits.getLastSortValue());
+    }
+
+    @Test
+    void search_ShouldResolvePriceRangeAcrossBands() {
+        ProductSearchRequest request = request("id", "asc");
+        request.setMinPrice(new BigDecimal("50"));
+        request.setMaxPrice(new BigDecimal("600"));
+
+        assertEquals(List.of(3L, 4L), index.search(request).getProductIds());
+
+        request.setMinPrice(null);
+        request.setMaxPrice(new BigDecimal("19.99"));
+        assertEquals(List.of(1L), index.search(request).getProductIds());
+    }
+
+    @Test
+    void search_PastTheLastPage_ShouldReturnNothingWithoutOverflowing() {
+        ProductSearchRequest request = request("id", "asc");
+        request.setPage(Integer.MAX_VALUE);
+        request.setSize(100);
+
+        SearchHits hits = index.search(request);
+
+        assertTrue(hits.getProductIds().isEmpty());
+        assertEquals(4, hits.getTotalHits());
+    }
+
+    @Test
+    void searchAfter_ShouldContinueFromCursorPosition() {
+        ProductSearchRequest request = request("rating", "desc");
+        request.setSize(2);
+
+        SearchHits first = index.search(request);
+        SearchHits second = index.searchAfter(request, first.getLastSortValue(), first.getProductIds().get(1));
+
+        assertEquals(List.of(4L, 1L), first.getProductIds());
+        assertEquals(List.of(2L, 3L), second.getProductIds());
+    }
+
+    @Test
+    void search_ShouldTrackUpdatesAndRemovals() {
+        index.apply(document(2L, "smartphones", "Samsung", "699.99", 4.1, 7, "In Stock"));
+        index.remove(4L);
+
+        ProductSearchRequest request = request("id", "asc");
+        request.setAvailabilityStatus("in stock");
+
+        assertEquals(List.of(1L, 2L), index.search(request).getProductIds());
+
+        request.setAvailabilityStatus(null);
+        request.setBrand("Apple");
+        assertEquals(List.of(3L), index.search(request).getProductIds());
+    }
+
+    @Test
+    void supports_ShouldRejectTextQueriesAndUnindexedSorts() {
+        assertTrue(index.supports(request("price", "asc")));
+        assertFalse(index.supports(request("title", "asc")));
+
+        ProductSearchRequest text = request("price", "asc");
+        text.setQuery("phone");
+        assertFalse(index.supports(text));
+    }
+
+    @Test
+    void facets_WithoutFilters_ShouldCountWholeCatalog() {
+        ProductFacetsDto facets = index.facets(new ProductSearchRequest(), null);
+
+        assertEquals(4, facets.getTotal());
+        assertEquals(3, facets.getInStock());
+        assertEquals(List.of("smartphones", "beauty"), List.copyOf(facets.getCategories().keySet()));
+        assertEquals(3L, facets.getCategories().get("smartphones"));
+        assertEquals(1L, facets.getPriceRanges().get(0).getCount());
+        assertEquals(1L, facets.getPriceRanges().get(2).getCount());
+        assertEquals(2L, facets.getPriceRanges().get(5).getCount());
+        assertEquals(3L, facets.getRatings().get(0).getCount());
+    }
+
+    @Test
+    void facets_ShouldIgnoreOwnFilterWhenCountingThatFacet() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("smartphones");
+        request.setMaxPrice(new BigDecimal("600"));
+
+        ProductFacetsDto facets = index.facets(request, null);
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(1L, facets.getCategories().get("beauty"));
+        assertEquals(Set.of("Apple"), facets.getBrands().keySet());
+        assertEquals(2L, facets.getPriceRanges().get(5).getCount());
+    }
+
+    @Test
+    void facets_ShouldRestrictToTextMatchesAndTrackUpdates() {
+        index.apply(document(3L, "smartphones", "Apple", "549.00", 3.2, 0, "Out of Stock"));
+        index.remove(1L);
+
+        ProductFacetsDto facets = index.facets(new ProductSearchRequest(), Set.of(1L, 2L, 3L));
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(0, facets.getInStock());
+        assertNull(facets.getCategories().get("beauty"));
+        assertNull(facets.getBrands().get("Glamour Beauty"));
+    }
+
+    @Test
+    void facets_ShouldApplyStockAndAvailabilityFiltersToEveryCount() {
+        ProductSearchRequest inStock = new ProductSearchRequest();
+        inStock.setInStock(true);
+        inStock.setCategory("smartphones");
+        ProductSearchRequest lowStock = new ProductSearchRequest();
+        lowStock.setAvailabilityStatus("low stock");
+
+        ProductFacetsDto inStockFacets = index.facets(inStock, null);
+        ProductFacetsDto lowStockFacets = index.facets(lowStock, null);
+
+        assertEquals(2, inStockFacets.getTotal());
+        assertEquals(1L, inStockFacets.getCategories().get("beauty"));
+        assertEquals(Set.of("Apple"), inStockFacets.getBrands().keySet());
+        assertEquals(1, lowStockFacets.getTotal());
+        assertEquals(Set.of("smartphones"), lowStockFacets.getCategories().keySet());
+    }
+
+    @Test
+    void facets_ShouldKeepFirstLabelAndSelectNothingForUnknownValues() {
+        index.apply(document(5L, "Smartphones", "Apple", "20.00", 4.0, 3, "In Stock"));
+        ProductSearchRequest unknown = new ProductSearchRequest();
+        unknown.setBrand("Nokia");
+
+        ProductFacetsDto facets = index.facets(unknown, null);
+
+        assertEquals(0, facets.getTotal());
+        assertTrue(facets.getCategories().isEmpty());
+        assertEquals(Map.of("Apple", 3L, "Samsung", 1L, "Glamour Beauty", 1L), facets.getBrands());
+        assertEquals(Map.of("smartphones", 4L, "beauty", 1L), index.facets(new ProductSearchRequest(), null).getCategories());
+    }
+
+    private ProductSearchRequest request(String sortBy, String sortDirection) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSortBy(sortBy);
+        request.setSortDirection(sortDirection);
+        return request;
+    }
+
+    private ProductDocument document(Long id, String category, String brand, String price, double rating, int stock, String availability) {
+        return new ProductDocument(id, "Product " + id, null, category, brand, new BigDecimal(price), 0.0, rating, stock, 0, availability, "SKU-" + id, null, List.of());
+    }
+}
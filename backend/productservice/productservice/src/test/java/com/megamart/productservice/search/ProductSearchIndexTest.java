@@ -0,0 +1,135 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.ProductSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductFilterIndex filterIndex;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        filterIndex = new ProductFilterIndex();
+        index = new ProductSearchIndex(filterIndex);
+        List<ProductDocument> documents = List.of(
+            document(1L, "Eyeshadow Palette with Mirror", "beauty", "Glamour Beauty", "19.99", List.of("beauty", "eyeshadow")),
+            document(2L, "Samsung Galaxy S10", "smartphones", "Samsung", "699.99", List.of("smartphones")),
+            document(3L, "iPhone 9", "smartphones", "Apple", "549.00", List.of("smartphones", "phone"))
+        );
+        filterIndex.rebuild(documents);
+        index.rebuild(documents);
+    }
+
+    @Test
+    void search_ShouldMatchTermPrefixes() {
+        SearchHits hits = index.search(request("smart"));
+
+        assertEquals(2, hits.getTotalHits());
+        assertTrue(hits.getProductIds().containsAll(List.of(2L, 3L)));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        index.apply(new ProductDocument(4L, "Phone Case", "Fits the Samsung Galaxy range", "mobile-accessories", "Generic",
+            BigDecimal.TEN, 0.0, 4.0, 10, 0, "In Stock", "SKU-4", null, List.of()));
+
+        assertEquals(List.of(2L, 4L), index.search(request("galaxy")).getProductIds());
+    }
+
+    @Test
+    void search_ShouldRequireEveryQueryTerm() {
+        SearchHits hits = index.search(request("samsung galaxy"));
+
+        assertEquals(List.of(2L), hits.getProductIds());
+    }
+
+    @Test
+    void search_ShouldIntersectFilters() {
+        ProductSearchRequest request = request(null);
+        request.setCategory("Smartphones");
+        request.setMaxPrice(BigDecimal.valueOf(600));
+
+        assertEquals(List.of(3L), index.search(request).getProductIds());
+    }
+
+    @Test
+    void search_ShouldApplyFiltersToQueryMatches() {
+        ProductDocument outOfStock = new ProductDocument(4L, "Galaxy Buds", null, "audio", "Samsung",
+            BigDecimal.TEN, 0.0, 4.0, 0, 0, "Out of Stock", "SKU-4", null, List.of());
+        filterIndex.apply(outOfStock);
+        index.apply(outOfStock);
+
+        ProductSearchRequest inStock = request("galaxy");
+        inStock.setInStock(true);
+        ProductSearchRequest soldOut = request("samsung");
+        soldOut.setInStock(false);
+        soldOut.setAvailabilityStatus("out of stock");
+
+        assertEquals(List.of(2L), index.search(inStock).getProductIds());
+        assertEquals(List.of(4L), index.search(soldOut).getProductIds());
+    }
+
+    @Test
+    void isReady_ShouldWaitForTheFilterIndex() {
+        ProductSearchIndex fresh = new ProductSearchIndex(new ProductFilterIndex());
+        fresh.rebuild(List.of());
+
+        assertFalse(fresh.isReady());
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void search_ShouldSortByRequestedField() {
+        ProductSearchRequest request = request(null);
+        request.setSortBy("price");
+        request.setSortDirection("desc");
+
+        assertEquals(List.of(2L, 3L, 1L), index.search(request).getProductIds());
+    }
+
+    @Test
+    void searchAfter_ShouldContinueFromCursorPosition() {
+        ProductSearchRequest request = request(null);
+        request.setSortBy("price");
+        request.setSortDirection("desc");
+        request.setSize(1);
+
+        SearchHits first = index.search(request);
+        SearchHits second = index.searchAfter(request, first.getLastSortValue(), first.getProductIds().get(0));
+
+        assertEquals(List.of(2L), first.getProductIds());
+        assertEquals("699.99", first.getLastSortValue());
+        assertEquals(List.of(3L), second.getProductIds());
+        assertEquals(2, second.getTotalHits());
+    }
+
+    @Test
+    void applyAndRemove_ShouldKeepIndexInSync() {
+        index.apply(document(1L, "Mirror Compact", "beauty", "Glamour Beauty", "9.99", List.of()));
+        index.remove(2L);
+
+        assertTrue(index.search(request("eyeshadow")).getProductIds().isEmpty());
+        assertEquals(List.of(1L), index.search(request("compact")).getProductIds());
+        assertTrue(index.search(request("samsung")).getProductIds().isEmpty());
+    }
+
+    private ProductSearchRequest request(String query) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery(query);
+        request.setPage(0);
+        request.setSize(10);
+        return request;
+    }
+
+    private ProductDocument document(Long id, String title, String category, String brand, String price, List<String> tags) {
+        return new ProductDocument(id, title, null, category, brand, new BigDecimal(price), 0.0, 4.0, 10, 0, "In Stock", "SKU-" + id, null, tags);
+    }
+}
@@ -0,0 +1,95 @@
+package com.megamart.productservice.search;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.SuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        index.rebuild(List.of(
+            document(1L, "iPhone 15 Pro", "smartphones", "Apple", 4.8, "phone"),
+            document(2L, "iPhone 13", "smartphones", "Apple", 4.1, "phone"),
+            document(3L, "Essence Mascara", "beauty", "Essence", 3.0, "mascara"),
+            document(4L, "iPad Air", "tablets", "Apple", 4.5)
+        ));
+    }
+
+    @Test
+    void suggest_ShouldRankCompletionsByRating() {
+        List<SuggestionDto> suggestions = index.suggest("ip", 10);
+
+        assertEquals(List.of("iPhone 15 Pro", "iPad Air", "iPhone 13"), texts(suggestions));
+        assertEquals(1L, suggestions.get(0).getProductId());
+        assertEquals("title", suggestions.get(0).getType());
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterTitleWordsAndTerms() {
+        assertEquals(List.of("iPhone 15 Pro"), texts(index.suggest("pro", 10)));
+        assertEquals(List.of("mascara", "Essence Mascara"), texts(index.suggest("MAS", 10)));
+
+        SuggestionDto brand = index.suggest("app", 10).get(0);
+        assertEquals("Apple", brand.getText());
+        assertEquals("brand", brand.getType());
+        assertNull(brand.getProductId());
+    }
+
+    @Test
+    void suggest_ShouldHonourLimitAndIgnoreUnknownPrefixes() {
+        assertEquals(2, index.suggest("i", 2).size());
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldTrackUpdatesAndRemovals() {
+        index.apply(document(2L, "Galaxy S24", "smartphones", "Samsung", 4.9));
+        index.remove(1L);
+
+        assertEquals(List.of("iPad Air"), texts(index.suggest("ip", 10)));
+        assertEquals(List.of("Samsung"), texts(index.suggest("sam", 10)));
+        assertTrue(index.suggest("phone", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldRankLikeIncrementalUpdates() {
+        List<ProductDocument> documents = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            documents.add(document(id, "Phone Case " + id, id % 2 == 0 ? "accessories" : "phones",
+                id % 3 == 0 ? "Apple" : "Anker", id % 50 / 10.0, "case"));
+        }
+        ProductSuggestIndex incremental = new ProductSuggestIndex();
+        documents.forEach(incremental::apply);
+        index.rebuild(documents);
+
+        for (String prefix : List.of("a", "ph", "case", "phone case 1")) {
+            assertEquals(texts(index.suggest(prefix, 10)), texts(incremental.suggest(prefix, 10)), prefix);
+            assertEquals(index.suggest(prefix, 1).get(0).getScore(), incremental.suggest(prefix, 1).get(0).getScore(), 1e-9);
+        }
+        SuggestionDto anker = index.suggest("ank", 1).get(0);
+        assertEquals("Anker", anker.getText());
+
+        documents.stream().filter(document -> document.getId() % 3 != 0).skip(1).forEach(document -> index.remove(document.getId()));
+        assertEquals(documents.get(0).getRating() + Math.log1p(1), index.suggest("ank", 1).get(0).getScore(), 1e-9);
+    }
+
+    private List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+
+    private ProductDocument document(Long id, String title, String category, String brand, double rating, String... tags) {
+        return new ProductDocument(id, title, null, category, brand, BigDecimal.TEN, 0.0, rating, 1, 0, "In Stock", "SKU-" + id, null, List.of(tags));
+    }
+}
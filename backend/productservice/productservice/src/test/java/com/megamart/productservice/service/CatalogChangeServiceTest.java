@@ -0,0 +1,137 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.dto.CatalogChangeFeedDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.CatalogVersion;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.repository.CatalogChangeRepository;
+import com.megamart.productservice.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeServiceTest {
+
+    @Mock
+    private CatalogChangeRepository changeRepository;
+
+    @Mock
+    private CatalogVersionRepository versionRepository;
+
+    private CatalogChangeService changeService;
+
+    @BeforeEach
+    void setUp() {
+        changeService = new CatalogChangeService(changeRepository, versionRepository, Duration.ofDays(30));
+    }
+
+    @Test
+    void record_ShouldAppendUnversionedChangesWithoutTouchingTheCounter() {
+        changeService.record(CatalogChange.PRODUCT, List.of(3L, 4L), CatalogChange.UPSERT);
+
+        ArgumentCaptor<List<CatalogChange>> saved = ArgumentCaptor.forClass(List.class);
+        verify(changeRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertNull(saved.getValue().get(0).getVersion());
+        assertEquals(4L, saved.getValue().get(1).getEntityId());
+        verifyNoInteractions(versionRepository);
+    }
+
+    @Test
+    void onProductChanged_ShouldRecordDeletes() {
+        changeService.onProductChanged(ProductChangedEvent.deleted(5L));
+
+        ArgumentCaptor<List<CatalogChange>> saved = ArgumentCaptor.forClass(List.class);
+        verify(changeRepository).saveAll(saved.capture());
+        assertEquals(CatalogChange.DELETE, saved.getValue().get(0).getOperation());
+        assertEquals(CatalogChange.PRODUCT, saved.getValue().get(0).getEntityType());
+    }
+
+    @Test
+    void assignVersions_ShouldNumberCommittedChangesFromTheCounter() {
+        LocalDateTime now = LocalDateTime.now();
+        CatalogVersion counter = new CatalogVersion(CatalogVersion.CATALOG, 7L);
+        List<CatalogChange> pending = List.of(
+            new CatalogChange(20L, null, CatalogChange.PRODUCT, 3L, CatalogChange.UPSERT, now),
+            new CatalogChange(21L, null, CatalogChange.PRODUCT, 4L, CatalogChange.UPSERT, now));
+        when(changeRepository.existsByVersionIsNull()).thenReturn(true);
+        when(versionRepository.findForUpdate(CatalogVersion.CATALOG)).thenReturn(Optional.of(counter));
+        when(changeRepository.findPendingForUpdate(any(Limit.class))).thenReturn(pending);
+
+        assertEquals(2, changeService.assignVersions());
+
+        assertEquals(List.of(8L, 9L), pending.stream().map(CatalogChange::getVersion).toList());
+        assertEquals(9L, counter.getVersion());
+        verify(versionRepository).save(counter);
+        verify(changeRepository).saveAll(pending);
+    }
+
+    @Test
+    void assignVersions_WithNothingPending_ShouldNotLockTheCounter() {
+        when(changeRepository.existsByVersionIsNull()).thenReturn(false);
+
+        assertEquals(0, changeService.assignVersions());
+
+        verifyNoInteractions(versionRepository);
+    }
+
+    @Test
+    void initializeVersion_ShouldSeedIdempotently() {
+        changeService.initializeVersion();
+
+        verify(versionRepository).insertIfAbsent(CatalogVersion.CATALOG);
+        verify(versionRepository, never()).save(any());
+    }
+
+    @Test
+    void getChanges_ShouldPageFromSinceVersion() {
+        LocalDateTime now = LocalDateTime.now();
+        when(versionRepository.findById(CatalogVersion.CATALOG)).thenReturn(Optional.of(new CatalogVersion(CatalogVersion.CATALOG, 12L)));
+        when(changeRepository.findFirstByVersionIsNotNullOrderByVersionAsc())
+            .thenReturn(Optional.of(new CatalogChange(1L, 5L, CatalogChange.PRODUCT, 1L, CatalogChange.UPSERT, now)));
+        when(changeRepository.findByVersionGreaterThanOrderByVersionAsc(eq(10L), any(Limit.class))).thenReturn(List.of(
+            new CatalogChange(6L, 11L, CatalogChange.PRODUCT, 1L, CatalogChange.UPSERT, now),
+            new CatalogChange(7L, 12L, CatalogChange.CATEGORY, 2L, CatalogChange.DELETE, now)));
+
+        CatalogChangeFeedDto feed = changeService.getChanges(10L, 1);
+
+        assertEquals(1, feed.getChanges().size());
+        assertTrue(feed.isHasMore());
+        assertEquals(11L, feed.getNextSinceVersion());
+        assertEquals(12L, feed.getLatestVersion());
+        assertFalse(feed.isResetRequired());
+    }
+
+    @Test
+    void getChanges_WhenVersionWasPruned_ShouldRequireReset() {
+        when(versionRepository.findById(CatalogVersion.CATALOG)).thenReturn(Optional.of(new CatalogVersion(CatalogVersion.CATALOG, 50L)));
+        when(changeRepository.findFirstByVersionIsNotNullOrderByVersionAsc())
+            .thenReturn(Optional.of(new CatalogChange(1L, 40L, CatalogChange.PRODUCT, 1L, CatalogChange.UPSERT, LocalDateTime.now())));
+
+        CatalogChangeFeedDto feed = changeService.getChanges(10L, 100);
+
+        assertTrue(feed.isResetRequired());
+        assertTrue(feed.getChanges().isEmpty());
+        verify(changeRepository, never()).findByVersionGreaterThanOrderByVersionAsc(anyLong(), any());
+    }
+
+    @Test
+    void getChanges_ShouldRejectInvalidLimit() {
+        assertThrows(ProductValidationException.class, () -> changeService.getChanges(0L, 0));
+    }
+}
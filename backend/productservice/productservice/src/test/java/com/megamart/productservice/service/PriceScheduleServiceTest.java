@@ -0,0 +1,182 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.dto.PriceScheduleRequestDto;
+import com.megamart.productservice.dto.ScheduledPriceChangeDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.ScheduledPriceChange;
+import com.megamart.productservice.exception.PriceScheduleNotFoundException;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.pricing.PriceChange;
+import com.megamart.productservice.pricing.PriceChangeTimers;
+import com.megamart.productservice.repository.ProductBulkUpdateRepository;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ScheduledPriceChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceScheduleServiceTest {
+
+    private static final LocalDateTime STARTS_AT = LocalDateTime.of(2030, 11, 28, 0, 0);
+    private static final LocalDateTime ENDS_AT = LocalDateTime.of(2030, 12, 1, 0, 0);
+
+    @Mock
+    private ScheduledPriceChangeRepository changeRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductBulkUpdateRepository bulkUpdateRepository;
+
+    @Mock
+    private PriceChangeTimers timers;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogIndexer catalogIndexer;
+
+    @Mock
+    private CatalogChangeService changeService;
+
+    private PriceScheduleService priceScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        priceScheduleService = new PriceScheduleService(changeRepository, productRepository, bulkUpdateRepository, timers,
+            transactionTemplate, catalogIndexer, changeService);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void schedule_ShouldStoreStartAndRestoringEndThenTimeBoth() {
+        when(productRepository.findPricesByIdIn(anyCollection())).thenReturn(List.of(
+            new PriceChange(1L, new BigDecimal("19.99"), 5.0)));
+        when(changeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ScheduledPriceChange> changes = invocation.getArgument(0);
+            for (int i = 0; i < changes.size(); i++) changes.get(i).setId(10L + i);
+            return changes;
+        });
+
+        List<ScheduledPriceChangeDto> changes = priceScheduleService.schedule(
+            new PriceScheduleRequestDto("black-friday", List.of(1L), null, 30.0, STARTS_AT, ENDS_AT));
+
+        assertEquals(2, changes.size());
+        assertEquals(30.0, changes.get(0).getDiscountPercentage());
+        assertNull(changes.get(0).getPrice());
+        assertEquals(5.0, changes.get(1).getDiscountPercentage());
+        assertNull(changes.get(1).getPrice());
+        assertEquals(ENDS_AT, changes.get(1).getEffectiveAt());
+        verify(timers).schedule(10L, STARTS_AT);
+        verify(timers).schedule(11L, ENDS_AT);
+    }
+
+    @Test
+    void schedule_ShouldRejectUnknownProductsAndInvalidValues() {
+        when(productRepository.findPricesByIdIn(anyCollection())).thenReturn(List.of());
+
+        assertThrows(ProductNotFoundException.class, () -> priceScheduleService.schedule(
+            new PriceScheduleRequestDto(null, List.of(99L), BigDecimal.ONE, null, STARTS_AT, null)));
+        assertThrows(ProductValidationException.class, () -> priceScheduleService.schedule(
+            new PriceScheduleRequestDto(null, List.of(1L), null, null, STARTS_AT, null)));
+        assertThrows(ProductValidationException.class, () -> priceScheduleService.schedule(
+            new PriceScheduleRequestDto(null, List.of(1L), null, 120.0, STARTS_AT, null)));
+        assertThrows(ProductValidationException.class, () -> priceScheduleService.schedule(
+            new PriceScheduleRequestDto(null, List.of(1L), BigDecimal.ONE, null, ENDS_AT, STARTS_AT)));
+        verifyNoInteractions(timers);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void applyDue_ShouldMergeChangesPerProductAndRefreshIndexes() {
+        when(timers.due()).thenReturn(List.of(1L, 2L, 3L));
+        when(changeRepository.findForUpdate(List.of(1L, 2L, 3L), ScheduledPriceChange.PENDING)).thenReturn(List.of(
+            change(1L, 7L, new BigDecimal("9.99"), null),
+            change(2L, 7L, null, 15.0),
+            change(3L, 8L, new BigDecimal("4.50"), 0.0)));
+
+        priceScheduleService.applyDue();
+
+        ArgumentCaptor<Collection<PriceChange>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(bulkUpdateRepository).updatePrices(updates.capture());
+        PriceChange product7 = new ArrayList<>(updates.getValue()).get(0);
+        assertEquals(new BigDecimal("9.99"), product7.getPrice());
+        assertEquals(15.0, product7.getDiscountPercentage());
+        verify(changeRepository).markApplied(eq(List.of(1L, 2L, 3L)), eq(ScheduledPriceChange.APPLIED), any());
+        verify(changeService).record(CatalogChange.PRODUCT, List.of(7L, 8L), CatalogChange.UPSERT);
+        verify(catalogIndexer).refresh(List.of(7L, 8L));
+    }
+
+    @Test
+    void applyDue_WhenUpdateFails_ShouldRetryOnNextTick() {
+        when(timers.due()).thenReturn(List.of(1L));
+        when(changeRepository.findForUpdate(anyCollection(), anyString())).thenThrow(new QueryTimeoutException("timeout"));
+
+        priceScheduleService.applyDue();
+
+        verify(timers).retry(List.of(1L));
+        verifyNoInteractions(catalogIndexer);
+    }
+
+    @Test
+    void applyDue_WhenNoConnectionCanBeOpened_ShouldRetryOnNextTick() {
+        when(timers.due()).thenReturn(List.of(1L, 2L));
+        when(transactionTemplate.execute(any())).thenThrow(new CannotCreateTransactionException("Connection refused"));
+
+        priceScheduleService.applyDue();
+
+        verify(timers).retry(List.of(1L, 2L));
+        verifyNoInteractions(catalogIndexer);
+    }
+
+    @Test
+    void sweepDue_ShouldTimeDueChangesFromTheDatabase() {
+        when(changeRepository.findDueIds(eq(ScheduledPriceChange.PENDING), any(), any())).thenReturn(List.of(4L, 5L));
+
+        priceScheduleService.sweepDue();
+
+        verify(timers).retry(List.of(4L, 5L));
+    }
+
+    @Test
+    void cancel_ShouldRejectAppliedAndUnknownChanges() {
+        ScheduledPriceChange applied = change(5L, 7L, BigDecimal.ONE, null);
+        applied.setStatus(ScheduledPriceChange.APPLIED);
+        when(changeRepository.cancel(anyLong(), anyString(), anyString())).thenReturn(0);
+        when(changeRepository.findById(5L)).thenReturn(Optional.of(applied));
+        when(changeRepository.findById(6L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductValidationException.class, () -> priceScheduleService.cancel(5L));
+        assertThrows(PriceScheduleNotFoundException.class, () -> priceScheduleService.cancel(6L));
+    }
+
+    private static ScheduledPriceChange change(Long id, Long productId, BigDecimal price, Double discount) {
+        return new ScheduledPriceChange(id, productId, price, discount, STARTS_AT, ScheduledPriceChange.PENDING, null,
+            STARTS_AT.minusDays(1), null);
+    }
+}
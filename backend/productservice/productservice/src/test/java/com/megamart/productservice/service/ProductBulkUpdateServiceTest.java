@@ -0,0 +1,101 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.dto.BulkUpdateOperation;
+import com.megamart.productservice.dto.BulkUpdateRequestDto;
+import com.megamart.productservice.dto.BulkUpdateResultDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.repository.ProductBulkUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkUpdateServiceTest {
+
+    @Mock
+    private ProductBulkUpdateRepository bulkUpdateRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogDictionary catalogDictionary;
+
+    @Mock
+    private CatalogIndexer catalogIndexer;
+
+    @Mock
+    private CatalogChangeService changeService;
+
+    private ProductBulkUpdateService bulkUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        bulkUpdateService = new ProductBulkUpdateService(bulkUpdateRepository, transactionTemplate, catalogDictionary,
+            catalogIndexer, changeService);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void bulkUpdate_ShouldUpdateEveryChunkAndRefreshIndexes() {
+        List<Long> first = LongStream.rangeClosed(1, 1000).boxed().toList();
+        List<Long> second = List.of(1001L, 1002L);
+        when(catalogDictionary.categoryId("laptops")).thenReturn(4L);
+        when(bulkUpdateRepository.findIds(any(), eq(0L), eq(1000))).thenReturn(first);
+        when(bulkUpdateRepository.findIds(any(), eq(1000L), eq(1000))).thenReturn(second);
+        when(bulkUpdateRepository.findIds(any(), eq(1002L), eq(1000))).thenReturn(List.of());
+        when(bulkUpdateRepository.update(eq(BulkUpdateOperation.SCALE_PRICE), eq(new BigDecimal("0.9")), any(), anyCollection()))
+            .thenReturn(1000, 1);
+
+        BulkUpdateResultDto result = bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto("laptops", null, null, null, "scalePrice", new BigDecimal("0.9"), null));
+
+        assertEquals(1002, result.getMatchedProducts());
+        assertEquals(1001, result.getUpdatedProducts());
+        assertEquals(2, result.getChunks());
+        verify(bulkUpdateRepository).update(eq(BulkUpdateOperation.SCALE_PRICE), any(),
+            argThat(filter -> filter.getCategoryId() == 4L && filter.getBrandId() == null), eq(second));
+        verify(changeService).record(CatalogChange.PRODUCT, second, CatalogChange.UPSERT);
+        verify(catalogIndexer).refresh(first);
+        verify(catalogIndexer).refresh(second);
+    }
+
+    @Test
+    void bulkUpdate_WithUnknownCategory_ShouldMatchNothing() {
+        BulkUpdateResultDto result = bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto("nope", null, null, null, "SET_DISCOUNT", BigDecimal.TEN, null));
+
+        assertEquals(0, result.getMatchedProducts());
+        verifyNoInteractions(bulkUpdateRepository, catalogIndexer);
+    }
+
+    @Test
+    void bulkUpdate_ShouldRejectMissingFilterAndInvalidValues() {
+        assertThrows(ProductValidationException.class, () -> bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto(null, null, " ", null, "SET_PRICE", BigDecimal.ONE, null)));
+        assertThrows(ProductValidationException.class, () -> bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto(null, null, "sale", null, "SET_DISCOUNT", BigDecimal.valueOf(150), null)));
+        assertThrows(ProductValidationException.class, () -> bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto(null, null, null, List.of(1L), "SET_AVAILABILITY", null, null)));
+        assertThrows(ProductValidationException.class, () -> bulkUpdateService.bulkUpdate(
+            new BulkUpdateRequestDto(null, null, null, List.of(1L), "DELETE", null, null)));
+        verifyNoInteractions(bulkUpdateRepository);
+    }
+}
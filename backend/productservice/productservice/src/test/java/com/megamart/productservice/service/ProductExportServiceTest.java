@@ -0,0 +1,82 @@
+package com.megamart.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.megamart.productservice.dto.ProductExportDto;
+import com.megamart.productservice.repository.ProductExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductExportRepository exportRepository;
+
+    private ProductExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ProductExportService(exportRepository, objectMapper);
+    }
+
+    @Test
+    void exportProducts_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        doAnswer(invocation -> {
+            ProductExportRepository.ExportRowHandler handler = invocation.getArgument(2);
+            handler.handle(product(11L, "Lipstick"));
+            handler.handle(product(12L, "Mascara"));
+            return null;
+        }).when(exportRepository).streamProducts(eq(since), eq(10L), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportProducts(since, 10L, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":11,\"title\":\"Lipstick\""));
+        assertTrue(lines[1].contains("\"tags\":[\"beauty\"]"));
+    }
+
+    @Test
+    void exportProducts_WhenClientDisconnects_ShouldPropagateIOException() {
+        doAnswer(invocation -> {
+            ProductExportRepository.ExportRowHandler handler = invocation.getArgument(2);
+            handler.handle(product(1L, "Lipstick"));
+            return null;
+        }).when(exportRepository).streamProducts(isNull(), isNull(), any());
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.exportProducts(null, null, broken));
+    }
+
+    private ProductExportDto product(Long id, String title) {
+        return new ProductExportDto(id, title, null, "beauty", BigDecimal.TEN, 0.0, 4.5, 3, "Essence", "SKU-" + id,
+            "In Stock", null, List.of("beauty"), List.of(), LocalDateTime.of(2024, 2, 1, 12, 0));
+    }
+}
@@ -0,0 +1,113 @@
+package com.megamart.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.catalog.DictionaryTerm;
+import com.megamart.productservice.dto.ProductImportResultDto;
+import com.megamart.productservice.dto.ProductImportRow;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.importer.ProductImportFormat;
+import com.megamart.productservice.repository.ProductImportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductImportRepository importRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogIndexer catalogIndexer;
+
+    @Mock
+    private CatalogDictionary catalogDictionary;
+
+    @Mock
+    private CatalogChangeService changeService;
+
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(importRepository, transactionTemplate, catalogIndexer, catalogDictionary,
+            changeService, new ObjectMapper());
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importProducts_ShouldUpsertValidRowsAndReportInvalidOnes() throws IOException {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        ids.put("A-1", 10L);
+        ids.put("A-2", 11L);
+        when(importRepository.upsertProducts(anyList())).thenReturn(ids);
+        when(catalogDictionary.resolveCategory("kitchen")).thenReturn(new DictionaryTerm(3L, "Kitchen", "kitchen"));
+
+        ProductImportResultDto result = importService.importProducts(csv(
+            "sku,title,category,price,tags\n" +
+            "A-1,Mug,kitchen,3,home|mug\n" +
+            "A-2,Cup,kitchen,2,\n" +
+            "A-3,,kitchen,2,\n" +
+            "a-1,Big Mug,kitchen,4,home\n"), ProductImportFormat.CSV);
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("title is required", result.getErrors().get(0).getMessage());
+
+        ArgumentCaptor<List<ProductImportRow>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(importRepository).upsertProducts(upserted.capture());
+        assertEquals(2, upserted.getValue().size());
+        assertEquals("Big Mug", upserted.getValue().get(0).getTitle());
+        assertEquals(3L, upserted.getValue().get(0).getCategoryId());
+        assertEquals("Kitchen", upserted.getValue().get(0).getCategory());
+        verify(importRepository).replaceTags(Map.of(10L, List.of("home"), 11L, List.of()));
+        verify(changeService).record(eq(CatalogChange.PRODUCT), argThat(changed -> changed.containsAll(List.of(10L, 11L))), eq(CatalogChange.UPSERT));
+        verify(catalogIndexer).refresh(argThat(refreshed -> refreshed.containsAll(List.of(10L, 11L))));
+        verify(catalogIndexer, never()).buildIndexes();
+    }
+
+    @Test
+    void importProducts_WhenChunkWriteFails_ShouldReportEveryRowInChunk() throws IOException {
+        when(importRepository.upsertProducts(anyList())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        ProductImportResultDto result = importService.importProducts(csv(
+            "sku,title,category,price\nA-1,Mug,kitchen,3\nA-2,Cup,kitchen,2\n"), ProductImportFormat.CSV);
+
+        assertEquals(0, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Database error"));
+        verify(catalogIndexer, never()).refresh(any());
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
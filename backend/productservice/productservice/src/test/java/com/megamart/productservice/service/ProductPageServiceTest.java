@@ -0,0 +1,108 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.dto.ProductDTO;
+import com.megamart.productservice.dto.ProductPageDto;
+import com.megamart.productservice.dto.RelatedProductDto;
+import com.megamart.productservice.dto.ReviewSliceDto;
+import com.megamart.productservice.dto.StockAvailabilityDto;
+import com.megamart.productservice.entity.Category;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.inventory.ReservationLedger;
+import com.megamart.productservice.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPageServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductReviewService reviewService;
+
+    @Mock
+    private RelatedProductsService relatedProductsService;
+
+    @Mock
+    private ReservationLedger ledger;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CatalogDictionary catalogDictionary;
+
+    @InjectMocks
+    private ProductPageService productPageService;
+
+    private ProductDTO product;
+
+    @BeforeEach
+    void setUp() {
+        product = new ProductDTO();
+        product.setId(1L);
+        product.setTitle("Essence Mascara");
+        product.setCategory("beauty");
+        product.setStock(3);
+    }
+
+    @Test
+    void getPage_ShouldAssembleAllParts() {
+        ReviewSliceDto reviews = new ReviewSliceDto(List.of(), false, null);
+        List<RelatedProductDto> related = List.of(new RelatedProductDto(2L, "Eyeliner", BigDecimal.TEN, 4, null, 0.5));
+        Category category = new Category();
+        category.setId(7L);
+        category.setName("beauty");
+        category.setDescription("Make-up");
+
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+        when(reviewService.getFirstReviews(1L, 5)).thenReturn(reviews);
+        when(relatedProductsService.getRelated(1L, 8)).thenReturn(related);
+        when(catalogDictionary.categoryId("beauty")).thenReturn(7L);
+        when(categoryRepository.findById(7L)).thenReturn(Optional.of(category));
+        when(ledger.availability(1L)).thenReturn(new StockAvailabilityDto(1L, 3, 3, 0));
+
+        ProductPageDto page = productPageService.getPage(1L, 5, 8);
+
+        assertSame(product, page.getProduct());
+        assertSame(reviews, page.getReviews());
+        assertSame(related, page.getRelated());
+        assertEquals("Make-up", page.getCategory().getDescription());
+        assertEquals(0, page.getAvailableStock());
+        assertFalse(page.isInStock());
+    }
+
+    @Test
+    void getPage_WithoutLedgerEntryOrCategory_ShouldFallBackToProduct() {
+        product.setCategory(null);
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+
+        ProductPageDto page = productPageService.getPage(1L, 5, 8);
+
+        assertNull(page.getCategory());
+        assertEquals(3, page.getAvailableStock());
+        assertTrue(page.isInStock());
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void getPage_WhenProductMissing_ShouldThrowBeforeLoadingParts() {
+        when(productService.getProductById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productPageService.getPage(9L, 5, 8));
+        verifyNoInteractions(reviewService, relatedProductsService, ledger);
+    }
+}
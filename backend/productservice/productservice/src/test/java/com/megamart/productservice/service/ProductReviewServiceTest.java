@@ -0,0 +1,171 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.CatalogIndexer;
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.dto.ProductReviewDTO;
+import com.megamart.productservice.dto.ProductReviewRequestDto;
+import com.megamart.productservice.dto.ReviewSliceDto;
+import com.megamart.productservice.entity.CatalogChange;
+import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.entity.ProductReview;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.exception.ReviewNotFoundException;
+import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ProductReviewRepository;
+import com.megamart.productservice.repository.ProductReviewStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReviewServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductReviewRepository reviewRepository;
+
+    @Mock
+    private ProductReviewStatsRepository statsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogChangeService changeService;
+
+    @Mock
+    private CatalogIndexer catalogIndexer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProductReviewService reviewService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setId(1L);
+        product.setTitle("Test Product");
+        product.setCategory("beauty");
+        product.setPrice(BigDecimal.TEN);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void backfillStats_ShouldRefreshStaleRatingsAndIndexes() {
+        when(statsRepository.count()).thenReturn(0L);
+        when(statsRepository.backfillFromReviews()).thenReturn(3);
+        when(statsRepository.findProductIdsWithStaleRating()).thenReturn(List.of(1L, 2L));
+
+        reviewService.backfillStats();
+
+        InOrder inOrder = inOrder(statsRepository, changeService, catalogIndexer);
+        inOrder.verify(statsRepository).backfillFromReviews();
+        inOrder.verify(statsRepository).refreshStaleProductRatings();
+        inOrder.verify(changeService).record(CatalogChange.PRODUCT, List.of(1L, 2L), CatalogChange.UPSERT);
+        inOrder.verify(catalogIndexer).refresh(List.of(1L, 2L));
+    }
+
+    @Test
+    void backfillStats_WhenAlreadyBackfilled_ShouldDoNothing() {
+        when(statsRepository.count()).thenReturn(5L);
+
+        reviewService.backfillStats();
+
+        verify(statsRepository, never()).backfillFromReviews();
+        verify(statsRepository, never()).refreshStaleProductRatings();
+        verifyNoInteractions(changeService, catalogIndexer);
+    }
+
+    @Test
+    void addReview_ShouldUpdateAggregatesInSameTransaction() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(reviewRepository.save(any(ProductReview.class))).thenAnswer(invocation -> {
+            ProductReview review = invocation.getArgument(0);
+            review.setId(42L);
+            return review;
+        });
+
+        ProductReviewDTO result = reviewService.addReview(1L, new ProductReviewRequestDto(4, "Nice", "Ann", "ann@example.com"));
+
+        assertEquals(42L, result.getId());
+        InOrder inOrder = inOrder(reviewRepository, statsRepository, eventPublisher);
+        inOrder.verify(reviewRepository).save(any(ProductReview.class));
+        inOrder.verify(statsRepository).applyReview(1L, 4, 1);
+        inOrder.verify(statsRepository).refreshProductRating(1L);
+        inOrder.verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void addReview_WithOutOfRangeRating_ShouldThrowValidationException() {
+        ProductReviewRequestDto request = new ProductReviewRequestDto(6, "Nice", "Ann", "ann@example.com");
+
+        assertThrows(ProductValidationException.class, () -> reviewService.addReview(1L, request));
+        verify(reviewRepository, never()).save(any());
+        verify(statsRepository, never()).applyReview(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void deleteReview_ShouldSubtractFromAggregates() {
+        ProductReview review = new ProductReview();
+        review.setId(42L);
+        review.setRating(2);
+        when(reviewRepository.findByIdAndProductId(42L, 1L)).thenReturn(Optional.of(review));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        reviewService.deleteReview(1L, 42L);
+
+        verify(reviewRepository).delete(review);
+        verify(statsRepository).applyReview(1L, 2, -1);
+        verify(statsRepository).refreshProductRating(1L);
+    }
+
+    @Test
+    void deleteReview_WhenMissing_ShouldThrowNotFound() {
+        when(reviewRepository.findByIdAndProductId(42L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.deleteReview(1L, 42L));
+        verify(statsRepository, never()).applyReview(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getReviews_ShouldContinueBelowCursorId() {
+        ProductReview older = new ProductReview();
+        older.setId(7L);
+        older.setRating(5);
+        String cursor = new ProductCursor("id", "desc", 9L, "9").encode();
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.findByProductIdAndIdLessThanOrderByIdDesc(1L, 9L, PageRequest.of(0, 1)))
+            .thenReturn(new SliceImpl<>(List.of(older), PageRequest.of(0, 1), true));
+
+        ReviewSliceDto result = reviewService.getReviews(1L, cursor, 1);
+
+        assertEquals(7L, result.getContent().get(0).getId());
+        assertTrue(result.isHasNext());
+        assertEquals(7L, ProductCursor.decode(result.getNextCursor()).getId());
+    }
+}
@@ -1,25 +1,59 @@
 package com.megamart.productservice.service;
 
+import com.megamart.productservice.catalog.CatalogDictionary;
+import com.megamart.productservice.catalog.DictionaryTerm;
+import com.megamart.productservice.catalog.ProductChangedEvent;
+import com.megamart.productservice.dto.ProductBriefDto;
 import com.megamart.productservice.dto.ProductDTO;
+import com.megamart.productservice.dto.ProductFacetsDto;
 import com.megamart.productservice.dto.ProductSearchRequest;
+import com.megamart.productservice.dto.ProductSliceDto;
+import com.megamart.productservice.dto.ProductSummaryDTO;
+import com.megamart.productservice.dto.StockAdjustmentDto;
+import com.megamart.productservice.dto.StockLevelDto;
 import com.megamart.productservice.entity.Category;
 import com.megamart.productservice.entity.Product;
+import com.megamart.productservice.entity.ProductImage;
+import com.megamart.productservice.entity.ProductReviewStats;
+import com.megamart.productservice.entity.ProductTag;
+import com.megamart.productservice.exception.InsufficientStockException;
 import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
 import com.megamart.productservice.repository.CategoryRepository;
+import com.megamart.productservice.repository.ProductImageRepository;
+import com.megamart.productservice.repository.ProductMetadataRepository;
 import com.megamart.productservice.repository.ProductRepository;
+import com.megamart.productservice.repository.ProductReviewStatsRepository;
+import com.megamart.productservice.repository.ProductTagRepository;
+import com.megamart.productservice.search.FuzzyTermDictionary;
+import com.megamart.productservice.search.ProductCodeIndex;
+import com.megamart.productservice.search.ProductFilterIndex;
+import com.megamart.productservice.search.ProductSearchIndex;
+import com.megamart.productservice.search.ProductSuggestIndex;
+import com.megamart.productservice.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +68,39 @@ class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductTagRepository productTagRepository;
+
+    @Mock
+    private ProductImageRepository productImageRepository;
+
+    @Mock
+    private ProductReviewStatsRepository reviewStatsRepository;
+
+    @Mock
+    private ProductMetadataRepository metadataRepository;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductFilterIndex filterIndex;
+
+    @Mock
+    private ProductSuggestIndex suggestIndex;
+
+    @Mock
+    private ProductCodeIndex codeIndex;
+
+    @Mock
+    private FuzzyTermDictionary fuzzyTerms;
+
+    @Mock
+    private CatalogDictionary catalogDictionary;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -62,7 +129,7 @@ class ProductServiceTest {
         Page<Product> productPage = new PageImpl<>(Arrays.asList(product));
         when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
 
-        Page<ProductDTO> result = productService.getAllProducts(0, 10, "id", "asc");
+        Page<ProductSummaryDTO> result = productService.getAllProducts(0, 10, "id", "asc");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
@@ -70,6 +137,175 @@ class ProductServiceTest {
         verify(productRepository).findAll(any(Pageable.class));
     }
 
+    @Test
+    void suggest_ShouldCapLimitAndRejectNonPositive() {
+        when(suggestIndex.suggest("iph", ProductSuggestIndex.MAX_SUGGESTIONS)).thenReturn(List.of());
+
+        productService.suggest("iph", 100);
+
+        verify(suggestIndex).suggest("iph", ProductSuggestIndex.MAX_SUGGESTIONS);
+        assertThrows(ProductValidationException.class, () -> productService.suggest("iph", 0));
+    }
+
+    @Test
+    void getFacets_WhenIndexesReady_ShouldCountTextMatchesInFilterIndex() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery("phone");
+        ProductFacetsDto facets = new ProductFacetsDto();
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.matchingIds("phone")).thenReturn(Set.of(2L));
+        when(filterIndex.facets(request, Set.of(2L))).thenReturn(facets);
+
+        assertSame(facets, productService.getFacets(request));
+        verify(productRepository, never()).findFacetRows(any(), any(), any());
+    }
+
+    @Test
+    void getFacets_BeforeIndexesAreBuilt_ShouldCountDatabaseRows() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery("phone");
+        request.setBrand("Apple");
+        when(searchIndex.isReady()).thenReturn(false);
+        when(productRepository.findFacetRows("phone", null, null)).thenReturn(List.of(
+            new Object[]{1L, "smartphones", "Apple", new BigDecimal("549.00"), 4.2, 3, "In Stock"},
+            new Object[]{2L, "smartphones", "Samsung", new BigDecimal("699.99"), 3.5, 0, "Out of Stock"}
+        ));
+
+        ProductFacetsDto facets = productService.getFacets(request);
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(1, facets.getInStock());
+        assertEquals(Map.of("Apple", 1L, "Samsung", 1L), facets.getBrands());
+        assertEquals(1L, facets.getRatings().get(0).getCount());
+        verify(filterIndex, never()).facets(any(), any());
+    }
+
+    @Test
+    void getAllProductsAfter_ShouldReturnSliceWithNextCursor() {
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), eq(Limit.of(1))))
+            .thenReturn(Window.from(List.of(product), index -> ScrollPosition.keyset(), true));
+
+        ProductSliceDto result = productService.getAllProductsAfter("", 1, "price", "desc");
+
+        assertTrue(result.isHasNext());
+        assertEquals("Test Product", result.getContent().get(0).getTitle());
+        ProductCursor cursor = ProductCursor.decode(result.getNextCursor());
+        assertEquals("price", cursor.getSortBy());
+        assertEquals(1L, cursor.getId());
+        assertEquals("99.99", cursor.getValue());
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void getAllProductsAfter_ShouldResumeFromCursorKeys() {
+        String after = new ProductCursor("price", "desc", 7L, "120.00").encode();
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+            .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset(), false));
+
+        ProductSliceDto result = productService.getAllProductsAfter(after, 10, "id", "asc");
+
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(productRepository).findAllBy(
+            eq(ScrollPosition.forward(Map.of("price", new BigDecimal("120.00"), "id", 7L))),
+            eq(Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.ASC, "id"))),
+            eq(Limit.of(10)));
+    }
+
+    @Test
+    void getAllProductsAfter_WithUnsupportedSortField_ShouldThrowValidationException() {
+        assertThrows(ProductValidationException.class,
+            () -> productService.getAllProductsAfter("", 10, "brand", "asc"));
+    }
+
+    @Test
+    void getAllProductsAfter_WithNullableSortField_ShouldThrowValidationException() {
+        String after = new ProductCursor("rating", "desc", 7L, "null").encode();
+
+        assertThrows(ProductValidationException.class,
+            () -> productService.getAllProductsAfter("", 10, "discountPercentage", "asc"));
+        assertThrows(ProductValidationException.class,
+            () -> productService.getAllProductsAfter(after, 10, "id", "asc"));
+        verify(productRepository, never()).findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
+    }
+
+    @Test
+    void getAllProducts_ShouldLoadPageWithFixedNumberOfQueries() {
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            products.add(mock(Product.class));
+            when(products.get(products.size() - 1).getId()).thenReturn(id);
+        }
+        ProductTag tag = new ProductTag();
+        tag.setTag("sale");
+        tag.setProduct(products.get(0));
+        ProductImage image = new ProductImage();
+        image.setImageUrl("https://cdn.example.com/1.webp");
+        image.setProduct(products.get(0));
+
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(products));
+        when(productTagRepository.findByProductIds(anyList())).thenReturn(List.of(tag));
+        when(productImageRepository.findByProductIds(anyList())).thenReturn(List.of(image));
+
+        Page<ProductSummaryDTO> result = productService.getAllProducts(0, 30, "id", "asc");
+
+        assertEquals(30, result.getContent().size());
+        assertEquals(List.of("sale"), result.getContent().get(0).getTags());
+        assertEquals(List.of("https://cdn.example.com/1.webp"), result.getContent().get(0).getImages());
+        assertTrue(result.getContent().get(1).getImages().isEmpty());
+        verify(productRepository, times(1)).findAll(any(Pageable.class));
+        verify(productTagRepository, times(1)).findByProductIds(anyList());
+        verify(productImageRepository, times(1)).findByProductIds(anyList());
+        for (Product product : products) {
+            verify(product, never()).getTags();
+            verify(product, never()).getImages();
+            verify(product, never()).getReviews();
+        }
+    }
+
+    @Test
+    void getProductsByIds_ShouldLoadUniqueIdsInOneQuery() {
+        ProductBriefDto brief = new ProductBriefDto(1L, "Test Product", BigDecimal.valueOf(99.99), 10, null);
+        when(productRepository.findBriefsByIdIn(anyCollection())).thenReturn(List.of(brief));
+
+        Map<Long, ProductBriefDto> result = productService.getProductsByIds(List.of(1L, 1L, 2L));
+
+        assertEquals(1, result.size());
+        assertEquals(10, result.get(1L).getStock());
+        verify(productRepository, times(1)).findBriefsByIdIn(anyCollection());
+    }
+
+    @Test
+    void getProductsByCodes_ShouldResolveCodesFromIndexAndKeepRequestedKeys() {
+        ProductBriefDto brief = new ProductBriefDto(1L, "Test Product", BigDecimal.valueOf(99.99), 10, null);
+        when(codeIndex.isReady()).thenReturn(true);
+        when(codeIndex.findAll(Set.of("sku-1", "4006381333931"))).thenReturn(Map.of("sku-1", 1L, "4006381333931", 1L));
+        when(productRepository.findBriefsByIdIn(Set.of(1L))).thenReturn(List.of(brief));
+
+        Map<String, ProductBriefDto> result = productService.getProductsByCodes(List.of("sku-1", "4006381333931", " "));
+
+        assertEquals(2, result.size());
+        assertSame(brief, result.get("sku-1"));
+        verify(productRepository, never()).findCodeMatches(anyCollection());
+    }
+
+    @Test
+    void findProductIdByCode_BeforeIndexIsBuilt_ShouldQueryDatabase() {
+        when(productRepository.findCodeMatches(List.of("4006381333931")))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, "SKU-1", "4006381333931"}));
+
+        assertEquals(Optional.of(1L), productService.findProductIdByCode("4006381333931"));
+    }
+
+    @Test
+    void getProductsByIds_WhenTooManyIds_ShouldThrowValidationException() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) ids.add(id);
+
+        assertThrows(ProductValidationException.class, () -> productService.getProductsByIds(ids));
+        verify(productRepository, never()).findBriefsByIdIn(anyCollection());
+    }
+
     @Test
     void getProductById_WhenExists_ShouldReturnProduct() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
@@ -81,6 +317,19 @@ class ProductServiceTest {
         verify(productRepository).findById(1L);
     }
 
+    @Test
+    void getProductById_ShouldCarryReviewAggregate() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(reviewStatsRepository.findById(1L))
+            .thenReturn(Optional.of(new ProductReviewStats(1L, 3, 11L, 0, 1, 0, 1, 1, null)));
+
+        ProductDTO result = productService.getProductById(1L).orElseThrow();
+
+        assertEquals(3, result.getReviewSummary().getReviewCount());
+        assertEquals(3.67, result.getReviewSummary().getAverageRating());
+        assertEquals(1, result.getReviewSummary().getHistogram().get(5));
+    }
+
     @Test
     void getProductById_WhenNotExists_ShouldReturnEmpty() {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
@@ -102,6 +351,20 @@ class ProductServiceTest {
         verify(productRepository).save(any(Product.class));
     }
 
+    @Test
+    void createProduct_ShouldStoreDictionaryIdsAndCanonicalLabels() {
+        productDTO.setCategory("electronics");
+        productDTO.setBrand("Acme");
+        when(catalogDictionary.resolveCategory("electronics")).thenReturn(new DictionaryTerm(4L, "Electronics", "electronics"));
+        when(catalogDictionary.resolveBrand("Acme")).thenReturn(new DictionaryTerm(9L, "ACME", "acme"));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        productService.createProduct(productDTO);
+
+        verify(productRepository).save(argThat(saved -> saved.getCategoryId() == 4L && "Electronics".equals(saved.getCategory())
+            && saved.getBrandId() == 9L && "ACME".equals(saved.getBrand())));
+    }
+
     @Test
     void updateProduct_WhenExists_ShouldUpdateAndReturn() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
@@ -135,7 +398,10 @@ class ProductServiceTest {
         assertDoesNotThrow(() -> productService.deleteProduct(1L));
 
         verify(productRepository).existsById(1L);
-        verify(productRepository).deleteById(1L);
+        InOrder inOrder = inOrder(metadataRepository, productRepository);
+        inOrder.verify(metadataRepository).deleteByProductId(1L);
+        inOrder.verify(productRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -152,27 +418,98 @@ class ProductServiceTest {
 
     @Test
     void updateStock_WithValidChange_ShouldUpdateStock() {
+        when(productRepository.adjustStock(1L, 5)).thenReturn(1);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
 
         ProductDTO result = productService.updateStock(1L, 5);
 
         assertNotNull(result);
-        verify(productRepository).findById(1L);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).adjustStock(1L, 5);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     void updateStock_WithNegativeResult_ShouldThrowException() {
         product.setStock(5);
+        when(productRepository.adjustStock(1L, -10)).thenReturn(0);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(InsufficientStockException.class, () -> {
             productService.updateStock(1L, -10);
         });
 
-        verify(productRepository).findById(1L);
         verify(productRepository, never()).save(any(Product.class));
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void updateStock_WhenProductMissing_ShouldThrowNotFound() {
+        when(productRepository.adjustStock(1L, -1)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productService.updateStock(1L, -1));
+    }
+
+    @Test
+    void updateStockBatch_ShouldMergeDuplicatesAndApplyInIdOrder() {
+        Product second = new Product();
+        second.setId(2L);
+        second.setStock(3);
+        when(productRepository.adjustStock(anyLong(), anyInt())).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product, second));
+
+        List<StockLevelDto> result = productService.updateStockBatch(List.of(
+            new StockAdjustmentDto(2L, -1),
+            new StockAdjustmentDto(1L, -2),
+            new StockAdjustmentDto(2L, -1)));
+
+        assertEquals(2, result.size());
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).adjustStock(1L, -2);
+        inOrder.verify(productRepository).adjustStock(2L, -2);
+    }
+
+    @Test
+    void updateStockBatch_WhenAnyItemShort_ShouldFailWholeBatch() {
+        product.setStock(1);
+        when(productRepository.adjustStock(1L, -1)).thenReturn(1);
+        when(productRepository.adjustStock(2L, -5)).thenReturn(0);
+        Product second = new Product();
+        second.setId(2L);
+        second.setStock(2);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(second));
+
+        assertThrows(InsufficientStockException.class, () -> productService.updateStockBatch(List.of(
+            new StockAdjustmentDto(1L, -1),
+            new StockAdjustmentDto(2L, -5))));
+
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void reserveStock_WhenHeldUnitsLeaveTooLittle_ShouldReportSellableStock() {
+        product.setStock(5);
+        product.setReservedStock(4);
+        when(productRepository.reserveStock(1L, 2)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        InsufficientStockException error = assertThrows(InsufficientStockException.class,
+            () -> productService.reserveStock(Map.of(1L, 2)));
+
+        assertTrue(error.getMessage().contains("Available: 1"));
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void commitReservedStock_ShouldDecrementHeldUnitsAndPublishChanges() {
+        when(productRepository.commitReservedStock(1L, 2)).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        productService.commitReservedStock(Map.of(1L, 2));
+
+        verify(productRepository).commitReservedStock(1L, 2);
+        verify(productRepository, never()).adjustStock(anyLong(), anyInt());
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -186,14 +523,125 @@ class ProductServiceTest {
         request.setSortDirection("asc");
 
         Page<Product> productPage = new PageImpl<>(Arrays.asList(product));
-        when(productRepository.findProductsWithFilters(any(), any(), any(), any(), any(), any(Pageable.class)))
+        when(productRepository.findProductsWithFilters(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(productPage);
 
-        Page<ProductDTO> result = productService.searchProducts(request);
+        Page<ProductSummaryDTO> result = productService.searchProducts(request);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(productRepository).findProductsWithFilters(any(), any(), any(), any(), any(), any(Pageable.class));
+        verify(productRepository).findProductsWithFilters(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_ShouldFilterDatabaseByDictionaryIds() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("home-decor");
+        request.setBrand("Unknown Brand");
+        request.setSortBy("id");
+        request.setSortDirection("asc");
+        when(catalogDictionary.categoryId("home-decor")).thenReturn(4L);
+        when(catalogDictionary.categoryName(4L)).thenReturn("Home Decor");
+        when(catalogDictionary.categoryId("Home Decor")).thenReturn(4L);
+        when(productRepository.findProductsWithFilters(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        productService.searchProducts(request);
+
+        assertEquals("Home Decor", request.getCategory());
+        verify(productRepository).findProductsWithFilters(isNull(), eq(4L), eq(-1L), isNull(), isNull(), isNull(), isNull(), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_WhenIndexReady_ShouldServeFromIndex() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery("test");
+        request.setPage(0);
+        request.setSize(10);
+
+        Product second = new Product();
+        second.setId(2L);
+        second.setTitle("Second Test Product");
+        second.setPrice(BigDecimal.valueOf(10));
+        second.setStock(1);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(request)).thenReturn(new SearchHits(List.of(2L, 1L), 2, "1"));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(product, second));
+
+        Page<ProductSummaryDTO> result = productService.searchProducts(request);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(1).getId());
+        verify(productRepository, never()).findProductsWithFilters(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_WithMisspelledQuery_ShouldRetryWithCorrection() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery("tset");
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(request))
+            .thenReturn(new SearchHits(List.of(), 0, null))
+            .thenReturn(new SearchHits(List.of(1L), 1, "1"));
+        when(fuzzyTerms.isReady()).thenReturn(true);
+        when(fuzzyTerms.correct("tset")).thenReturn("test");
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+
+        Page<ProductSummaryDTO> result = productService.searchProducts(request);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("test", request.getQuery());
+        verify(searchIndex, times(2)).search(request);
+    }
+
+    @Test
+    void searchProducts_WithUncorrectableQuery_ShouldReturnEmptyPage() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQuery("zzzz");
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(request)).thenReturn(new SearchHits(List.of(), 0, null));
+        when(fuzzyTerms.isReady()).thenReturn(true);
+        when(fuzzyTerms.correct("zzzz")).thenReturn(null);
+
+        Page<ProductSummaryDTO> result = productService.searchProducts(request);
+
+        assertEquals(0, result.getTotalElements());
+        verify(searchIndex, times(1)).search(request);
+    }
+
+    @Test
+    void searchProducts_WithNegativePageOrOversizedPage_ShouldBeRejected() {
+        ProductSearchRequest negativePage = new ProductSearchRequest();
+        negativePage.setPage(-1);
+        ProductSearchRequest oversized = new ProductSearchRequest();
+        oversized.setSize(1_000_000);
+
+        assertThrows(ProductValidationException.class, () -> productService.searchProducts(negativePage));
+        assertThrows(ProductValidationException.class, () -> productService.searchProducts(oversized));
+        assertThrows(ProductValidationException.class, () -> productService.getProductsInStock(0, 0));
+        verifyNoInteractions(filterIndex, searchIndex, productRepository);
+    }
+
+    @Test
+    void searchProducts_WithoutQuery_ShouldServeFromFilterIndex() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("Electronics");
+        request.setInStock(true);
+        request.setSortBy("price");
+
+        when(filterIndex.supports(request)).thenReturn(true);
+        when(filterIndex.search(request)).thenReturn(new SearchHits(List.of(1L), 1, "99.99"));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+
+        Page<ProductSummaryDTO> result = productService.searchProducts(request);
+
+        assertEquals(1, result.getTotalElements());
+        verify(searchIndex, never()).search(any());
+        verify(productRepository, never()).findProductsWithFilters(any(), any(), any(), any(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
@@ -210,4 +658,30 @@ class ProductServiceTest {
         assertEquals("Electronics", result.getName());
         verify(categoryRepository).save(any(Category.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteCategory_WhenProductsReferenceIt_ShouldThrowValidationException() {
+        when(categoryRepository.existsById(4L)).thenReturn(true);
+        when(productRepository.existsByCategoryId(4L)).thenReturn(true);
+
+        assertThrows(ProductValidationException.class, () -> productService.deleteCategory(4L));
+        verify(categoryRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void updateCategory_WhenRenamed_ShouldRelabelAndReindexProducts() {
+        Category existing = new Category();
+        existing.setId(4L);
+        existing.setName("Electronics");
+        Category renamed = new Category();
+        renamed.setName("Consumer Electronics");
+        when(categoryRepository.findById(4L)).thenReturn(Optional.of(existing));
+        when(categoryRepository.save(existing)).thenReturn(existing);
+        when(productRepository.findAllByCategoryId(4L)).thenReturn(List.of(product));
+
+        productService.updateCategory(4L, renamed);
+
+        verify(productRepository).relabelCategory(4L, "Consumer Electronics");
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+}
@@ -0,0 +1,79 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.related.RelatedProductsIndex;
+import com.megamart.productservice.related.SimilarProduct;
+import com.megamart.productservice.repository.RelatedProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedProductsServiceTest {
+
+    @Mock
+    private RelatedProductsIndex relatedIndex;
+
+    @Mock
+    private RelatedProductRepository relatedRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RelatedProductsService relatedProductsService;
+
+    @BeforeEach
+    void setUp() {
+        relatedProductsService = new RelatedProductsService(relatedIndex, relatedRepository, transactionTemplate);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(relatedIndex.isReady()).thenReturn(true);
+    }
+
+    @Test
+    void recompute_ShouldStoreRankingsAndClearDeletedProducts() {
+        List<SimilarProduct> similar = List.of(new SimilarProduct(2L, 0.5));
+        when(relatedIndex.drainDirty()).thenReturn(new LinkedHashSet<>(List.of(1L, 9L)));
+        when(relatedIndex.similar(1L, RelatedProductsService.TOP_N)).thenReturn(similar);
+        when(relatedIndex.similar(9L, RelatedProductsService.TOP_N)).thenReturn(null);
+
+        relatedProductsService.recompute();
+
+        verify(relatedRepository).replace(List.of(1L, 9L), Map.of(1L, similar));
+        verify(relatedIndex, never()).requeue(any());
+    }
+
+    @Test
+    void recompute_WhenWriteFails_ShouldRequeueDirtyProducts() {
+        when(relatedIndex.drainDirty()).thenReturn(new LinkedHashSet<>(List.of(1L, 2L)));
+        when(relatedIndex.similar(anyLong(), anyInt())).thenReturn(List.of());
+        doThrow(new QueryTimeoutException("timeout")).when(relatedRepository).replace(anyCollection(), anyMap());
+
+        relatedProductsService.recompute();
+
+        verify(relatedIndex).requeue(Set.of(1L, 2L));
+    }
+
+    @Test
+    void getRelated_ShouldRejectLimitAboveStoredRanking() {
+        assertThrows(ProductValidationException.class, () -> relatedProductsService.getRelated(1L, 50));
+        verifyNoInteractions(relatedRepository);
+    }
+}
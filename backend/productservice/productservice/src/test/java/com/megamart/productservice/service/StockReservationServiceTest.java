@@ -0,0 +1,165 @@
+package com.megamart.productservice.service;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import com.megamart.productservice.dto.ReservationDto;
+import com.megamart.productservice.dto.ReservationItemDto;
+import com.megamart.productservice.dto.ReservationRequestDto;
+import com.megamart.productservice.exception.InsufficientStockException;
+import com.megamart.productservice.exception.ProductNotFoundException;
+import com.megamart.productservice.exception.ProductValidationException;
+import com.megamart.productservice.inventory.Reservation;
+import com.megamart.productservice.inventory.ReservationLedger;
+import com.megamart.productservice.inventory.ReservationStatus;
+import com.megamart.productservice.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ReservationLedger ledger;
+    private StockReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        ledger = new ReservationLedger();
+        ledger.rebuild(List.of(new ProductDocument(1L, "Mug", null, "kitchen", null, BigDecimal.TEN, 0.0, 4.0, 3, 0, "In Stock", "MUG", null, List.of())));
+        reservationService = new StockReservationService(ledger, reservationRepository, productService, transactionTemplate);
+    }
+
+    @Test
+    void reserve_ShouldMergeLinesAndHoldStockInTheDatabase() {
+        ReservationDto reservation = reservationService.reserve(request(new ReservationItemDto(1L, 1), new ReservationItemDto(1L, 1)));
+
+        assertEquals("HELD", reservation.getStatus());
+        assertEquals(2, reservation.getItems().get(0).getQuantity());
+        verify(productService).reserveStock(Map.of(1L, 2));
+        verify(reservationRepository).insert(argThat(stored -> stored.getStatus() == ReservationStatus.HELD));
+    }
+
+    @Test
+    void reserve_WhenStockIsShort_ShouldStoreNothing() {
+        doThrow(new InsufficientStockException(1L, 5, 3)).when(productService).reserveStock(anyMap());
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(request(new ReservationItemDto(1L, 5))));
+
+        verify(reservationRepository, never()).insert(any());
+    }
+
+    @Test
+    void reserve_ShouldRejectInvalidRequests() {
+        assertThrows(ProductValidationException.class, () -> reservationService.reserve(request()));
+        assertThrows(ProductValidationException.class, () -> reservationService.reserve(request(new ReservationItemDto(1L, 0))));
+
+        ReservationRequestDto tooLong = request(new ReservationItemDto(1L, 1));
+        tooLong.setTtlSeconds(7200);
+        assertThrows(ProductValidationException.class, () -> reservationService.reserve(tooLong));
+    }
+
+    @Test
+    void confirm_ShouldCommitHeldStock() {
+        when(reservationRepository.findById("r1")).thenReturn(Optional.of(stored("r1", ReservationStatus.HELD, 5)));
+        when(reservationRepository.transition(eq("r1"), eq(ReservationStatus.HELD), eq(ReservationStatus.CONFIRMED), any())).thenReturn(true);
+
+        ReservationDto confirmed = reservationService.confirm("r1");
+
+        assertEquals("CONFIRMED", confirmed.getStatus());
+        verify(productService).commitReservedStock(Map.of(1L, 2));
+    }
+
+    @Test
+    void confirm_WhenAnotherInstanceFinishedTheHold_ShouldReportItsState() {
+        when(reservationRepository.findById("r1"))
+            .thenReturn(Optional.of(stored("r1", ReservationStatus.HELD, 5)))
+            .thenReturn(Optional.of(stored("r1", ReservationStatus.RELEASED, 5)));
+        when(reservationRepository.transition(eq("r1"), any(), any(), any())).thenReturn(false);
+
+        ProductValidationException error = assertThrows(ProductValidationException.class, () -> reservationService.confirm("r1"));
+
+        assertTrue(error.getMessage().contains("RELEASED"));
+        verify(productService, never()).commitReservedStock(anyMap());
+    }
+
+    @Test
+    void confirm_OfExpiredHold_ShouldBeRejected() {
+        when(reservationRepository.findById("r1")).thenReturn(Optional.of(stored("r1", ReservationStatus.HELD, -1)));
+
+        assertThrows(ProductValidationException.class, () -> reservationService.confirm("r1"));
+
+        verify(reservationRepository, never()).transition(any(), any(), any(), any());
+    }
+
+    @Test
+    void release_OfFinishedReservation_ShouldReportItsState() {
+        when(reservationRepository.findById("done")).thenReturn(Optional.of(stored("done", ReservationStatus.EXPIRED, -1)));
+
+        ProductValidationException error = assertThrows(ProductValidationException.class, () -> reservationService.release("done"));
+        assertTrue(error.getMessage().contains("EXPIRED"));
+    }
+
+    @Test
+    void expireHolds_ShouldReturnStockOfElapsedHoldsAndSkipLostRaces() {
+        Reservation first = stored("r1", ReservationStatus.HELD, -1);
+        Reservation second = stored("r2", ReservationStatus.HELD, -1);
+        when(reservationRepository.findExpired(any())).thenReturn(List.of(first, second));
+        when(reservationRepository.findById("r1")).thenReturn(Optional.of(first));
+        when(reservationRepository.findById("r2")).thenReturn(Optional.of(second), Optional.of(stored("r2", ReservationStatus.CONFIRMED, -1)));
+        when(reservationRepository.transition(eq("r1"), eq(ReservationStatus.HELD), eq(ReservationStatus.EXPIRED), any())).thenReturn(true);
+        when(reservationRepository.transition(eq("r2"), eq(ReservationStatus.HELD), eq(ReservationStatus.EXPIRED), any())).thenReturn(false);
+
+        reservationService.expireHolds();
+
+        verify(productService, times(1)).releaseReservedStock(Map.of(1L, 2));
+    }
+
+    @Test
+    void getAvailability_ShouldSubtractTheIndexedReservedStock() {
+        ledger.apply(new ProductDocument(1L, "Mug", null, "kitchen", null, BigDecimal.TEN, 0.0, 4.0, 3, 2, "In Stock", "MUG", null, List.of()));
+
+        assertEquals(2, reservationService.getAvailability(1L).getReserved());
+        assertEquals(1, reservationService.getAvailability(1L).getAvailable());
+        assertThrows(ProductNotFoundException.class, () -> reservationService.getAvailability(2L));
+    }
+
+    private Reservation stored(String id, ReservationStatus status, int expiresInMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Reservation(id, "cart-1", Map.of(1L, 2), now.minusMinutes(10), now.plusMinutes(expiresInMinutes), status, now);
+    }
+
+    private ReservationRequestDto request(ReservationItemDto... items) {
+        return new ReservationRequestDto("cart-1", null, List.of(items));
+    }
+}
@@ -0,0 +1,85 @@
+package com.megamart.productservice.snapshot;
+
+import com.megamart.productservice.catalog.ProductDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_ShouldRoundTripEveryField() throws IOException {
+        Path file = write(42L,
+            new ProductDocument(1L, "Essence Mascara", "Lash Princess – volumizing", "beauty", "Essence", new BigDecimal("9.99"),
+                7.17, 4.94, 5, 2, "In Stock", "BEA-ESS-ESS-001", "9164035109868", List.of("beauty", "mascara")),
+            new ProductDocument(7L, "Plain Bed", null, "furniture", null, new BigDecimal("1899"),
+                null, null, null, null, null, null, null, List.of()));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(42L, snapshot.getCatalogVersion());
+        assertEquals(2, snapshot.size());
+        ProductDocument first = snapshot.document(0);
+        assertEquals(1L, first.getId());
+        assertEquals("Lash Princess – volumizing", first.getDescription());
+        assertEquals(new BigDecimal("9.99"), first.getPrice());
+        assertEquals(7.17, first.getDiscountPercentage());
+        assertEquals(5, first.getStock());
+        assertEquals(2, first.getReservedStock());
+        assertEquals("9164035109868", first.getBarcode());
+        assertEquals(List.of("beauty", "mascara"), first.getTags());
+
+        ProductDocument second = snapshot.documents().get(1);
+        assertEquals(new BigDecimal("1899.00"), second.getPrice());
+        assertNull(second.getDescription());
+        assertNull(second.getBrand());
+        assertNull(second.getDiscountPercentage());
+        assertNull(second.getStock());
+        assertNull(second.getReservedStock());
+        assertTrue(second.getTags().isEmpty());
+    }
+
+    @Test
+    void open_ShouldRejectTruncatedFile() throws IOException {
+        Path file = write(1L, new ProductDocument(1L, "Mascara", null, "beauty", null, BigDecimal.TEN,
+            0.0, 4.0, 1, 0, "In Stock", null, null, List.of()));
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(truncated));
+    }
+
+    @Test
+    void add_ShouldRequireAscendingIds() throws IOException {
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("pool"))) {
+            writer.add(document(5L));
+
+            assertThrows(IllegalArgumentException.class, () -> writer.add(document(3L)));
+        }
+    }
+
+    private Path write(long version, ProductDocument... documents) throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("catalog.pool"))) {
+            for (ProductDocument document : documents) writer.add(document);
+            writer.finish(file, version);
+        }
+        return file;
+    }
+
+    private static ProductDocument document(Long id) {
+        return new ProductDocument(id, "Product " + id, null, "beauty", null, BigDecimal.TEN, 0.0, 4.0, 1, 0, "In Stock", null, null, List.of());
+    }
+}
@@ -11,13 +11,7 @@ export interface Product {
   brand?: string;
   sku?: string;
   availabilityStatus?: string;
-  reviews?: {
-    rating: number;
-    comment: string;
-    date: string;
-    reviewerName: string;
-    reviewerEmail: string;
-  }[];
+  reviewSummary?: ReviewSummary;
   images?: string[];
   thumbnail?: string;
   weight?: number;
@@ -37,3 +31,25 @@ export interface Product {
     qrCode: string;
   };
 }
+
+
+export interface ReviewSummary {
+  reviewCount: number;
+  averageRating: number | null;
+  histogram: { [stars: number]: number };
+}
+
+export interface ProductReview {
+  id: number;
+  rating: number;
+  comment: string;
+  reviewDate: string;
+  reviewerName: string;
+  reviewerEmail: string;
+}
+
+export interface ReviewPage {
+  content: ProductReview[];
+  hasNext: boolean;
+  nextCursor: string | null;
+}
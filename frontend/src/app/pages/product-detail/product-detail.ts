@@ -2,7 +2,7 @@ import { Component, ElementRef, ViewChild, OnInit, OnDestroy } from '@angular/co
 import { ProductDetailService } from '../../services/product-detail-service';
 import { CommonModule } from '@angular/common';
 import { HttpClient } from '@angular/common/http';
-import { Product } from '../../models/product';
+import { Product, ProductReview } from '../../models/product';
 import { ActivatedRoute, RouterModule } from '@angular/router';
 import { SimilarProducts } from '../similar-products/similar-products';
 
@@ -21,6 +21,10 @@ export class ProductDetail implements OnInit, OnDestroy {
  selectedImage: string | undefined;
  loading = true;
  quantityAdded:number=0;
+ reviews: ProductReview[] = [];
+ reviewsCursor: string | null = null;
+ hasMoreReviews = false;
+ loadingReviews = false;
 
  private cartSubscription: Subscription | undefined;
    constructor(
@@ -74,6 +78,9 @@ ngOnInit(): void {
       
       // Check if this product is in the cart
       this.checkCartStatus(this.product.id);
+      this.reviews = [];
+      this.reviewsCursor = null;
+      this.loadReviews();
       },
       error: err => {
         console.error('Error loading product:', err);
@@ -86,6 +93,25 @@ ngOnInit(): void {
 
 
 
+  loadReviews(): void {
+    if (!this.product || this.loadingReviews) {
+      return;
+    }
+    this.loadingReviews = true;
+    this.productService.getReviews(this.product.id, this.reviewsCursor).subscribe({
+      next: page => {
+        this.reviews = [...this.reviews, ...page.content];
+        this.reviewsCursor = page.nextCursor;
+        this.hasMoreReviews = page.hasNext;
+        this.loadingReviews = false;
+      },
+      error: err => {
+        console.error('Error loading reviews:', err);
+        this.loadingReviews = false;
+      }
+    });
+  }
+
   // Check if the current product is in the cart and get its quantity
   checkCartStatus(productId: number): void {
     this.cartService.getProductQuantityInCart(productId).subscribe(quantity => {
@@ -1,7 +1,7 @@
 import { HttpClient } from '@angular/common/http';
 import { Injectable } from '@angular/core';
 import { map, Observable, of, tap } from 'rxjs';
-import { Product } from '../models/product';
+import { Product, ReviewPage } from '../models/product';
 import { EnvVariables } from '../env/env-variables';
 
 
@@ -27,6 +27,16 @@ getProductById(id: number): Observable<Product> { // Explicitly type return as P
   }
 
 
+getReviews(id: number, cursor: string | null = null, size: number = 10): Observable<ReviewPage> {
+    const params: { [param: string]: string | number } = { size };
+    if (cursor) {
+      params['cursor'] = cursor;
+    }
+    return this.http.get<any>(`${this.baseUrl}/${id}/reviews`, { params }).pipe(
+      map(response => response.data)
+    );
+  }
+
 
  private getAllProducts(): Observable<Product[]> {
     if (this.allProductsCache) {